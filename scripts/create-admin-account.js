@@ -37,10 +37,12 @@ async function createAdminAccount() {
       }
     }
 
-    // Step 2: Set admin custom claims
+    // Step 2: Set admin custom claims, keeping any existing ones (the role uses the
+    // backend's upper-case role names)
     await admin.auth().setCustomUserClaims(userRecord.uid, {
+      ...(userRecord.customClaims || {}),
       admin: true,
-      role: 'admin'
+      role: 'ADMIN'
     });
     console.log('✅ Admin custom claims set successfully');
 
@@ -52,7 +54,7 @@ async function createAdminAccount() {
       firstName: adminFirstName,
       lastName: adminLastName,
       userType: 'ADMIN',
-      role: 'admin',
+      role: 'ADMIN',
       active: true,
       verificationStatus: 'VERIFIED',
       createdAt: new Date().toISOString(),
@@ -69,7 +71,7 @@ async function createAdminAccount() {
     console.log('Email:', adminEmail);
     console.log('Password:', adminPassword);
     console.log('UID:', userRecord.uid);
-    console.log('Role: admin');
+    console.log('Role: ADMIN');
     console.log('='.repeat(60));
     console.log('\n📝 NEXT STEPS:');
     console.log('1. Login with these credentials in your app');
@@ -10,10 +10,14 @@ admin.initializeApp({
 // Replace with your user's UID
 const userId = 'Jj8Em9OTpSeSz41GVZ7HLFMG8Mv2';
 
-admin.auth().setCustomUserClaims(userId, { 
-  admin: true, 
-  role: 'admin' 
-})
+// Merge into the existing claims (setCustomUserClaims replaces them all). The role uses the
+// backend's upper-case role names, the same claim the backend itself maintains.
+admin.auth().getUser(userId)
+.then(user => admin.auth().setCustomUserClaims(userId, {
+  ...(user.customClaims || {}),
+  admin: true,
+  role: 'ADMIN'
+}))
 .then(() => {
   console.log('✅ Admin role set successfully for user:', userId);
   process.exit(0);
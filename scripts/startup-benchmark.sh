@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Startup-time benchmark of the packaging options the Dockerfile combines:
+#   fat-jar          java -jar target/*.jar
+#   extracted        layers extracted to plain jars
+#   extracted+cds    + class data sharing archive from a training run
+#   +aot             + Spring AOT bean definitions (-Dspring.aot.enabled=true)
+#   +lazy            + lazy initialization of beans off the request path
+# Reports the median of "process running for" (JVM start to application ready) per variant.
+#
+# Usage: scripts/startup-benchmark.sh [runs]      (default 5)
+# Needs what the app needs to start: FIREBASE_SERVICE_ACCOUNT_KEY and STRIPE_SECRET_KEY.
+# Set SKIP_BUILD=1 to reuse target/*.jar from a previous `mvn -Pstartup package`.
+set -euo pipefail
+
+RUNS=${1:-5}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK="$ROOT/target/startup-benchmark"
+JAVA_OPTS=${JAVA_OPTS:-"-XX:MaxRAMPercentage=75.0"}
+
+: "${FIREBASE_SERVICE_ACCOUNT_KEY:?set FIREBASE_SERVICE_ACCOUNT_KEY (path or base64: key)}"
+: "${STRIPE_SECRET_KEY:?set STRIPE_SECRET_KEY (any value, Stripe is not called)}"
+export FIREBASE_SERVICE_ACCOUNT_KEY STRIPE_SECRET_KEY
+
+cd "$ROOT"
+if [ -z "${SKIP_BUILD:-}" ]; then
+    mvn -B -q clean package -Pstartup -DskipTests
+fi
+FAT_JAR=$(ls target/*.jar | head -n 1)
+
+rm -rf "$WORK" && mkdir -p "$WORK/app"
+cp "$FAT_JAR" "$WORK/application.jar"
+java -Djarmode=tools -jar "$WORK/application.jar" extract --layers --destination "$WORK/extracted" > /dev/null
+for layer in dependencies spring-boot-loader snapshot-dependencies application; do
+    cp -r "$WORK/extracted/$layer/." "$WORK/app/"
+done
+
+# One archive per mode: AOT changes which classes are loaded
+train() {
+    local archive=$1; shift
+    (cd "$WORK/app" && java $JAVA_OPTS "$@" -XX:ArchiveClassesAtExit="$archive" \
+        -Dspring.context.exit=onRefresh -jar application.jar > "$WORK/train-$archive.log" 2>&1)
+}
+train cds.jsa
+train cds-aot.jsa -Dspring.aot.enabled=true
+LAZY_INITIALIZATION=true train cds-aot-lazy.jsa -Dspring.aot.enabled=true
+
+# Seconds from JVM start to ready for one run
+startup_seconds() {
+    local log="$WORK/run.log"
+    (cd "$WORK/app" && exec java $JAVA_OPTS "$@" --server.port=0) > "$log" 2>&1 &
+    local pid=$!
+    local seconds=""
+    for _ in $(seq 1 600); do
+        seconds=$(sed -n 's/.*Started CampusAuraApplication in .* (process running for \([0-9.]*\)).*/\1/p' "$log")
+        if [ -n "$seconds" ] || ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    if [ -z "$seconds" ]; then
+        echo "Application did not start, see $log" >&2
+        exit 1
+    fi
+    echo "$seconds"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+bench() {
+    local name=$1; shift
+    local results=""
+    for _ in $(seq 1 "$RUNS"); do
+        results="$results$(startup_seconds "$@")"$'\n'
+    done
+    printf '%-20s %8ss   (%s)\n' "$name" "$(printf '%s' "$results" | median)" "$(printf '%s' "$results" | paste -sd ' ' -)"
+}
+
+echo "Median startup over $RUNS runs (JVM start to ready):"
+bench fat-jar -jar "$ROOT/$FAT_JAR"
+bench extracted -jar application.jar
+bench extracted+cds -XX:SharedArchiveFile=cds.jsa -jar application.jar
+bench +aot -XX:SharedArchiveFile=cds-aot.jsa -Dspring.aot.enabled=true -jar application.jar
+LAZY_INITIALIZATION=true bench +lazy -XX:SharedArchiveFile=cds-aot-lazy.jsa -Dspring.aot.enabled=true -jar application.jar
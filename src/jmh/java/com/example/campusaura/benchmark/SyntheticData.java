@@ -0,0 +1,137 @@
+package com.example.campusaura.benchmark;
+
+import com.example.campusaura.dto.EventDetailDTO;
+import com.example.campusaura.model.TicketCategory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic documents shaped like the production collections, for the benchmarks.
+ * Field values vary (including some nulls) so sorts and mappings see realistic data.
+ */
+public final class SyntheticData {
+
+    private static final String[] CATEGORIES = {"Music", "Tech", "Sports", "Art", "Workshop", "Career"};
+    private static final String[] STATUSES = {"PUBLISHED", "ONGOING", "DRAFT", "PENDING", "COMPLETED"};
+    private static final String[] DEPARTMENTS = {"Computing", "Engineering", "Business", "Arts", "Science"};
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    /** A Firestore document: id plus field map. */
+    public record Document(String id, Map<String, Object> data) {}
+
+    private SyntheticData() {
+    }
+
+    public static List<Document> events(int count) {
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("coordinatorId", "coord-" + random.nextInt(500));
+            data.put("title", "Event " + i);
+            data.put("description", "Description of event " + i + " with enough text to look like a real one.");
+            data.put("venue", "Hall " + random.nextInt(20));
+            data.put("dateTime", random.nextInt(20) == 0 ? null : instant(random).toString());
+            data.put("createdAt", random.nextInt(20) == 0 ? null : instant(random).toString());
+            data.put("updatedAt", instant(random).toString());
+            data.put("ticketsAvailable", random.nextBoolean());
+            data.put("eventImageUrls", List.of("https://img.example/" + i + "/1.jpg", "https://img.example/" + i + "/2.jpg"));
+            data.put("organizingDepartment", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            data.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+            data.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            data.put("attendeeCount", (long) random.nextInt(2000));
+            data.put("ticketCategories", List.of(
+                    map("categoryName", "Normal", "price", 1500.0, "availableCount", 200L),
+                    map("categoryName", "VIP", "price", 5000.0, "availableCount", 50L)));
+            data.put("pastEventDetails", List.of(
+                    map("eventId", "past-" + i, "title", "Last year", "description", "Recap", "date", "2024-05-01",
+                            "imageUrls", List.of("https://img.example/past.jpg"), "outcome", "Great")));
+            data.put("sellItems", List.of(
+                    map("itemName", "T-shirt", "description", "Event shirt", "price", 2500.0,
+                            "imageUrls", List.of("https://img.example/shirt.jpg"))));
+            data.put("schedule", List.of(
+                    map("id", "s1", "title", "Opening", "time", "09:00", "duration", "30m"),
+                    map("id", "s2", "title", "Keynote", "time", "09:30", "duration", "1h"),
+                    map("id", "s3", "title", "Closing", "time", "16:00", "duration", "30m")));
+            data.put("accountDetails", map("accountName", "Society", "accountNumber", "0001234567",
+                    "email", "society@example.edu", "phone", "+94 11 000 0000", "role", "Treasurer"));
+            documents.add(new Document("event-" + i, data));
+        }
+        return documents;
+    }
+
+    public static List<Map<String, Object>> ticketSales(int count) {
+        Random random = new Random(7);
+        List<Map<String, Object>> sales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long tickets = 1 + random.nextInt(4);
+            sales.add(map("saleId", "sale-" + i, "eventId", "event-" + random.nextInt(1000), "eventTitle", "Event",
+                    "userId", "user-" + random.nextInt(10_000), "userName", "Student " + i,
+                    "userEmail", "student" + i + "@example.edu", "ticketCategory", "Normal",
+                    "ticketCount", tickets, "pricePerTicket", 1500.0, "totalAmount", 1500.0 * tickets,
+                    "stripePaymentId", "pi_" + i, "purchasedAt", instant(random).toString()));
+        }
+        return sales;
+    }
+
+    public static List<Map<String, Object>> productSales(int count) {
+        Random random = new Random(11);
+        List<Map<String, Object>> sales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sales.add(map("saleId", "sale-" + i, "userId", "user-" + random.nextInt(10_000),
+                    "userName", "Student " + i, "userEmail", "student" + i + "@example.edu",
+                    "totalAmount", 4000.0, "stripePaymentId", "pi_" + i, "purchasedAt", instant(random).toString(),
+                    "items", List.of(
+                            map("productId", "p1", "productName", "Mug", "quantity", 1L, "price", 1500.0),
+                            map("productId", "p2", "productName", "Cap", "quantity", 1L, "price", 2500.0))));
+        }
+        return sales;
+    }
+
+    public static List<EventDetailDTO> eventDetails(int count) {
+        Random random = new Random(3);
+        List<EventDetailDTO> details = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EventDetailDTO dto = new EventDetailDTO();
+            dto.setEventId("event-" + i);
+            dto.setTitle("Event " + i);
+            dto.setDescription("Description of event " + i + " with enough text to look like a real one.");
+            dto.setVenue("Hall " + random.nextInt(20));
+            dto.setDateTime(instant(random).toString());
+            dto.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            dto.setAttendeeCount(random.nextInt(2000));
+            dto.setEventImageUrls(List.of("https://img.example/" + i + "/1.jpg"));
+            dto.setOrganizingDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            dto.setTicketsAvailable(true);
+            dto.setTicketCategories(List.of(new TicketCategory("Normal", 1500.0, 200)));
+            dto.setTotalSpots(250);
+            dto.setAvailableSpots(200);
+            dto.setSchedule(List.of(new EventDetailDTO.ScheduleItem("09:00", "Opening"),
+                    new EventDetailDTO.ScheduleItem("09:30", "Keynote")));
+            dto.setGalleryImages(List.of("https://img.example/g1.jpg", "https://img.example/g2.jpg"));
+            dto.setSponsors(List.of(new EventDetailDTO.Sponsor("Gold", "100000", "https://img.example/logo.png", "Acme")));
+            dto.setStatus("PUBLISHED");
+            details.add(dto);
+        }
+        return details;
+    }
+
+    private static Instant instant(Random random) {
+        return EPOCH.plus(random.nextInt(365 * 24 * 60), ChronoUnit.MINUTES);
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
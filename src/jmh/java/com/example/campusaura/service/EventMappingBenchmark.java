@@ -0,0 +1,62 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.benchmark.SyntheticData;
+import com.example.campusaura.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * EventService document and DTO mappings, applied to a whole result set per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventMappingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private final EventService eventService = new EventService();
+    private List<SyntheticData.Document> documents;
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        documents = SyntheticData.events(size);
+        events = documents.stream()
+                .map(doc -> eventService.convertMapToEvent(doc.id(), doc.data()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void convertMapToEvent(Blackhole blackhole) {
+        for (SyntheticData.Document doc : documents) {
+            blackhole.consume(eventService.convertMapToEvent(doc.id(), doc.data()));
+        }
+    }
+
+    @Benchmark
+    public void eventToResponseDTO(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(eventService.eventToResponseDTO(event));
+        }
+    }
+
+    @Benchmark
+    public void eventToLandingPageDTO(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(eventService.eventToLandingPageDTO(event));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.benchmark.SyntheticData;
+import com.example.campusaura.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The getPublicEvents orderings, each sorting a fresh copy of the (unsorted) event list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublicEventSortBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        EventService eventService = new EventService();
+        events = SyntheticData.events(size).stream()
+                .map(doc -> eventService.convertMapToEvent(doc.id(), doc.data()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Event> upcoming() {
+        return sorted(EventService.UPCOMING_FIRST);
+    }
+
+    @Benchmark
+    public List<Event> latest() {
+        return sorted(EventService.LATEST_CREATED_FIRST);
+    }
+
+    @Benchmark
+    public List<Event> popular() {
+        return sorted(EventService.MOST_POPULAR_FIRST);
+    }
+
+    private List<Event> sorted(Comparator<Event> order) {
+        List<Event> copy = new ArrayList<>(events);
+        copy.sort(order);
+        return copy;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalesService document mappings for the admin sales listings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalesMappingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private final SalesService salesService = new SalesService();
+    private List<Map<String, Object>> ticketSales;
+    private List<Map<String, Object>> productSales;
+
+    @Setup
+    public void setUp() {
+        ticketSales = SyntheticData.ticketSales(size);
+        productSales = SyntheticData.productSales(size);
+    }
+
+    @Benchmark
+    public void docToTicketSale(Blackhole blackhole) {
+        for (Map<String, Object> data : ticketSales) {
+            blackhole.consume(salesService.docToTicketSale(data));
+        }
+    }
+
+    @Benchmark
+    public void docToProductSale(Blackhole blackhole) {
+        for (Map<String, Object> data : productSales) {
+            blackhole.consume(salesService.docToProductSale(data));
+        }
+    }
+}
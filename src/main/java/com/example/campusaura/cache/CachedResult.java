@@ -0,0 +1,45 @@
+package com.example.campusaura.cache;
+
+import java.util.function.Function;
+
+/**
+ * A value served by StaleWhileRevalidateCache together with how fresh it is.
+ */
+public class CachedResult<T> {
+
+    private final T value;
+    private final long ageSeconds;
+    private final boolean stale;
+    private final boolean revalidationFailed;
+
+    public CachedResult(T value, long ageSeconds, boolean stale, boolean revalidationFailed) {
+        this.value = value;
+        this.ageSeconds = ageSeconds;
+        this.stale = stale;
+        this.revalidationFailed = revalidationFailed;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /** The same freshness information for a value derived from this one. */
+    public <R> CachedResult<R> map(Function<? super T, ? extends R> mapper) {
+        return new CachedResult<>(mapper.apply(value), ageSeconds, stale, revalidationFailed);
+    }
+
+    /** Seconds since the value was loaded from Firestore (0 for a value loaded by this request). */
+    public long getAgeSeconds() {
+        return ageSeconds;
+    }
+
+    /** True if the value is older than the fresh TTL. */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /** True if the most recent attempt to reload the value failed or ran over the latency budget. */
+    public boolean isRevalidationFailed() {
+        return revalidationFailed;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.campusaura.cache;
+
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps NegativeLookupCache's Bloom filters in sync with Firestore.
+ *
+ * Registers an id-only snapshot listener per collection; every snapshot rebuilds the filter
+ * from scratch, which also drops deleted ids. Opt-in because the listener's initial snapshot
+ * costs one read per document in the collection.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.negative.known-ids.enabled", havingValue = "true")
+public class KnownIdsListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownIdsListener.class);
+
+    private final Firestore firestore;
+    private final NegativeLookupCache negativeLookupCache;
+    private final List<String> collections;
+    private final List<ListenerRegistration> registrations = new ArrayList<>();
+
+    public KnownIdsListener(Firestore firestore,
+                            NegativeLookupCache negativeLookupCache,
+                            @Value("${cache.negative.known-ids.collections:events,products}") List<String> collections) {
+        this.firestore = firestore;
+        this.negativeLookupCache = negativeLookupCache;
+        this.collections = collections;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (String collection : collections) {
+            // select() with no fields returns document names only
+            registrations.add(firestore.collection(collection).select(new String[0])
+                    .addSnapshotListener((snapshot, error) -> {
+                        if (error != null) {
+                            logger.warn("Known-id listener for {} failed, disabling filter: {}", collection, error.getMessage());
+                            negativeLookupCache.clearKnownIds(collection);
+                            return;
+                        }
+                        if (snapshot != null) {
+                            List<String> ids = snapshot.getDocuments().stream()
+                                    .map(QueryDocumentSnapshot::getId)
+                                    .collect(Collectors.toList());
+                            negativeLookupCache.replaceKnownIds(collection, ids);
+                            logger.debug("Rebuilt known-id filter for {} with {} ids", collection, ids.size());
+                        }
+                    }));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        registrations.forEach(ListenerRegistration::remove);
+    }
+}
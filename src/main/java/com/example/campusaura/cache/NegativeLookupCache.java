@@ -0,0 +1,139 @@
+package com.example.campusaura.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers document ids that were recently looked up and not found, so repeated probes
+ * for random ids (bots, stale links) do not each cost a Firestore read.
+ *
+ * Two layers, per collection:
+ * - a short-TTL set of ids known to be missing
+ * - optionally, a Bloom filter of all existing ids (fed by KnownIdsListener); an id the
+ *   filter has never seen is rejected without any lookup. Until the first snapshot
+ *   arrives the filter is not consulted.
+ *
+ * Every write path that creates a document must call {@link #markPresent}. Readers take a
+ * {@link #beginLookup} token before reading and pass it to {@link #markMissing}, so a read
+ * that started before a concurrent save cannot mark the saved document missing.
+ */
+public class NegativeLookupCache {
+
+    private final Cache<String, Boolean> missing;
+    /** Sequence number of the last markPresent per id, kept long enough to outlast a read. */
+    private final Cache<String, Long> presentAt;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, BloomFilter<CharSequence>> knownIds = new ConcurrentHashMap<>();
+    private final double bloomFalsePositiveRate;
+    private final MeterRegistry meterRegistry;
+
+    public NegativeLookupCache(Duration ttl, long maxEntries, double bloomFalsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this(ttl, maxEntries, bloomFalsePositiveRate, meterRegistry, Ticker.systemTicker());
+    }
+
+    NegativeLookupCache(Duration ttl, long maxEntries, double bloomFalsePositiveRate,
+                        MeterRegistry meterRegistry, Ticker ticker) {
+        this.missing = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .build();
+        this.presentAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .build();
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * True if the document is known not to exist, so the caller can answer "not found"
+     * without reading Firestore.
+     */
+    public boolean isKnownMissing(String collection, String id) {
+        BloomFilter<CharSequence> filter = knownIds.get(collection);
+        if (filter != null && !filter.mightContain(id)) {
+            count(collection, "bloom_reject");
+            return true;
+        }
+        if (missing.getIfPresent(key(collection, id)) != null) {
+            count(collection, "hit");
+            return true;
+        }
+        count(collection, "miss");
+        return false;
+    }
+
+    /** Token to take before reading a document and hand to {@link #markMissing}. */
+    public long beginLookup() {
+        return sequence.get();
+    }
+
+    /**
+     * Records a lookup that found no document, unless the document was saved after the
+     * lookup began (the read may have raced the write).
+     */
+    public void markMissing(String collection, String id, long lookupToken) {
+        String key = key(collection, id);
+        missing.put(key, Boolean.TRUE);
+        // Re-checked after the put: a concurrent markPresent either sees our entry or we see its mark
+        Long present = presentAt.getIfPresent(key);
+        if (present != null && present > lookupToken) {
+            missing.invalidate(key);
+        }
+    }
+
+    /** Must be called whenever a document is created or saved. */
+    public void markPresent(String collection, String id) {
+        String key = key(collection, id);
+        presentAt.put(key, sequence.incrementAndGet());
+        missing.invalidate(key);
+        BloomFilter<CharSequence> filter = knownIds.get(collection);
+        if (filter != null) {
+            filter.put(id);
+        }
+    }
+
+    /**
+     * Replaces the Bloom filter for a collection with one built from the complete set of ids.
+     */
+    public void replaceKnownIds(String collection, Collection<String> ids) {
+        BloomFilter<CharSequence> filter = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(1000, ids.size() * 2L),
+                bloomFalsePositiveRate);
+        ids.forEach(filter::put);
+        knownIds.put(collection, filter);
+    }
+
+    /** Stops consulting the Bloom filter (e.g. when its listener fails). */
+    public void clearKnownIds(String collection) {
+        knownIds.remove(collection);
+    }
+
+    private static String key(String collection, String id) {
+        return collection + "/" + id;
+    }
+
+    private void count(String collection, String result) {
+        Counter.builder("campusaura.cache.negative.lookups")
+                .tag("collection", collection)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
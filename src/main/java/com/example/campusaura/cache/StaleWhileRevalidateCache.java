@@ -0,0 +1,240 @@
+package com.example.campusaura.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the last good result per query key and serves it when Firestore is slow or failing.
+ *
+ * AGE OF ENTRY              BEHAVIOUR
+ * < freshTtl                 served as-is
+ * < staleWhileRevalidate     served immediately, refreshed in the background
+ * < staleIfError             refreshed synchronously within latencyBudget; if the refresh fails
+ *                            or runs over budget the stale value is served and the refresh
+ *                            keeps running in the background
+ * older / absent             loaded synchronously, errors propagate
+ *
+ * Only backend failures (ExecutionException, InterruptedException, TimeoutException — what
+ * ApiFuture.get() throws) fall back to stale data. Any other exception from the loader is a
+ * domain answer (e.g. "Event not found"): it propagates and the key is evicted.
+ *
+ * Writers call {@link #invalidate} / {@link #invalidateAll} after a change is committed.
+ * A refresh that was already loading when the cache was invalidated still answers its
+ * waiters but does not store its (possibly pre-write) result.
+ */
+public class StaleWhileRevalidateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long loadedAtNanos;
+        volatile boolean lastRefreshFailed;
+
+        Entry(Object value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private final String name;
+    private final long freshNanos;
+    private final long staleWhileRevalidateNanos;
+    private final Duration latencyBudget;
+    private final Ticker ticker;
+    private final Cache<String, Entry> entries;
+    private final Map<String, CompletableFuture<Object>> refreshes = new ConcurrentHashMap<>();
+    /** Bumped on every invalidation; a refresh only keeps its result if this did not move. */
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService refreshExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public StaleWhileRevalidateCache(String name, Duration freshTtl, Duration staleWhileRevalidate,
+                                     Duration staleIfError, Duration latencyBudget, long maxEntries,
+                                     ExecutorService refreshExecutor, MeterRegistry meterRegistry) {
+        this(name, freshTtl, staleWhileRevalidate, staleIfError, latencyBudget, maxEntries,
+                refreshExecutor, meterRegistry, Ticker.systemTicker());
+    }
+
+    StaleWhileRevalidateCache(String name, Duration freshTtl, Duration staleWhileRevalidate,
+                              Duration staleIfError, Duration latencyBudget, long maxEntries,
+                              ExecutorService refreshExecutor, MeterRegistry meterRegistry, Ticker ticker) {
+        this.name = name;
+        this.freshNanos = freshTtl.toNanos();
+        this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+        this.latencyBudget = latencyBudget;
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(staleIfError)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns the value for {@code key}, loading or refreshing it as described on the class.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedResult<T> get(String key, Loader<T> loader) throws Exception {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            count("miss");
+            T value = (T) await(refresh(key, loader));
+            return new CachedResult<>(value, 0, false, false);
+        }
+
+        long age = ticker.read() - entry.loadedAtNanos;
+        if (age < freshNanos) {
+            count("fresh");
+            return result(entry, age, false);
+        }
+
+        if (age < staleWhileRevalidateNanos) {
+            count("stale");
+            refresh(key, loader);
+            return result(entry, age, true);
+        }
+
+        // Past the revalidation window: give Firestore a bounded chance before serving stale
+        CompletableFuture<Object> refresh = refresh(key, loader);
+        try {
+            T value = (T) refresh.get(latencyBudget.toMillis(), TimeUnit.MILLISECONDS);
+            count("revalidated");
+            return new CachedResult<>(value, 0, false, false);
+        } catch (TimeoutException e) {
+            count("stale_over_budget");
+            return result(entry, age, true);
+        } catch (ExecutionException e) {
+            if (!isBackendFailure(e.getCause())) {
+                throw unwrap(e);
+            }
+            count("stale_if_error");
+            return result(entry, age, true);
+        }
+    }
+
+    public void invalidate(String key) {
+        generation.incrementAndGet();
+        refreshes.remove(key);
+        entries.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        refreshes.clear();
+        entries.invalidateAll();
+    }
+
+    /**
+     * Starts (or joins) the single refresh for this key. The future completes with the new
+     * value, or exceptionally with whatever the loader threw.
+     */
+    private CompletableFuture<Object> refresh(String key, Loader<?> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = refreshes.putIfAbsent(key, mine);
+        if (existing != null) {
+            return existing;
+        }
+        long startedAt = generation.get();
+        try {
+            refreshExecutor.execute(() -> runRefresh(key, loader, mine, startedAt));
+        } catch (RejectedExecutionException e) {
+            // Refresh pool saturated: load on the calling thread instead of dropping the request
+            runRefresh(key, loader, mine, startedAt);
+        }
+        return mine;
+    }
+
+    private void runRefresh(String key, Loader<?> loader, CompletableFuture<Object> future, long startedAt) {
+        try {
+            Object value = loader.load();
+            Entry entry = new Entry(value, ticker.read());
+            entries.put(key, entry);
+            if (generation.get() != startedAt) {
+                // Invalidated while loading: the value may predate the write, don't keep it
+                entries.asMap().remove(key, entry);
+            }
+            refreshes.remove(key, future);
+            countRefresh("success");
+            future.complete(value);
+        } catch (Exception e) {
+            if (isBackendFailure(e)) {
+                Entry entry = entries.getIfPresent(key);
+                if (entry != null) {
+                    entry.lastRefreshFailed = true;
+                }
+                countRefresh("failure");
+                logger.warn("Refresh of {} key '{}' failed: {}", name, key, e.getMessage());
+            } else {
+                entries.invalidate(key);
+                countRefresh("evicted");
+            }
+            refreshes.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+
+    private static boolean isBackendFailure(Throwable error) {
+        return error instanceof ExecutionException
+                || error instanceof InterruptedException
+                || error instanceof TimeoutException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedResult<T> result(Entry entry, long ageNanos, boolean stale) {
+        return new CachedResult<>((T) entry.value, TimeUnit.NANOSECONDS.toSeconds(ageNanos),
+                stale, entry.lastRefreshFailed);
+    }
+
+    private void count(String result) {
+        Counter.builder("campusaura.cache.swr.requests")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void countRefresh(String outcome) {
+        Counter.builder("campusaura.cache.swr.refreshes")
+                .tag("cache", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.observability.ContextPropagation;
+import com.google.cloud.firestore.BulkWriterOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk admin operations: the pool that runs jobs and BulkWriter throttling.
+ */
+@Configuration
+public class BulkWriteConfig {
+
+    /**
+     * Runs bulk jobs off the request thread. Few threads: each job already fans out
+     * through BulkWriter's own batching. Metered as executor.* with name=bulkJobExecutor.
+     */
+    @Bean(name = "bulkJobExecutor", destroyMethod = "shutdown")
+    public ExecutorService bulkJobExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${bulk.jobs.threads:2}") int threads,
+            @Value("${bulk.jobs.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        return ContextPropagation.wrap(
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "bulkJobExecutor", Tags.empty()));
+    }
+
+    /**
+     * 500/50/5 ramp-up: starts at initial-ops-per-second and grows by 50% every 5 minutes
+     * up to max-ops-per-second, so a large job does not create a write hotspot.
+     */
+    @Bean
+    public BulkWriterOptions bulkWriterOptions(
+            @Value("${bulk.writer.initial-ops-per-second:200}") int initialOpsPerSecond,
+            @Value("${bulk.writer.max-ops-per-second:1000}") int maxOpsPerSecond) {
+        return BulkWriterOptions.builder()
+                .setThrottlingEnabled(true)
+                .setInitialOpsPerSecond(initialOpsPerSecond)
+                .setMaxOpsPerSecond(maxOpsPerSecond)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.cache.NegativeLookupCache;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
+import com.example.campusaura.observability.ContextPropagation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-level caches.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Small bounded pool that runs background revalidation for the public event caches.
+     * Metered as executor.* with name=cacheRefreshExecutor.
+     */
+    @Bean(name = "cacheRefreshExecutor", destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${cache.refresh.threads:4}") int threads,
+            @Value("${cache.refresh.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        // Metered inside the context wrapper, which would hide the pool from ExecutorServiceMetrics
+        return ContextPropagation.wrap(
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "cacheRefreshExecutor", Tags.empty()));
+    }
+
+    /**
+     * Last-good-result cache for the unauthenticated event endpoints (landing page, listings, detail).
+     */
+    @Bean
+    public StaleWhileRevalidateCache publicEventsCache(
+            MeterRegistry meterRegistry,
+            ExecutorService cacheRefreshExecutor,
+            @Value("${cache.public-events.fresh-ttl:10s}") Duration freshTtl,
+            @Value("${cache.public-events.stale-while-revalidate:2m}") Duration staleWhileRevalidate,
+            @Value("${cache.public-events.stale-if-error:6h}") Duration staleIfError,
+            @Value("${cache.public-events.latency-budget:500ms}") Duration latencyBudget,
+            @Value("${cache.public-events.max-entries:1000}") long maxEntries) {
+        return new StaleWhileRevalidateCache("public-events", freshTtl, staleWhileRevalidate, staleIfError,
+                latencyBudget, maxEntries, cacheRefreshExecutor, meterRegistry);
+    }
+
+    /**
+     * Short-lived "document does not exist" entries for events, products and users.
+     */
+    @Bean
+    public NegativeLookupCache negativeLookupCache(
+            MeterRegistry meterRegistry,
+            @Value("${cache.negative.ttl:30s}") Duration ttl,
+            @Value("${cache.negative.max-entries:50000}") long maxEntries,
+            @Value("${cache.negative.known-ids.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new NegativeLookupCache(ttl, maxEntries, falsePositiveRate, meterRegistry);
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.campusaura.config;
 
+import com.example.campusaura.observability.CallSitePropagatingExecutor;
+import com.example.campusaura.observability.FirestoreAccessRecorder;
+import com.example.campusaura.observability.FirestoreMetricsInterceptor;
+import com.example.campusaura.observability.FirestoreQueryProfiler;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.grpc.GrpcTransportOptions;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.FirestoreClient;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import io.grpc.ClientInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -15,9 +28,12 @@ import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 @Configuration
 @ConditionalOnProperty(name = "firebase.enabled", havingValue = "true", matchIfMissing = true)
@@ -34,6 +50,18 @@ public class FirebaseConfig {
     @Value("${firebase.database-url}")
     private String databaseUrl;
 
+    @Autowired
+    private FirestoreMetricsInterceptor firestoreMetricsInterceptor;
+
+    @Autowired
+    private FirestoreQueryProfiler firestoreQueryProfiler;
+
+    @Autowired
+    private ObjectProvider<FirestoreAccessRecorder> firestoreAccessRecorder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     public Firestore firestore() {
         return FirestoreClient.getFirestore();
@@ -45,6 +73,7 @@ public class FirebaseConfig {
             FirebaseOptions options = FirebaseOptions.builder()
                     .setCredentials(GoogleCredentials.fromStream(stream))
                     .setDatabaseUrl(databaseUrl)
+                    .setFirestoreOptions(instrumentedFirestoreOptions())
                     .build();
 
             if (FirebaseApp.getApps().isEmpty()) {
@@ -59,6 +88,43 @@ public class FirebaseConfig {
         }
     }
 
+    /**
+     * Firestore client with every RPC metered by FirestoreMetricsInterceptor and every
+     * query profiled by FirestoreQueryProfiler, plus FirestoreAccessRecorder when tracing
+     * is enabled.
+     * The client's executor carries the calling service method over to retries and
+     * unary calls, which it runs on its own threads.
+     */
+    private FirestoreOptions instrumentedFirestoreOptions() {
+        List<ClientInterceptor> interceptors = new ArrayList<>(List.of(firestoreMetricsInterceptor, firestoreQueryProfiler));
+        firestoreAccessRecorder.ifAvailable(interceptors::add);
+        InstantiatingGrpcChannelProvider channelProvider = FirestoreOptions.getDefaultTransportChannelProviderBuilder()
+                .setInterceptorProvider(() -> interceptors)
+                .build();
+        GrpcTransportOptions.ExecutorFactory<ScheduledExecutorService> defaultExecutors =
+                GrpcTransportOptions.newBuilder().build().getExecutorFactory();
+        GrpcTransportOptions transportOptions = GrpcTransportOptions.newBuilder()
+                .setExecutorFactory(new GrpcTransportOptions.ExecutorFactory<>() {
+                    @Override
+                    public ScheduledExecutorService get() {
+                        ScheduledExecutorService executor = defaultExecutors.get();
+                        // Gauges only: the SDK's shared pool for retries and callbacks (executor.queued etc.)
+                        new ExecutorServiceMetrics(executor, "firestoreClientExecutor", Tags.empty()).bindTo(meterRegistry);
+                        return new CallSitePropagatingExecutor(executor);
+                    }
+
+                    @Override
+                    public void release(ScheduledExecutorService executor) {
+                        defaultExecutors.release(((CallSitePropagatingExecutor) executor).getDelegate());
+                    }
+                })
+                .build();
+        return FirestoreOptions.newBuilder()
+                .setChannelProvider(channelProvider)
+                .setTransportOptions(transportOptions)
+                .build();
+    }
+
     /**
      * Opens the Firebase service account key from one of three sources:
      * 1. Classpath resource (local dev):     "classpath:firebase-service-account.json"
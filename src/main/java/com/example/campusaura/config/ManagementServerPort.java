@@ -0,0 +1,32 @@
+package com.example.campusaura.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Port of the separate actuator server, taken from the server that actually started rather than
+ * from management.server.port, which AOT-built images evaluate at build time. Stays unset while
+ * actuator shares the public port.
+ */
+@Component
+public class ManagementServerPort implements ApplicationListener<WebServerInitializedEvent> {
+
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    /** Whether the request came in on the separate actuator server. */
+    public boolean accepted(HttpServletRequest request) {
+        int managementPort = port;
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+}
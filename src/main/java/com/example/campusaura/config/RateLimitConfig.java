@@ -0,0 +1,31 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Per-client request budgets enforced by RateLimitFilter.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.user.capacity:120}") double userCapacity,
+            @Value("${rate-limit.user.refill-per-second:2}") double userRefillPerSecond,
+            @Value("${rate-limit.anonymous.capacity:300}") double anonymousCapacity,
+            @Value("${rate-limit.anonymous.refill-per-second:5}") double anonymousRefillPerSecond,
+            @Value("${rate-limit.idle-eviction:10m}") Duration idleEviction,
+            @Value("${rate-limit.max-clients:100000}") long maxClients) {
+        return new RateLimiter(
+                new RateLimiter.Limits(userCapacity, userRefillPerSecond),
+                new RateLimiter.Limits(anonymousCapacity, anonymousRefillPerSecond),
+                idleEviction, maxClients, meterRegistry);
+    }
+}
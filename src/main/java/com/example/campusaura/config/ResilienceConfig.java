@@ -0,0 +1,55 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.resilience.CircuitBreaker;
+import com.example.campusaura.resilience.DownstreamGuard;
+import com.example.campusaura.security.FirebaseTokenVerifier;
+import com.example.campusaura.service.StripePaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bulkheads, timeouts and circuit breakers for remote dependencies.
+ * Each downstream gets its own bounded pool so a slow Stripe cannot exhaust the
+ * Tomcat threads that serve event browsing (and vice versa for Firebase Auth).
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean(name = "stripeGuard", destroyMethod = "close")
+    public DownstreamGuard stripeGuard(
+            MeterRegistry meterRegistry,
+            @Value("${resilience.stripe.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${resilience.stripe.queue-capacity:20}") int queueCapacity,
+            @Value("${resilience.stripe.timeout:8s}") Duration timeout,
+            @Value("${resilience.stripe.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${resilience.stripe.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${resilience.stripe.minimum-calls:10}") int minimumCalls,
+            @Value("${resilience.stripe.open-duration:30s}") Duration openDuration,
+            @Value("${resilience.stripe.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                slidingWindowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+        return new DownstreamGuard("stripe", maxConcurrentCalls, queueCapacity, timeout,
+                circuitBreaker, StripePaymentGateway::isDownstreamFailure, meterRegistry);
+    }
+
+    @Bean(name = "firebaseAuthGuard", destroyMethod = "close")
+    public DownstreamGuard firebaseAuthGuard(
+            MeterRegistry meterRegistry,
+            @Value("${resilience.firebase-auth.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${resilience.firebase-auth.queue-capacity:100}") int queueCapacity,
+            @Value("${resilience.firebase-auth.timeout:3s}") Duration timeout,
+            @Value("${resilience.firebase-auth.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${resilience.firebase-auth.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${resilience.firebase-auth.minimum-calls:20}") int minimumCalls,
+            @Value("${resilience.firebase-auth.open-duration:15s}") Duration openDuration,
+            @Value("${resilience.firebase-auth.half-open-calls:5}") int halfOpenCalls) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                slidingWindowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+        return new DownstreamGuard("firebase-auth", maxConcurrentCalls, queueCapacity, timeout,
+                circuitBreaker, FirebaseTokenVerifier::isDownstreamFailure, meterRegistry);
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.campusaura.config;
 
 import com.example.campusaura.security.FirebaseAuthFilter;
+import com.example.campusaura.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -25,13 +31,18 @@ import java.util.List;
 public class SecurityConfig {
 
   private final FirebaseAuthFilter firebaseAuthFilter;
+  private final RateLimitFilter rateLimitFilter;
+  private final ManagementServerPort managementServerPort;
 
   // Injected from application.properties → driven by CORS_ALLOWED_ORIGINS env var
   @Value("${cors.allowed-origins}")
   private String corsAllowedOrigins;
 
-  public SecurityConfig(FirebaseAuthFilter firebaseAuthFilter) {
+  public SecurityConfig(FirebaseAuthFilter firebaseAuthFilter, RateLimitFilter rateLimitFilter,
+                        ManagementServerPort managementServerPort) {
     this.firebaseAuthFilter = firebaseAuthFilter;
+    this.rateLimitFilter = rateLimitFilter;
+    this.managementServerPort = managementServerPort;
   }
 
   @Bean
@@ -41,6 +52,8 @@ public class SecurityConfig {
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            // Async results (e.g. posted feedback) are written on a redispatch of an already authorized request
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/public/**").permitAll()
             .requestMatchers("/api/events/landing-page").permitAll()
             .requestMatchers("/api/events/latest").permitAll()
@@ -54,6 +67,8 @@ public class SecurityConfig {
             .requestMatchers("/api/auth/validate-registration").permitAll()
             .requestMatchers("/api/auth/registration-info").permitAll()
             .requestMatchers("/actuator/health").permitAll()
+            .requestMatchers("/actuator/prometheus").access(prometheusAccess())
+            .requestMatchers("/actuator/firestorequeries").hasRole("ADMIN")
             .anyRequest().authenticated()
         )
         .exceptionHandling(exception -> exception
@@ -68,11 +83,25 @@ public class SecurityConfig {
               response.getWriter().write("{\"error\": \"Forbidden\", \"message\": \"" + accessDeniedException.getMessage() + "\"}");
             })
         )
-        .addFilterBefore(firebaseAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(firebaseAuthFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(rateLimitFilter, FirebaseAuthFilter.class);
 
     return http.build();
   }
 
+  /**
+   * Prometheus scrapes without a Firebase token. That is only allowed for requests that arrive
+   * on actuator's own (internal) port, set with MANAGEMENT_SERVER_PORT; on the public port the
+   * metrics need an admin token. Decided per request, so an image built with a different
+   * management port setting cannot open the public port.
+   */
+  private AuthorizationManager<RequestAuthorizationContext> prometheusAccess() {
+    AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+    return (authentication, context) -> managementServerPort.accepted(context.getRequest())
+        ? new AuthorizationDecision(true)
+        : admin.check(authentication, context);
+  }
+
   @Bean
   public CorsConfigurationSource corsConfigurationSource() {
     CorsConfiguration configuration = new CorsConfiguration();
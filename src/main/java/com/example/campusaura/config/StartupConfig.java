@@ -0,0 +1,50 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.cache.KnownIdsListener;
+import com.example.campusaura.observability.FirestoreAccessRecorder;
+import com.example.campusaura.repository.WriteBehindQueue;
+import com.example.campusaura.security.TokenVerifier;
+import jakarta.servlet.Filter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Which beans stay eager when spring.main.lazy-initialization is on (as in the Docker image).
+ *
+ * Controllers and servlet filters, and with them everything on the request path (Firestore,
+ * token verification), are still created at startup, so the first request after a scale-out
+ * does not pay for Firebase initialization. So are beans that start background work (key
+ * prefetch, write-behind flushers, listeners, the access trace). Everything else, e.g. Stripe,
+ * bulk jobs and actuator endpoints, is created on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Class<?>[] EAGER_TYPES = {
+            Filter.class, TokenVerifier.class, WriteBehindQueue.class, KnownIdsListener.class,
+            FirestoreAccessRecorder.class
+    };
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPathAndBackgroundBeans() {
+        return (beanName, beanDefinition, beanType) -> isEager(beanType);
+    }
+
+    static boolean isEager(Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        if (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)) {
+            return true;
+        }
+        for (Class<?> eagerType : EAGER_TYPES) {
+            if (eagerType.isAssignableFrom(beanType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
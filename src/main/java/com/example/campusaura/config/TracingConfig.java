@@ -0,0 +1,35 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.observability.FileSpanExporter;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Local span exporters, picked with tracing.exporter (none, logging or file).
+ *
+ * To ship spans to a collector instead, set management.otlp.tracing.endpoint
+ * (MANAGEMENT_OTLP_TRACING_ENDPOINT): Spring Boot then adds an OTLP exporter. Every
+ * SpanExporter bean receives all sampled spans, so the options can be combined.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file.path:target/traces.jsonl}") Path path) throws IOException {
+        return new FileSpanExporter(path);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.model.User;
+import com.example.campusaura.repository.WriteBehindQueue;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Write-behind queues for high-volume, append-style writes.
+ */
+@Configuration
+public class WriteBehindConfig {
+
+    /**
+     * Feedback comments: group-committed every few milliseconds, acknowledged to the client
+     * once committed. Closing the bean on shutdown flushes whatever is still buffered.
+     */
+    @Bean(name = "feedbackWriteQueue", initMethod = "start", destroyMethod = "close")
+    public WriteBehindQueue<Map<String, Object>> feedbackWriteQueue(
+            Firestore firestore,
+            MeterRegistry meterRegistry,
+            @Value("${feedback.write-behind.capacity:2000}") int capacity,
+            @Value("${feedback.write-behind.max-batch-size:200}") int maxBatchSize,
+            @Value("${feedback.write-behind.max-delay:20ms}") Duration maxDelay,
+            @Value("${feedback.write-behind.retry-window:10s}") Duration retryWindow) {
+        return new WriteBehindQueue<>("feedback", firestore, capacity, maxBatchSize, maxDelay, retryWindow,
+                meterRegistry);
+    }
+
+    /**
+     * User documents: repeated saves of the same UID within the window collapse into
+     * one write of the latest state.
+     */
+    @Bean(name = "userWriteQueue", initMethod = "start", destroyMethod = "close")
+    public WriteBehindQueue<User> userWriteQueue(
+            Firestore firestore,
+            MeterRegistry meterRegistry,
+            @Value("${users.write-behind.capacity:5000}") int capacity,
+            @Value("${users.write-behind.max-batch-size:200}") int maxBatchSize,
+            @Value("${users.write-behind.max-delay:50ms}") Duration maxDelay,
+            @Value("${users.write-behind.retry-window:60s}") Duration retryWindow) {
+        return new WriteBehindQueue<>("users", firestore, capacity, maxBatchSize, maxDelay, retryWindow,
+                meterRegistry);
+    }
+}
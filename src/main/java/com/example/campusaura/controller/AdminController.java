@@ -6,12 +6,14 @@ import com.example.campusaura.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -39,6 +41,9 @@ public class AdminController {
     @Autowired
     private SalesService salesService;
 
+    @Autowired
+    private BulkAdminService bulkAdminService;
+
     // ==================== DASHBOARD SECTION ====================
 
     /**
@@ -304,6 +309,16 @@ public class AdminController {
         }
     }
 
+    /**
+     * Move embedded event sections of existing events into side documents, page by page in a
+     * background job. Poll GET /api/admin/bulk/jobs/{jobId} for progress and conflicts.
+     * POST /api/admin/events/migrate-sections
+     */
+    @PostMapping("/events/migrate-sections")
+    public ResponseEntity<?> migrateEventSections() {
+        return startBulkJob(bulkAdminService::migrateEventSections);
+    }
+
     /**
      * Get pending events count
      * GET /api/admin/events/pending/count
@@ -544,6 +559,61 @@ public class AdminController {
         }
     }
 
+    // ==================== BULK OPERATIONS SECTION ====================
+
+    /**
+     * Approve many events by ids or filter (e.g. {"filter": {"status": "PENDING"}})
+     * POST /api/admin/events/bulk/approve
+     */
+    @PostMapping("/events/bulk/approve")
+    public ResponseEntity<?> bulkApproveEvents(@RequestBody BulkActionRequestDTO request) {
+        return startBulkJob(() -> bulkAdminService.approveEvents(request));
+    }
+
+    /**
+     * Disable many products by ids or filter
+     * POST /api/admin/products/bulk/disable
+     */
+    @PostMapping("/products/bulk/disable")
+    public ResponseEntity<?> bulkDisableProducts(@RequestBody BulkActionRequestDTO request) {
+        return startBulkJob(() -> bulkAdminService.disableProducts(request));
+    }
+
+    /**
+     * Verify (or un-verify with "verified": false) many students by ids or filter
+     * POST /api/admin/users/bulk/verify
+     */
+    @PostMapping("/users/bulk/verify")
+    public ResponseEntity<?> bulkVerifyUsers(@RequestBody BulkActionRequestDTO request) {
+        return startBulkJob(() -> bulkAdminService.verifyUsers(request));
+    }
+
+    /**
+     * Progress and per-item results of a bulk job
+     * GET /api/admin/bulk/jobs/{jobId}
+     */
+    @GetMapping("/bulk/jobs/{jobId}")
+    public ResponseEntity<BulkJobDTO> getBulkJob(@PathVariable String jobId) {
+        BulkJobDTO job = bulkAdminService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * 202 with the started job, or 400/503 with {"error": message} when it was not started
+     */
+    private ResponseEntity<?> startBulkJob(Supplier<BulkJobDTO> start) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(start.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(createErrorResponse(e.getMessage()));
+        }
+    }
+
     // ==================== PAYMENT SECTION ====================
 
     /**
@@ -618,4 +688,21 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * 400 with {"error": message} for request bodies that are not valid JSON of the expected shape
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createErrorResponse("Malformed request body"));
+    }
+
+    /**
+     * Create error response map
+     */
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return error;
+    }
 }
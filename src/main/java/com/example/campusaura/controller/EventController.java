@@ -1,22 +1,28 @@
 package com.example.campusaura.controller;
 
+import com.example.campusaura.cache.CachedResult;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
 import com.example.campusaura.dto.EventDetailDTO;
 import com.example.campusaura.dto.EventRequestDTO;
 import com.example.campusaura.dto.EventResponseDTO;
 import com.example.campusaura.dto.LandingPageEventDTO;
 import com.example.campusaura.model.Event;
+import com.example.campusaura.security.TokenVerifier;
+import com.example.campusaura.security.VerifiedToken;
 import com.example.campusaura.service.EventService;
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 @RestController
@@ -24,9 +30,22 @@ import java.util.concurrent.ExecutionException;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:4200"})
 public class EventController {
 
+    /** Most events /public/latest returns; one cached list of this size serves every smaller limit. */
+    private static final int MAX_LATEST_EVENTS = 20;
+
+    /** Sort orders of /public; anything else is served as "latest", like EventService does. */
+    private static final Set<String> PUBLIC_SORT_ORDERS = Set.of("upcoming", "latest", "popular");
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
+    // Public endpoints keep serving the last good result while Firestore is slow or down
+    @Autowired
+    private StaleWhileRevalidateCache publicEventsCache;
+
     /**
      * Create a new event
      * POST /api/events
@@ -85,7 +104,7 @@ public class EventController {
     }
 
     /**
-     * Get all events (only coordinator's own events)
+     * Get all events (only coordinator's own events, without sections; GET /api/events/{id} has them)
      * GET /api/events
      */
     @GetMapping
@@ -117,7 +136,7 @@ public class EventController {
     }
 
     /**
-     * Get events by coordinator (authenticated user)
+     * Get events by coordinator (authenticated user, without sections)
      * GET /api/events/my-events
      */
     @GetMapping("/my-events")
@@ -142,8 +161,10 @@ public class EventController {
         try {
             // Enforce maximum limit of 20 events
             int effectiveLimit = Math.min(limit, 20);
-            List<LandingPageEventDTO> events = eventService.getRandomOngoingEvents(effectiveLimit);
-            return ResponseEntity.ok(events);
+            // The candidates are cached, the pick is random per request
+            CachedResult<List<LandingPageEventDTO>> candidates = publicEventsCache.get(
+                    "landing-page", eventService::getOngoingEvents);
+            return cachedResponse(candidates.map(events -> randomPick(events, effectiveLimit)));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve landing page events: " + e.getMessage()));
@@ -158,8 +179,7 @@ public class EventController {
     public ResponseEntity<?> getLatestEvents() {
         try {
             // Get 3 latest published/ongoing events
-            List<LandingPageEventDTO> events = eventService.getLatestEvents(3);
-            return ResponseEntity.ok(events);
+            return cachedResponse(latestEvents().map(events -> firstOf(events, 3)));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve latest events: " + e.getMessage()));
@@ -169,14 +189,15 @@ public class EventController {
     /**
      * Get latest events for landing page with optional limit (PUBLIC - no authentication required)
      * GET /api/events/public/latest?limit=3
+     * @param limit Number of events (default: 3, max: 20)
      */
     @GetMapping("/public/latest")
     public ResponseEntity<?> getPublicLatestEvents(
             @RequestParam(defaultValue = "3") int limit) {
         try {
-            // Get latest published/ongoing events with specified limit
-            List<LandingPageEventDTO> events = eventService.getLatestEvents(limit);
-            return ResponseEntity.ok(events);
+            // Every limit is cut from the same cached list, so the limit never becomes a cache key
+            int effectiveLimit = Math.max(0, Math.min(limit, MAX_LATEST_EVENTS));
+            return cachedResponse(latestEvents().map(events -> firstOf(events, effectiveLimit)));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve latest events: " + e.getMessage()));
@@ -194,9 +215,17 @@ public class EventController {
             @RequestParam(required = false, defaultValue = "All") String category,
             @RequestParam(required = false, defaultValue = "upcoming") String sortBy) {
         try {
-            // Get all published events with filtering and sorting
-            List<LandingPageEventDTO> events = eventService.getPublicEvents(category, sortBy);
-            return ResponseEntity.ok(events);
+            // One cached list per known sort order; the category is filtered per request, so
+            // arbitrary parameter values cannot grow the cache
+            String sort = PUBLIC_SORT_ORDERS.contains(sortBy.toLowerCase()) ? sortBy.toLowerCase() : "latest";
+            CachedResult<List<LandingPageEventDTO>> events = publicEventsCache.get(
+                    "public:all:" + sort, () -> eventService.getPublicEvents("All", sort));
+            if (category.isEmpty() || category.equalsIgnoreCase("All")) {
+                return cachedResponse(events);
+            }
+            return cachedResponse(events.map(all -> all.stream()
+                    .filter(event -> category.equalsIgnoreCase(event.getCategory()))
+                    .toList()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve events: " + e.getMessage()));
@@ -211,11 +240,10 @@ public class EventController {
     @GetMapping("/public/{eventId}")
     public ResponseEntity<?> getPublicEventById(@PathVariable String eventId) {
         try {
-            System.out.println("Fetching event details for eventId: " + eventId);
             // Get full event details
-            EventDetailDTO eventDetail = eventService.getEventDetailById(eventId);
-            System.out.println("Successfully fetched event: " + eventDetail.getTitle());
-            return ResponseEntity.ok(eventDetail);
+            CachedResult<EventDetailDTO> eventDetail = publicEventsCache.get(
+                    "detail:" + eventId, () -> eventService.getEventDetailById(eventId));
+            return cachedResponse(eventDetail);
         } catch (RuntimeException e) {
             System.err.println("Event not found: " + eventId + " - " + e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -244,6 +272,9 @@ public class EventController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse(e.getMessage()));
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(createErrorResponse(e.getMessage()));
@@ -321,10 +352,47 @@ public class EventController {
         }
 
         String token = authHeader.substring(7);
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
+        VerifiedToken decodedToken = tokenVerifier.verify(token);
         return decodedToken.getUid();
     }
 
+    /**
+     * Latest published/ongoing events, as many as any limit may ask for
+     */
+    private CachedResult<List<LandingPageEventDTO>> latestEvents() throws Exception {
+        return publicEventsCache.get("latest", () -> eventService.getLatestEvents(MAX_LATEST_EVENTS));
+    }
+
+    private static List<LandingPageEventDTO> firstOf(List<LandingPageEventDTO> events, int limit) {
+        return events.subList(0, Math.min(limit, events.size()));
+    }
+
+    /**
+     * Up to {@code limit} events in random order; the shared cached list is left untouched.
+     */
+    private static List<LandingPageEventDTO> randomPick(List<LandingPageEventDTO> events, int limit) {
+        List<LandingPageEventDTO> shuffled = new ArrayList<>(events);
+        Collections.shuffle(shuffled);
+        return shuffled.subList(0, Math.min(limit, shuffled.size()));
+    }
+
+    /**
+     * Build a 200 response for a cached value, advertising its age and staleness
+     * (Age / Warning 110 "Response is Stale" / Warning 111 "Revalidation Failed")
+     */
+    private <T> ResponseEntity<T> cachedResponse(CachedResult<T> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.getAgeSeconds() > 0) {
+            response.header(HttpHeaders.AGE, String.valueOf(result.getAgeSeconds()));
+        }
+        if (result.isRevalidationFailed()) {
+            response.header("Warning", "111 - \"Revalidation Failed\"");
+        } else if (result.isStale()) {
+            response.header("Warning", "110 - \"Response is Stale\"");
+        }
+        return response.body(result.getValue());
+    }
+
     /**
      * Create error response map
      */
@@ -2,10 +2,10 @@ package com.example.campusaura.controller;
 
 import com.example.campusaura.dto.FeedbackDTO;
 import com.example.campusaura.model.User;
+import com.example.campusaura.security.TokenVerifier;
+import com.example.campusaura.security.VerifiedToken;
 import com.example.campusaura.service.FeedbackService;
 import com.example.campusaura.service.UserService;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/events")
@@ -26,6 +28,9 @@ public class FeedbackController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
     /**
      * Get all feedback for an event (PUBLIC - no auth required)
      * GET /api/events/public/{eventId}/feedback
@@ -45,9 +50,10 @@ public class FeedbackController {
     /**
      * Add feedback for an event (AUTH required)
      * POST /api/events/{eventId}/feedback
+     * Answers asynchronously once the feedback is committed; the request thread is released meanwhile.
      */
     @PostMapping("/{eventId}/feedback")
-    public ResponseEntity<?> addFeedback(
+    public CompletableFuture<ResponseEntity<?>> addFeedback(
             @RequestHeader("Authorization") String authHeader,
             @PathVariable String eventId,
             @RequestBody Map<String, String> body) {
@@ -58,28 +64,33 @@ public class FeedbackController {
             if (text == null || text.trim().isEmpty()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Feedback text is required");
-                return ResponseEntity.badRequest().body(error);
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(error));
             }
 
             // Get user name from Firestore
             User user = userService.getUserByUid(uid);
             String userName = user.getName() != null ? user.getName() : user.getEmail().split("@")[0];
 
-            FeedbackDTO feedback = feedbackService.addFeedback(eventId, uid, userName, text.trim());
-            return ResponseEntity.status(HttpStatus.CREATED).body(feedback);
+            return feedbackService.addFeedback(eventId, uid, userName, text.trim())
+                    .<ResponseEntity<?>>thenApply(feedback -> ResponseEntity.status(HttpStatus.CREATED).body(feedback))
+                    .exceptionally(e -> postFailed(e instanceof CompletionException ? e.getCause() : e));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Failed to post feedback: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            return CompletableFuture.completedFuture(postFailed(e));
         }
     }
 
+    private static ResponseEntity<?> postFailed(Throwable e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Failed to post feedback: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+
     private String extractUserIdFromToken(String authHeader) throws Exception {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new IllegalArgumentException("Invalid authorization header");
         }
         String token = authHeader.substring(7);
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
+        VerifiedToken decodedToken = tokenVerifier.verify(token);
         return decodedToken.getUid();
     }
 }
@@ -3,16 +3,15 @@ package com.example.campusaura.controller;
 import com.example.campusaura.dto.ProductSaleDTO;
 import com.example.campusaura.dto.TicketSaleDTO;
 import com.example.campusaura.model.User;
+import com.example.campusaura.resilience.DownstreamUnavailableException;
+import com.example.campusaura.security.TokenVerifier;
+import com.example.campusaura.security.VerifiedToken;
+import com.example.campusaura.service.PaymentGateway;
 import com.example.campusaura.service.SalesService;
 import com.example.campusaura.service.UserService;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
-import com.stripe.Stripe;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,19 +27,17 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class PaymentController {
 
-    @Value("${stripe.secret-key}")
-    private String stripeSecretKey;
-
     @Autowired
     private SalesService salesService;
 
     @Autowired
     private UserService userService;
 
-    @PostConstruct
-    public void init() {
-        Stripe.apiKey = stripeSecretKey;
-    }
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private TokenVerifier tokenVerifier;
 
     /**
      * Create a Stripe PaymentIntent for ticket purchase
@@ -50,7 +48,7 @@ public class PaymentController {
             @RequestHeader("Authorization") String authHeader,
             @RequestBody Map<String, Object> body) {
         try {
-            extractUserIdFromToken(authHeader); // Verify auth
+            String uid = extractUserIdFromToken(authHeader);
 
             double amountLKR = ((Number) body.get("amount")).doubleValue();
             // Convert LKR to USD (approximate rate: 1 USD = 320 LKR)
@@ -67,13 +65,17 @@ public class PaymentController {
                     .putMetadata("eventId", (String) body.get("eventId"))
                     .build();
 
-            PaymentIntent intent = PaymentIntent.create(params);
+            PaymentIntent intent = paymentGateway.createPaymentIntent(params, idempotencyKey("ticket", uid, body));
 
             Map<String, String> response = new HashMap<>();
             response.put("clientSecret", intent.getClientSecret());
             response.put("paymentIntentId", intent.getId());
 
             return ResponseEntity.ok(response);
+        } catch (DownstreamUnavailableException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Payment provider is temporarily unavailable, please try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to create payment intent: " + e.getMessage());
@@ -115,7 +117,7 @@ public class PaymentController {
             @RequestHeader("Authorization") String authHeader,
             @RequestBody Map<String, Object> body) {
         try {
-            extractUserIdFromToken(authHeader);
+            String uid = extractUserIdFromToken(authHeader);
 
             double amountLKR = ((Number) body.get("amount")).doubleValue();
             long amountUSD = Math.round((amountLKR / 320.0) * 100);
@@ -128,13 +130,17 @@ public class PaymentController {
                     .putMetadata("type", "product")
                     .build();
 
-            PaymentIntent intent = PaymentIntent.create(params);
+            PaymentIntent intent = paymentGateway.createPaymentIntent(params, idempotencyKey("product", uid, body));
 
             Map<String, String> response = new HashMap<>();
             response.put("clientSecret", intent.getClientSecret());
             response.put("paymentIntentId", intent.getId());
 
             return ResponseEntity.ok(response);
+        } catch (DownstreamUnavailableException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Payment provider is temporarily unavailable, please try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to create payment intent: " + e.getMessage());
@@ -167,12 +173,25 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Idempotency key for a PaymentIntent, derived from the client's order id so a retried checkout
+     * gets the intent created by the first attempt. Clients generate the order id once per checkout.
+     * Without one every request gets a fresh key, which still covers retries made on our side.
+     */
+    static String idempotencyKey(String type, String uid, Map<String, Object> body) {
+        Object orderId = body.get("orderId");
+        if (orderId instanceof String id && !id.isBlank()) {
+            return "payment-intent:" + type + ":" + uid + ":" + id;
+        }
+        return "payment-intent:" + type + ":" + uid + ":" + UUID.randomUUID();
+    }
+
     private String extractUserIdFromToken(String authHeader) throws Exception {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new IllegalArgumentException("Invalid authorization header");
         }
         String token = authHeader.substring(7);
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
+        VerifiedToken decodedToken = tokenVerifier.verify(token);
         return decodedToken.getUid();
     }
 }
@@ -0,0 +1,48 @@
+package com.example.campusaura.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Targets of a bulk admin action: either explicit document ids or an equality filter
+ * (e.g. {"status": "PENDING"}). For user verification, {@code verified} is the value to set.
+ */
+public class BulkActionRequestDTO {
+    private List<String> ids;
+    private Map<String, Object> filter;
+    private Boolean verified;
+
+    // Constructors
+    public BulkActionRequestDTO() {}
+
+    public BulkActionRequestDTO(List<String> ids, Map<String, Object> filter, Boolean verified) {
+        this.ids = ids;
+        this.filter = filter;
+        this.verified = verified;
+    }
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public Map<String, Object> getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Map<String, Object> filter) {
+        this.filter = filter;
+    }
+
+    public Boolean getVerified() {
+        return verified;
+    }
+
+    public void setVerified(Boolean verified) {
+        this.verified = verified;
+    }
+}
@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
  * Document path: users/{uid}
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
@@ -0,0 +1,85 @@
+package com.example.campusaura.observability;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor decorator that carries the Firestore call site, the request's RequestCost and the
+ * trace context from the submitting thread to the task. The Firestore client runs retries and unary calls on its
+ * own scheduler, where the stack no longer shows which service method issued them.
+ */
+public class CallSitePropagatingExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledExecutorService delegate;
+
+    public CallSitePropagatingExecutor(ScheduledExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    public ScheduledExecutorService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(wrap(command));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(wrap(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        String callSite = FirestoreCallSite.current();
+        RequestCost cost = RequestCost.current();
+        return delegate.schedule(ContextPropagation.wrap(
+                () -> RequestCost.callWith(cost, () -> FirestoreCallSite.callAs(callSite, callable))), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(wrap(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(wrap(command), initialDelay, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private static Runnable wrap(Runnable command) {
+        String callSite = FirestoreCallSite.current();
+        RequestCost cost = RequestCost.current();
+        return ContextPropagation.wrap(() -> RequestCost.runWith(cost, () -> FirestoreCallSite.runAs(callSite, command)));
+    }
+}
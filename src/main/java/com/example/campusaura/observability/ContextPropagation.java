@@ -0,0 +1,39 @@
+package com.example.campusaura.observability;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Carries the current observation (and with it the trace span) into work that runs on
+ * another thread: background cache refreshes, bulk jobs, bulkhead calls, Firestore retries.
+ */
+public final class ContextPropagation {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private ContextPropagation() {
+    }
+
+    public static ContextSnapshot capture() {
+        return SNAPSHOTS.captureAll();
+    }
+
+    public static Runnable wrap(Runnable task) {
+        return capture().wrap(task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        return capture().wrap(task);
+    }
+
+    /**
+     * Executor that captures the submitter's context for every task.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, ContextPropagation::capture);
+    }
+}
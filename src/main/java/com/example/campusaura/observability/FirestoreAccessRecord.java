@@ -0,0 +1,21 @@
+package com.example.campusaura.observability;
+
+import java.util.List;
+
+/**
+ * One Firestore RPC in an access trace (see {@link FirestoreAccessRecorder}).
+ *
+ * @param timestamp  epoch millis when the call started
+ * @param operation  get, query, aggregate, listen, set, update, delete or batch
+ * @param caller     service method that issued the call
+ * @param collection collection pattern, e.g. "events/sections"
+ * @param path       queried collection path with anonymized ids (queries, aggregations, listens)
+ * @param documents  document paths with anonymized ids (gets and writes)
+ * @param shape      query shape with values masked (queries, aggregations, listens)
+ * @param results    documents returned, or writes committed
+ * @param micros     call duration
+ * @param status     gRPC status code
+ */
+public record FirestoreAccessRecord(long timestamp, String operation, String caller, String collection,
+                                    String path, List<String> documents, String shape, int results,
+                                    long micros, String status) {}
@@ -0,0 +1,332 @@
+package com.example.campusaura.observability;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteRequest;
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.ListenRequest;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.RunAggregationQueryRequest;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Write;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opt-in gRPC interceptor that writes an anonymized access trace of every Firestore RPC
+ * (firestore.trace.enabled=true), for replaying real access patterns offline.
+ *
+ * One JSON object per line (gzipped if the path ends in .gz), see {@link FirestoreAccessRecord}.
+ * Document ids are replaced by a keyed hash, so the same document keeps the same id within
+ * a trace but cannot be traced back; collection names, query shapes and callers are kept.
+ * Set firestore.trace.salt to correlate traces across instances. Records are written by a
+ * background thread; when its queue is full they are dropped and counted in
+ * campusaura.firestore.trace.dropped rather than slowing requests down.
+ */
+@Component
+@ConditionalOnProperty(name = "firestore.trace.enabled", havingValue = "true")
+public class FirestoreAccessRecorder implements ClientInterceptor, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirestoreAccessRecorder.class);
+
+    private static final String DOCUMENTS_MARKER = "/documents/";
+    private static final Set<String> RECORDED = Set.of(
+            "BatchGetDocuments", "RunQuery", "RunAggregationQuery", "Commit", "BatchWrite", "Listen");
+
+    private final Path path;
+    private final BlockingQueue<FirestoreAccessRecord> queue;
+    private final Mac mac;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    @Autowired
+    public FirestoreAccessRecorder(MeterRegistry meterRegistry,
+                                   @Value("${firestore.trace.path:firestore-trace.jsonl.gz}") Path path,
+                                   @Value("${firestore.trace.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${firestore.trace.salt:}") String salt) throws IOException {
+        this(meterRegistry, path, queueCapacity, salt.isEmpty() ? randomSalt() : salt.getBytes(StandardCharsets.UTF_8));
+    }
+
+    FirestoreAccessRecorder(MeterRegistry meterRegistry, Path path, int queueCapacity, byte[] salt) throws IOException {
+        this.path = path;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        try {
+            this.mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(salt, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        this.recorded = Counter.builder("campusaura.firestore.trace.records").tag("result", "recorded").register(meterRegistry);
+        this.dropped = Counter.builder("campusaura.firestore.trace.records").tag("result", "dropped").register(meterRegistry);
+        BufferedWriter writer = open(path);
+        this.writerThread = new Thread(() -> writeLoop(writer), "firestore-trace-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Recording Firestore access trace to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        String rpc = method.getBareMethodName();
+        if (!RECORDED.contains(rpc)) {
+            return next.newCall(method, callOptions);
+        }
+        String caller = FirestoreCallSite.current();
+        long timestamp = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            private volatile FirestoreAccessRecord described;
+            private int results;
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (described == null) {
+                    // Listen streams send more requests later; the first one carries the target
+                    described = describe(rpc, message, timestamp, caller);
+                }
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        results += documentsRead(message);
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        FirestoreAccessRecord record = described;
+                        if (record != null) {
+                            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+                            boolean write = record.shape() == null && !"get".equals(record.operation());
+                            offer(new FirestoreAccessRecord(record.timestamp(), record.operation(), record.caller(),
+                                    record.collection(), record.path(), record.documents(), record.shape(),
+                                    write ? (status.isOk() ? record.results() : 0) : results,
+                                    micros, status.getCode().name()));
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    /**
+     * Stops recording and flushes what is queued.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        // No interrupt: it would close the file channel under the writer
+        closed = true;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void offer(FirestoreAccessRecord record) {
+        if (!closed && queue.offer(record)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Request part of the record; results, duration and status are filled in on close.
+     * Returns null for requests that are not traced (e.g. an empty read-only commit).
+     */
+    private FirestoreAccessRecord describe(String rpc, Object message, long timestamp, String caller) {
+        if (message instanceof BatchGetDocumentsRequest request && request.getDocumentsCount() > 0) {
+            return documentRecord("get", timestamp, caller, request.getDocumentsList(), 0);
+        }
+        if (message instanceof RunQueryRequest request) {
+            return queryRecord("query", timestamp, caller, request.getParent(), request.getStructuredQuery(),
+                    FirestoreQueryProfiler.shapeOf(
+                            FirestoreMetricsInterceptor.collectionOfQuery(request.getParent(), request.getStructuredQuery()),
+                            request.getStructuredQuery()));
+        }
+        if (message instanceof RunAggregationQueryRequest request) {
+            StructuredQuery query = request.getStructuredAggregationQuery().getStructuredQuery();
+            return queryRecord("aggregate", timestamp, caller, request.getParent(), query,
+                    FirestoreQueryProfiler.shapeOf(FirestoreMetricsInterceptor.collectionOfQuery(request.getParent(), query),
+                            request.getStructuredAggregationQuery()));
+        }
+        if (message instanceof CommitRequest request) {
+            return writeRecord(timestamp, caller, request.getWritesList());
+        }
+        if (message instanceof BatchWriteRequest request) {
+            return writeRecord(timestamp, caller, request.getWritesList());
+        }
+        if (message instanceof ListenRequest request && request.hasAddTarget()) {
+            var target = request.getAddTarget();
+            if (target.hasQuery()) {
+                StructuredQuery query = target.getQuery().getStructuredQuery();
+                String parent = target.getQuery().getParent();
+                return queryRecord("listen", timestamp, caller, parent, query,
+                        FirestoreQueryProfiler.shapeOf(FirestoreMetricsInterceptor.collectionOfQuery(parent, query), query));
+            }
+            if (target.hasDocuments() && target.getDocuments().getDocumentsCount() > 0) {
+                return documentRecord("listen", timestamp, caller, target.getDocuments().getDocumentsList(), 0);
+            }
+        }
+        return null;
+    }
+
+    private FirestoreAccessRecord documentRecord(String operation, long timestamp, String caller,
+                                                 List<String> names, int results) {
+        List<String> documents = new ArrayList<>(names.size());
+        for (String name : names) {
+            documents.add(anonymize(relativePath(name)));
+        }
+        return new FirestoreAccessRecord(timestamp, operation, caller,
+                FirestoreMetricsInterceptor.collectionOfDocument(names.get(0)), null, documents, null, results, 0, null);
+    }
+
+    private FirestoreAccessRecord queryRecord(String operation, long timestamp, String caller, String parent,
+                                              StructuredQuery query, String shape) {
+        String collectionId = query.getFromCount() > 0 ? query.getFrom(0).getCollectionId() : "";
+        String parentPath = relativePath(parent);
+        String path = parentPath.isEmpty() ? collectionId : anonymize(parentPath) + "/" + collectionId;
+        return new FirestoreAccessRecord(timestamp, operation, caller,
+                FirestoreMetricsInterceptor.collectionOfQuery(parent, query), path, null, shape, 0, 0, null);
+    }
+
+    private FirestoreAccessRecord writeRecord(long timestamp, String caller, List<Write> writes) {
+        if (writes.isEmpty()) {
+            return null;
+        }
+        String operation = null;
+        List<String> names = new ArrayList<>(writes.size());
+        for (Write write : writes) {
+            String current = write.hasDelete() ? "delete" : write.hasUpdateMask() ? "update" : "set";
+            operation = operation == null || operation.equals(current) ? current : "batch";
+            names.add(write.hasDelete() ? write.getDelete()
+                    : write.hasUpdate() ? write.getUpdate().getName() : write.getTransform().getDocument());
+        }
+        return documentRecord(writes.size() > 1 ? "batch" : operation, timestamp, caller, names, writes.size());
+    }
+
+    /**
+     * "projects/p/databases/d/documents/events/e1" -> "events/e1"; the database root -> "".
+     */
+    static String relativePath(String name) {
+        int start = name.indexOf(DOCUMENTS_MARKER);
+        return start < 0 ? "" : name.substring(start + DOCUMENTS_MARKER.length());
+    }
+
+    /**
+     * Replaces the document ids (odd segments) of a relative path by their keyed hash.
+     */
+    String anonymize(String relativePath) {
+        String[] segments = relativePath.split("/");
+        StringBuilder anonymized = new StringBuilder(relativePath.length());
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                anonymized.append('/');
+            }
+            anonymized.append(i % 2 == 1 ? hash(segments[i]) : segments[i]);
+        }
+        return anonymized.toString();
+    }
+
+    private String hash(String id) {
+        byte[] digest;
+        synchronized (mac) {
+            digest = mac.doFinal(id.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+
+    private static int documentsRead(Object response) {
+        if (response instanceof BatchGetDocumentsResponse batchGet) {
+            return batchGet.hasFound() ? 1 : 0;
+        }
+        if (response instanceof RunQueryResponse query) {
+            return query.hasDocument() ? 1 : 0;
+        }
+        if (response instanceof ListenResponse listen) {
+            return listen.hasDocumentChange() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    private void writeLoop(BufferedWriter writer) {
+        try (writer) {
+            while (!closed || !queue.isEmpty()) {
+                FirestoreAccessRecord record = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (record == null) {
+                    writer.flush();
+                    continue;
+                }
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            logger.warn("Firestore access trace {} stopped: {}", path, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BufferedWriter open(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        OutputStream out = Files.newOutputStream(path);
+        if (path.getFileName().toString().endsWith(".gz")) {
+            out = new GZIPOutputStream(out);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] randomSalt() {
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.campusaura.observability;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Names the application method a Firestore RPC is issued for, e.g. "EventService.getPublicEvents".
+ *
+ * The closest service or controller frame on the calling thread wins; repositories and other
+ * helpers only count when no service is on the stack. Work that the client library hands to
+ * its own executor carries the call site captured at submission
+ * (see {@link CallSitePropagatingExecutor}).
+ */
+public final class FirestoreCallSite {
+
+    public static final String BACKGROUND = "background";
+
+    private static final String APP_PACKAGE = "com.example.campusaura.";
+    private static final String OWN_PACKAGE = FirestoreCallSite.class.getPackageName() + ".";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final ThreadLocal<String> PROPAGATED = new ThreadLocal<>();
+
+    private FirestoreCallSite() {
+    }
+
+    public static String current() {
+        String propagated = PROPAGATED.get();
+        if (propagated != null) {
+            return propagated;
+        }
+        return WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(APP_PACKAGE) || className.startsWith(OWN_PACKAGE)) {
+                    continue;
+                }
+                if (className.startsWith(APP_PACKAGE + "service.") || className.startsWith(APP_PACKAGE + "controller.")) {
+                    return format(frame);
+                }
+                if (fallback == null) {
+                    fallback = format(frame);
+                }
+            }
+            return fallback != null ? fallback : BACKGROUND;
+        });
+    }
+
+    /**
+     * Runs {@code work} with {@code callSite} reported as the current call site.
+     */
+    static <T> T callAs(String callSite, Callable<T> work) throws Exception {
+        String previous = PROPAGATED.get();
+        PROPAGATED.set(callSite);
+        try {
+            return work.call();
+        } finally {
+            if (previous != null) {
+                PROPAGATED.set(previous);
+            } else {
+                PROPAGATED.remove();
+            }
+        }
+    }
+
+    static void runAs(String callSite, Runnable work) {
+        String previous = PROPAGATED.get();
+        PROPAGATED.set(callSite);
+        try {
+            work.run();
+        } finally {
+            if (previous != null) {
+                PROPAGATED.set(previous);
+            } else {
+                PROPAGATED.remove();
+            }
+        }
+    }
+
+    private static String format(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        // EventService$$SpringCGLIB$$0 -> EventService, FeedbackService$1 -> FeedbackService
+        int nested = simpleName.indexOf('$');
+        if (nested > 0) {
+            simpleName = simpleName.substring(0, nested);
+        }
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            // lambda$getPublicEvents$3 -> getPublicEvents
+            String[] parts = method.split("\\$");
+            method = parts.length > 1 ? parts[1] : method;
+        }
+        return simpleName + "." + method;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.campusaura.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accounts the Firestore documents each HTTP request reads and writes, across all services.
+ *
+ * Runs ahead of the security chain so the reads done while authenticating are included.
+ * Per route (the matched handler pattern) it records:
+ * - campusaura.firestore.request.reads / .writes: distribution of documents per request
+ * - campusaura.firestore.budget.exceeded: requests over the route's configured budget
+ * The totals are also sent as response headers when enabled, see FirestoreCostHeaders.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class FirestoreCostFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirestoreCostFilter.class);
+
+    static final String UNMATCHED_ROUTE = "unmatched";
+
+    /**
+     * Documents-per-request buckets, shared by reads and writes. A handful of fixed buckets per
+     * route instead of a full percentiles histogram, which would be ~70 series per route and kind.
+     */
+    static final double[] DOCUMENT_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> readBudgets;
+    private final Map<String, Long> writeBudgets;
+
+    public FirestoreCostFilter(
+            MeterRegistry meterRegistry,
+            @Value("${firestore.cost.read-budgets:}") String readBudgets,
+            @Value("${firestore.cost.write-budgets:}") String writeBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.readBudgets = parseBudgets(readBudgets);
+        this.writeBudgets = parseBudgets(writeBudgets);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestCost cost = new RequestCost();
+        RequestCost previous = RequestCost.attach(cost);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCost.attach(previous);
+            record(request, cost);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestCost cost) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+        String method = request.getMethod();
+        long reads = cost.getReads();
+        long writes = cost.getWrites();
+
+        summary("campusaura.firestore.request.reads", route, method).record(reads);
+        summary("campusaura.firestore.request.writes", route, method).record(writes);
+        checkBudget("reads", readBudgets.get(route), reads, route, method);
+        checkBudget("writes", writeBudgets.get(route), writes, route, method);
+    }
+
+    private void checkBudget(String kind, Long budget, long actual, String route, String method) {
+        if (budget == null || actual <= budget) {
+            return;
+        }
+        Counter.builder("campusaura.firestore.budget.exceeded")
+                .tag("route", route)
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .increment();
+        logger.warn("{} {} used {} Firestore document {} (budget {})", method, route, actual, kind, budget);
+    }
+
+    private DistributionSummary summary(String name, String route, String method) {
+        return DistributionSummary.builder(name)
+                .baseUnit("documents")
+                .tag("route", route)
+                .tag("method", method)
+                .serviceLevelObjectives(DOCUMENT_BUCKETS)
+                .register(meterRegistry);
+    }
+
+    /**
+     * "/api/admin/events=500,/api/admin/users/stats=1000" -> route pattern to max documents
+     */
+    static Map<String, Long> parseBudgets(String spec) {
+        Map<String, Long> budgets = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid Firestore cost budget: " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+        }
+        return budgets;
+    }
+}
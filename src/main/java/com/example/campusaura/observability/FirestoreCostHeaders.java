@@ -0,0 +1,45 @@
+package com.example.campusaura.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds X-Firestore-Reads / X-Firestore-Writes to responses (firestore.cost.expose-headers,
+ * meant for non-prod). Set just before the body is written, since the response is already
+ * committed by the time FirestoreCostFilter regains control.
+ */
+@ControllerAdvice
+public class FirestoreCostHeaders implements ResponseBodyAdvice<Object> {
+
+    public static final String READS_HEADER = "X-Firestore-Reads";
+    public static final String WRITES_HEADER = "X-Firestore-Writes";
+
+    private final boolean enabled;
+
+    public FirestoreCostHeaders(@Value("${firestore.cost.expose-headers:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestCost cost = RequestCost.current();
+        if (cost != null) {
+            response.getHeaders().set(READS_HEADER, String.valueOf(cost.getReads()));
+            response.getHeaders().set(WRITES_HEADER, String.valueOf(cost.getWrites()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.campusaura.observability;
+
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteRequest;
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.ListenRequest;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.RunAggregationQueryRequest;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Write;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC interceptor on the Firestore channel that meters and traces every RPC.
+ *
+ * Meters, tagged with collection, operation (get, query, aggregate, set, update, delete,
+ * batch, listen, transaction) and caller (the service method, see {@link FirestoreCallSite}):
+ * - campusaura.firestore.operation: latency timer, also tagged with the gRPC status
+ * - campusaura.firestore.documents.read: documents returned (what Firestore bills as reads)
+ * - campusaura.firestore.documents.written: writes committed
+ * - campusaura.firestore.errors: failed RPCs, tagged with the gRPC status
+ * - campusaura.firestore.calls.active: RPCs in flight on the channel, listen streams
+ *   (long-lived by design) counted separately from request calls
+ * Reads and writes are also added to the current {@link RequestCost}, if any. Within a
+ * trace, each RPC gets a child span named after the operation and collection.
+ */
+@Component
+public class FirestoreMetricsInterceptor implements ClientInterceptor {
+
+    private static final String DOCUMENTS_MARKER = "/documents/";
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger activeListens = new AtomicInteger();
+
+    @Autowired
+    public FirestoreMetricsInterceptor(MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        this(meterRegistry, tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    public FirestoreMetricsInterceptor(MeterRegistry meterRegistry, Tracer tracer) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        Gauge.builder("campusaura.firestore.calls.active", activeRequests, AtomicInteger::get)
+                .tag("kind", "request")
+                .register(meterRegistry);
+        Gauge.builder("campusaura.firestore.calls.active", activeListens, AtomicInteger::get)
+                .tag("kind", "listen")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        String caller = FirestoreCallSite.current();
+        RequestCost cost = RequestCost.current();
+        // Only RPCs made on behalf of a traced request; background listeners would start their own traces
+        Span span = tracer.currentSpan() != null
+                ? tracer.nextSpan().name("firestore " + method.getBareMethodName())
+                        .tag("rpc.system", "grpc")
+                        .tag("rpc.method", method.getFullMethodName())
+                        .tag("caller", caller)
+                        .start()
+                : null;
+        AtomicInteger active = "Listen".equals(method.getBareMethodName()) ? activeListens : activeRequests;
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            private final long startNanos = System.nanoTime();
+            private volatile String collection = "unknown";
+            private volatile String operation = operationOf(method.getBareMethodName());
+            private volatile int written;
+            private long documentsRead;
+            private Counter reads;
+
+            @Override
+            public void sendMessage(ReqT message) {
+                describe(message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                active.incrementAndGet();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        int documents = documentsRead(message);
+                        if (documents > 0) {
+                            if (reads == null) {
+                                reads = counter("campusaura.firestore.documents.read", collection, operation, caller);
+                            }
+                            reads.increment(documents);
+                            documentsRead += documents;
+                            if (cost != null) {
+                                cost.addReads(documents);
+                            }
+                        }
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        active.decrementAndGet();
+                        record(status);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            private void describe(ReqT message) {
+                if (message instanceof BatchGetDocumentsRequest request && request.getDocumentsCount() > 0) {
+                    collection = collectionOfDocument(request.getDocuments(0));
+                } else if (message instanceof RunQueryRequest request) {
+                    collection = collectionOfQuery(request.getParent(), request.getStructuredQuery());
+                } else if (message instanceof RunAggregationQueryRequest request) {
+                    collection = collectionOfQuery(request.getParent(),
+                            request.getStructuredAggregationQuery().getStructuredQuery());
+                } else if (message instanceof CommitRequest request) {
+                    describeWrites(request.getWritesList());
+                } else if (message instanceof BatchWriteRequest request) {
+                    describeWrites(request.getWritesList());
+                } else if (message instanceof ListenRequest request && request.hasAddTarget()) {
+                    var target = request.getAddTarget();
+                    if (target.hasQuery()) {
+                        collection = collectionOfQuery(target.getQuery().getParent(),
+                                target.getQuery().getStructuredQuery());
+                    } else if (target.hasDocuments() && target.getDocuments().getDocumentsCount() > 0) {
+                        collection = collectionOfDocument(target.getDocuments().getDocuments(0));
+                    }
+                }
+            }
+
+            private void describeWrites(List<Write> writes) {
+                if (writes.isEmpty()) {
+                    // Commit of a read-only transaction
+                    return;
+                }
+                String writeOperation = null;
+                for (Write write : writes) {
+                    String current = write.hasDelete() ? "delete" : write.hasUpdateMask() ? "update" : "set";
+                    writeOperation = writeOperation == null || writeOperation.equals(current) ? current : "batch";
+                }
+                Write first = writes.get(0);
+                collection = collectionOfDocument(first.hasDelete() ? first.getDelete()
+                        : first.hasUpdate() ? first.getUpdate().getName() : first.getTransform().getDocument());
+                operation = writeOperation;
+                written = writes.size();
+            }
+
+            private void record(Status status) {
+                String code = status.getCode().name();
+                Timer.builder("campusaura.firestore.operation")
+                        .tag("collection", collection)
+                        .tag("operation", operation)
+                        .tag("caller", caller)
+                        .tag("status", code)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                if (status.isOk()) {
+                    if (written > 0) {
+                        counter("campusaura.firestore.documents.written", collection, operation, caller).increment(written);
+                        if (cost != null) {
+                            cost.addWrites(written);
+                        }
+                    }
+                } else if (status.getCode() != Status.Code.CANCELLED) {
+                    counter("campusaura.firestore.errors", collection, operation, caller, "status", code).increment();
+                }
+                if (span != null) {
+                    span.name("firestore " + operation + " " + collection)
+                            .tag("firestore.collection", collection)
+                            .tag("firestore.documents.read", documentsRead)
+                            .tag("firestore.documents.written", written)
+                            .tag("rpc.grpc.status_code", code);
+                    if (!status.isOk()) {
+                        span.error(status.asRuntimeException());
+                    }
+                    span.end();
+                }
+            }
+        };
+    }
+
+    private Counter counter(String name, String collection, String operation, String caller, String... extraTags) {
+        return Counter.builder(name)
+                .tag("collection", collection)
+                .tag("operation", operation)
+                .tag("caller", caller)
+                .tags(extraTags)
+                .register(meterRegistry);
+    }
+
+    private static String operationOf(String rpc) {
+        return switch (rpc) {
+            case "GetDocument", "BatchGetDocuments" -> "get";
+            case "RunQuery", "ListDocuments", "PartitionQuery" -> "query";
+            case "RunAggregationQuery" -> "aggregate";
+            case "Listen" -> "listen";
+            case "BeginTransaction", "Rollback" -> "transaction";
+            case "Commit", "BatchWrite" -> "batch";
+            default -> rpc;
+        };
+    }
+
+    private static int documentsRead(Object response) {
+        if (response instanceof BatchGetDocumentsResponse batchGet) {
+            return batchGet.hasFound() ? 1 : 0;
+        }
+        if (response instanceof RunQueryResponse query) {
+            return query.hasDocument() ? 1 : 0;
+        }
+        if (response instanceof ListenResponse listen) {
+            return listen.hasDocumentChange() ? 1 : 0;
+        }
+        // Aggregations are billed per batch of index entries, not per document
+        return 0;
+    }
+
+    /**
+     * "projects/p/databases/d/documents/events/e1/sections/sellItems" -> "events/sections"
+     */
+    static String collectionOfDocument(String documentName) {
+        int start = documentName.indexOf(DOCUMENTS_MARKER);
+        if (start < 0) {
+            return "unknown";
+        }
+        String[] segments = documentName.substring(start + DOCUMENTS_MARKER.length()).split("/");
+        StringBuilder collection = new StringBuilder();
+        for (int i = 0; i < segments.length; i += 2) {
+            if (collection.length() > 0) {
+                collection.append('/');
+            }
+            collection.append(segments[i]);
+        }
+        return collection.toString();
+    }
+
+    static String collectionOfQuery(String parent, StructuredQuery query) {
+        if (query.getFromCount() == 0) {
+            return "unknown";
+        }
+        String collectionId = query.getFrom(0).getCollectionId();
+        int start = parent.indexOf(DOCUMENTS_MARKER);
+        // Top-level collections have ".../documents" as parent
+        return start < 0 ? collectionId : collectionOfDocument(parent + "/" + collectionId + "/x");
+    }
+}
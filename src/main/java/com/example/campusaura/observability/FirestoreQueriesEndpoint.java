@@ -0,0 +1,40 @@
+package com.example.campusaura.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/firestorequeries: the slowest and largest query shapes and the unbounded
+ * scans seen by FirestoreQueryProfiler. DELETE starts a new window. Admins only.
+ */
+@Component
+@Endpoint(id = "firestorequeries")
+public class FirestoreQueriesEndpoint {
+
+    private final FirestoreQueryProfiler profiler;
+
+    public FirestoreQueriesEndpoint(FirestoreQueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queries() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("window", profiler.getWindow().toString());
+        report.put("shapes", profiler.shapeCount());
+        report.put("slowest", profiler.slowest());
+        report.put("largest", profiler.largest());
+        report.put("unbounded", profiler.unboundedScans());
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
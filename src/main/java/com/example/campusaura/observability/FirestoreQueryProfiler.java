@@ -0,0 +1,327 @@
+package com.example.campusaura.observability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.firestore.v1.RunAggregationQueryRequest;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.StructuredAggregationQuery;
+import com.google.firestore.v1.StructuredQuery;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC interceptor that profiles Firestore queries by shape.
+ *
+ * A shape is the query with its values masked, e.g.
+ * "events WHERE status == ? ORDER BY date DESC LIMIT ?". Per shape it keeps latency and
+ * result size over a rolling window, for the top-N views of FirestoreQueriesEndpoint.
+ * Queries slower than the threshold are logged. Unbounded collection scans (no filter
+ * and no limit) are logged once per shape and window, and counted in
+ * campusaura.firestore.query.unbounded.
+ */
+@Component
+public class FirestoreQueryProfiler implements ClientInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirestoreQueryProfiler.class);
+
+    /**
+     * Point-in-time statistics of one query shape.
+     */
+    public record ShapeStats(String shape, String collection, boolean unbounded, String lastCaller,
+                             long count, double meanMillis, double maxMillis,
+                             double meanDocuments, long maxDocuments) {}
+
+    private static final class Stats {
+        final String collection;
+        final boolean unbounded;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder totalDocuments = new LongAdder();
+        final AtomicLong maxDocuments = new AtomicLong();
+        volatile String lastCaller;
+
+        Stats(String collection, boolean unbounded) {
+            this.collection = collection;
+            this.unbounded = unbounded;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final int topN;
+    private final Duration window;
+    // Entries expire one window after the shape was first seen, so stats never go stale
+    private final Cache<String, Stats> shapes;
+
+    public FirestoreQueryProfiler(
+            MeterRegistry meterRegistry,
+            @Value("${firestore.profiler.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+            @Value("${firestore.profiler.top-n:20}") int topN,
+            @Value("${firestore.profiler.window:1h}") Duration window,
+            @Value("${firestore.profiler.max-shapes:1000}") long maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.topN = topN;
+        this.window = window;
+        this.shapes = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxShapes)
+                .build();
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        String rpc = method.getBareMethodName();
+        if (!"RunQuery".equals(rpc) && !"RunAggregationQuery".equals(rpc)) {
+            return next.newCall(method, callOptions);
+        }
+        String caller = FirestoreCallSite.current();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            private final long startNanos = System.nanoTime();
+            private volatile String shape;
+            private volatile String collection;
+            private volatile boolean unbounded;
+            private long documents;
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (message instanceof RunQueryRequest request) {
+                    StructuredQuery query = request.getStructuredQuery();
+                    collection = FirestoreMetricsInterceptor.collectionOfQuery(request.getParent(), query);
+                    shape = shapeOf(collection, query);
+                    unbounded = isUnbounded(query);
+                } else if (message instanceof RunAggregationQueryRequest request) {
+                    StructuredAggregationQuery aggregation = request.getStructuredAggregationQuery();
+                    collection = FirestoreMetricsInterceptor.collectionOfQuery(request.getParent(),
+                            aggregation.getStructuredQuery());
+                    shape = shapeOf(collection, aggregation);
+                }
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        if (message instanceof RunQueryResponse response && response.hasDocument()) {
+                            documents++;
+                        }
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        if (status.isOk() && shape != null) {
+                            record(shape, collection, unbounded, caller, System.nanoTime() - startNanos, documents);
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    void record(String shape, String collection, boolean unbounded, String caller, long nanos, long documents) {
+        Stats stats = shapes.get(shape, key -> {
+            if (unbounded) {
+                Counter.builder("campusaura.firestore.query.unbounded")
+                        .tag("collection", collection)
+                        .tag("caller", caller)
+                        .register(meterRegistry)
+                        .increment();
+                logger.warn("Unbounded Firestore scan of '{}' from {}: add a filter or limit", collection, caller);
+            }
+            return new Stats(collection, unbounded);
+        });
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.totalDocuments.add(documents);
+        stats.maxDocuments.accumulateAndGet(documents, Math::max);
+        stats.lastCaller = caller;
+
+        if (nanos >= slowQueryNanos) {
+            logger.warn("Slow Firestore query ({} ms, {} documents) from {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), documents, caller, shape);
+        }
+    }
+
+    /**
+     * Shapes with the highest mean latency.
+     */
+    public List<ShapeStats> slowest() {
+        return top(Comparator.comparingDouble(ShapeStats::meanMillis));
+    }
+
+    /**
+     * Shapes returning the most documents in a single query.
+     */
+    public List<ShapeStats> largest() {
+        return top(Comparator.comparingLong(ShapeStats::maxDocuments));
+    }
+
+    public List<ShapeStats> unboundedScans() {
+        return snapshot().stream()
+                .filter(ShapeStats::unbounded)
+                .sorted(Comparator.comparingLong(ShapeStats::count).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public long shapeCount() {
+        return shapes.estimatedSize();
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void reset() {
+        shapes.invalidateAll();
+    }
+
+    private List<ShapeStats> top(Comparator<ShapeStats> order) {
+        return snapshot().stream()
+                .sorted(order.reversed())
+                .limit(topN)
+                .collect(Collectors.toList());
+    }
+
+    private List<ShapeStats> snapshot() {
+        return shapes.asMap().entrySet().stream()
+                .map(entry -> {
+                    Stats stats = entry.getValue();
+                    long count = Math.max(1, stats.count.sum());
+                    return new ShapeStats(entry.getKey(), stats.collection, stats.unbounded, stats.lastCaller,
+                            stats.count.sum(),
+                            stats.totalNanos.sum() / 1e6 / count,
+                            stats.maxNanos.get() / 1e6,
+                            (double) stats.totalDocuments.sum() / count,
+                            stats.maxDocuments.get());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * No filter and no limit: reads every document of the collection.
+     */
+    static boolean isUnbounded(StructuredQuery query) {
+        return !query.hasWhere() && !query.hasLimit();
+    }
+
+    static String shapeOf(String collection, StructuredAggregationQuery aggregation) {
+        String functions = aggregation.getAggregationsList().stream()
+                .map(a -> a.getOperatorCase().name())
+                .collect(Collectors.joining(","));
+        return functions + " OF " + shapeOf(collection, aggregation.getStructuredQuery());
+    }
+
+    static String shapeOf(String collection, StructuredQuery query) {
+        StringBuilder shape = new StringBuilder();
+        if (query.getFromCount() > 0 && query.getFrom(0).getAllDescendants()) {
+            shape.append("GROUP ");
+        }
+        shape.append(collection);
+        if (query.hasWhere()) {
+            shape.append(" WHERE ");
+            appendFilter(shape, query.getWhere(), false);
+        }
+        if (query.getOrderByCount() > 0) {
+            shape.append(" ORDER BY ");
+            shape.append(query.getOrderByList().stream()
+                    .map(order -> order.getField().getFieldPath()
+                            + (order.getDirection() == StructuredQuery.Direction.DESCENDING ? " DESC" : ""))
+                    .collect(Collectors.joining(", ")));
+        }
+        if (query.hasStartAt()) {
+            shape.append(" START ?");
+        }
+        if (query.hasEndAt()) {
+            shape.append(" END ?");
+        }
+        if (query.hasLimit()) {
+            shape.append(" LIMIT ?");
+        }
+        if (query.getOffset() > 0) {
+            shape.append(" OFFSET ?");
+        }
+        if (query.hasSelect()) {
+            shape.append(" SELECT ");
+            shape.append(query.getSelect().getFieldsList().stream()
+                    .map(StructuredQuery.FieldReference::getFieldPath)
+                    .collect(Collectors.joining(",")));
+        }
+        return shape.toString();
+    }
+
+    private static void appendFilter(StringBuilder shape, StructuredQuery.Filter filter, boolean nested) {
+        switch (filter.getFilterTypeCase()) {
+            case COMPOSITE_FILTER -> {
+                StructuredQuery.CompositeFilter composite = filter.getCompositeFilter();
+                boolean parenthesize = nested && composite.getFiltersCount() > 1;
+                if (parenthesize) {
+                    shape.append('(');
+                }
+                for (int i = 0; i < composite.getFiltersCount(); i++) {
+                    if (i > 0) {
+                        shape.append(' ').append(composite.getOp().name()).append(' ');
+                    }
+                    appendFilter(shape, composite.getFilters(i), true);
+                }
+                if (parenthesize) {
+                    shape.append(')');
+                }
+            }
+            case FIELD_FILTER -> {
+                StructuredQuery.FieldFilter field = filter.getFieldFilter();
+                shape.append(field.getField().getFieldPath()).append(' ')
+                        .append(operatorOf(field.getOp())).append(" ?");
+            }
+            case UNARY_FILTER -> {
+                StructuredQuery.UnaryFilter unary = filter.getUnaryFilter();
+                shape.append(unary.getField().getFieldPath()).append(' ').append(unary.getOp().name());
+            }
+            default -> shape.append('?');
+        }
+    }
+
+    private static String operatorOf(StructuredQuery.FieldFilter.Operator operator) {
+        return switch (operator) {
+            case LESS_THAN -> "<";
+            case LESS_THAN_OR_EQUAL -> "<=";
+            case GREATER_THAN -> ">";
+            case GREATER_THAN_OR_EQUAL -> ">=";
+            case EQUAL -> "==";
+            case NOT_EQUAL -> "!=";
+            case ARRAY_CONTAINS -> "array-contains";
+            case IN -> "in";
+            case ARRAY_CONTAINS_ANY -> "array-contains-any";
+            case NOT_IN -> "not-in";
+            default -> operator.name();
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.campusaura.observability;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Firestore documents read and written on behalf of one HTTP request.
+ *
+ * Opened by FirestoreCostFilter and fed by FirestoreMetricsInterceptor. Like the call site,
+ * it follows work the Firestore client hands to its own executor.
+ */
+public final class RequestCost {
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    /**
+     * The cost of the request being served on this thread, or null outside a request.
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    public long getReads() {
+        return reads.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    void addReads(long documents) {
+        reads.add(documents);
+    }
+
+    void addWrites(long documents) {
+        writes.add(documents);
+    }
+
+    /**
+     * Makes {@code cost} current on this thread and returns what was current before.
+     */
+    static RequestCost attach(RequestCost cost) {
+        RequestCost previous = CURRENT.get();
+        if (cost != null) {
+            CURRENT.set(cost);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    static <T> T callWith(RequestCost cost, Callable<T> work) throws Exception {
+        RequestCost previous = attach(cost);
+        try {
+            return work.call();
+        } finally {
+            attach(previous);
+        }
+    }
+
+    static void runWith(RequestCost cost, Runnable work) {
+        RequestCost previous = attach(cost);
+        try {
+            work.run();
+        } finally {
+            attach(previous);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.campusaura.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tomcat saturation gauge the built-in Tomcat metrics lack:
+ * - campusaura.tomcat.threads.queued: requests accepted but waiting for a worker thread,
+ *   per connector. Tomcat only queues once all max-threads are busy, so anything above
+ *   zero means the app is thread-bound.
+ * Busy/current/max threads and connections come from Spring Boot's TomcatMetrics
+ * (tomcat.threads.*, tomcat.connections.*, needs server.tomcat.mbeanregistry.enabled).
+ */
+@Component
+public class TomcatSaturationMetrics implements ApplicationListener<WebServerInitializedEvent> {
+
+    private final MeterRegistry meterRegistry;
+
+    public TomcatSaturationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        for (Connector connector : tomcat.getTomcat().getService().findConnectors()) {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                Gauge.builder("campusaura.tomcat.threads.queued", protocol, TomcatSaturationMetrics::queued)
+                        .tag("name", protocol.getName().replace("\"", ""))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private static double queued(AbstractProtocol<?> protocol) {
+        // Only Tomcat's own pool is known; a custom Executor on the connector reports 0
+        return protocol.getExecutor() instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.campusaura.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets. Authenticated callers are keyed by UID, anonymous callers by
+ * client IP; anonymous buckets are larger because a whole campus network may share one
+ * address. Idle buckets are evicted (a bucket idle that long would be full anyway).
+ */
+public class RateLimiter {
+
+    /** Outcome of a single acquire: {@code retryAfter} is zero when allowed. */
+    public record Decision(boolean allowed, long remaining, Duration retryAfter) {}
+
+    public enum ClientType { USER, ANONYMOUS }
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Limits userLimits;
+    private final Limits anonymousLimits;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+
+    public record Limits(double capacity, double refillPerSecond) {}
+
+    public RateLimiter(Limits userLimits, Limits anonymousLimits, Duration idleEviction,
+                       long maxClients, MeterRegistry meterRegistry) {
+        this(userLimits, anonymousLimits, idleEviction, maxClients, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(Limits userLimits, Limits anonymousLimits, Duration idleEviction,
+                long maxClients, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleEviction)
+                .maximumSize(maxClients)
+                .build();
+        this.userLimits = userLimits;
+        this.anonymousLimits = anonymousLimits;
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Decision tryAcquire(ClientType type, String clientKey, int cost, String route) {
+        Limits limits = type == ClientType.USER ? userLimits : anonymousLimits;
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(type.name() + ":" + clientKey,
+                k -> new TokenBucket(limits.capacity(), limits.refillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(Math.min(cost, limits.capacity()), now);
+        if (waitNanos == 0) {
+            return new Decision(true, (long) bucket.available(now), Duration.ZERO);
+        }
+        Counter.builder("campusaura.ratelimit.rejected")
+                .tag("client", type.name().toLowerCase())
+                .tag("route", route)
+                .register(meterRegistry)
+                .increment();
+        return new Decision(false, (long) bucket.available(now), Duration.ofNanos(waitNanos));
+    }
+}
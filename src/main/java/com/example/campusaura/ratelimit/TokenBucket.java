@@ -0,0 +1,56 @@
+package com.example.campusaura.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. State (tokens, last refill time) is replaced atomically with CAS,
+ * so concurrent requests from the same client never block each other.
+ */
+public class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {}
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes {@code cost} tokens if available.
+     *
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until enough tokens
+     *         will have accumulated (nothing is taken in that case)
+     */
+    public long tryConsume(double cost, long nowNanos) {
+        if (cost > capacity) {
+            throw new IllegalArgumentException("cost " + cost + " exceeds bucket capacity " + capacity);
+        }
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, nowNanos - current.refilledAtNanos());
+            double available = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if (available < cost) {
+                return (long) Math.ceil((cost - available) / tokensPerNano);
+            }
+            State next = new State(available - cost, Math.max(nowNanos, current.refilledAtNanos()));
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Tokens currently available (for the X-RateLimit-Remaining header). */
+    public double available(long nowNanos) {
+        State current = state.get();
+        long elapsed = Math.max(0, nowNanos - current.refilledAtNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
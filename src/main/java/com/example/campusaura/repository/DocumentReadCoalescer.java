@@ -0,0 +1,115 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight coalescing of Firestore document reads.
+ *
+ * When many requests read the same document at the same time (e.g. a viral event page),
+ * only the first one issues the RPC; the others share its in-flight ApiFuture.
+ * The entry is removed as soon as the read completes, so results are never cached.
+ *
+ * This does not give read-your-writes: a read that joins an RPC issued before a write
+ * was acknowledged gets the pre-write snapshot. Code that must see its own write should
+ * read the document directly rather than through the coalescer.
+ */
+@Component
+public class DocumentReadCoalescer {
+
+    private final Map<String, ApiFuture<DocumentSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final Map<String, Counter> collectionCounters = new ConcurrentHashMap<>();
+
+    public DocumentReadCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        FunctionCounter.builder("campusaura.firestore.coalescer.reads", issued, LongAdder::sum)
+                .description("Document reads that issued a Firestore RPC")
+                .tag("result", "issued")
+                .register(meterRegistry);
+        FunctionCounter.builder("campusaura.firestore.coalescer.reads", coalesced, LongAdder::sum)
+                .description("Document reads that joined an in-flight RPC")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("campusaura.firestore.coalescer.ratio", this, DocumentReadCoalescer::getCoalescingRatio)
+                .description("Share of document reads served by an in-flight RPC")
+                .register(meterRegistry);
+        Gauge.builder("campusaura.firestore.coalescer.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads a document, joining an identical read that is already in flight.
+     */
+    public ApiFuture<DocumentSnapshot> get(DocumentReference docRef) {
+        String path = docRef.getPath();
+        SettableApiFuture<DocumentSnapshot> shared = SettableApiFuture.create();
+        ApiFuture<DocumentSnapshot> existing = inFlight.putIfAbsent(path, shared);
+        if (existing != null) {
+            coalesced.increment();
+            countPerCollection(docRef, "coalesced");
+            return existing;
+        }
+
+        issued.increment();
+        countPerCollection(docRef, "issued");
+        ApiFuture<DocumentSnapshot> rpc;
+        try {
+            rpc = docRef.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(path, shared);
+            shared.setException(e);
+            return shared;
+        }
+
+        ApiFutures.addCallback(rpc, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(DocumentSnapshot snapshot) {
+                inFlight.remove(path, shared);
+                shared.set(snapshot);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                inFlight.remove(path, shared);
+                shared.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return shared;
+    }
+
+    /**
+     * Fraction of reads (0..1) that were satisfied by joining an in-flight read.
+     */
+    public double getCoalescingRatio() {
+        long joined = coalesced.sum();
+        long total = joined + issued.sum();
+        return total == 0 ? 0.0 : (double) joined / total;
+    }
+
+    private void countPerCollection(DocumentReference docRef, String result) {
+        String collection = docRef.getParent().getId();
+        collectionCounters.computeIfAbsent(collection + '/' + result, key ->
+                Counter.builder("campusaura.firestore.coalescer.collection.reads")
+                        .tag("collection", collection)
+                        .tag("result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Precondition;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores the large, rarely needed event arrays outside the event document.
+ *
+ * Layout: events/{eventId}/sections/{field} with a single "items" field holding the array.
+ * Event documents written in this layout carry "sectionsExternal": true; documents without
+ * the marker still embed the arrays and are read as before until migrated.
+ */
+@Component
+public class EventSectionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSectionStore.class);
+
+    public static final String MARKER_FIELD = "sectionsExternal";
+    private static final String SUBCOLLECTION = "sections";
+    private static final String ITEMS_FIELD = "items";
+
+    public enum Section {
+        PAST_EVENT_DETAILS("pastEventDetails"),
+        SELL_ITEMS("sellItems"),
+        SCHEDULE("schedule");
+
+        private final String field;
+
+        Section(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+
+    public record MigrationResult(int scanned, int migrated, int conflicts) {}
+
+    private final Firestore firestore;
+
+    public EventSectionStore(Firestore firestore) {
+        this.firestore = firestore;
+    }
+
+    public static boolean isExternal(Map<String, Object> data) {
+        return data != null && Boolean.TRUE.equals(data.get(MARKER_FIELD));
+    }
+
+    /**
+     * Moves section fields out of {@code eventData} into side-document writes on the batch
+     * and marks the event document as using the split layout.
+     */
+    public void stage(WriteBatch batch, DocumentReference eventRef, Map<String, Object> eventData) {
+        split(eventData).forEach((section, value) -> stageSection(batch, eventRef, section, value));
+        eventData.put(MARKER_FIELD, true);
+    }
+
+    /**
+     * Removes the section fields from {@code eventData} and returns them.
+     */
+    public Map<Section, Object> split(Map<String, Object> eventData) {
+        Map<Section, Object> sections = new EnumMap<>(Section.class);
+        for (Section section : Section.values()) {
+            sections.put(section, eventData.remove(section.getField()));
+        }
+        return sections;
+    }
+
+    /**
+     * Adds a write replacing one side document to the batch.
+     */
+    public void stageSection(WriteBatch batch, DocumentReference eventRef, Section section, Object value) {
+        Map<String, Object> sideDoc = new HashMap<>();
+        sideDoc.put(ITEMS_FIELD, value != null ? value : Collections.emptyList());
+        batch.set(sectionRef(eventRef, section), sideDoc);
+    }
+
+    /**
+     * Adds deletes for all side documents of an event to the batch.
+     */
+    public void stageDelete(WriteBatch batch, DocumentReference eventRef) {
+        for (Section section : Section.values()) {
+            batch.delete(sectionRef(eventRef, section));
+        }
+    }
+
+    /**
+     * Returns each document's data with the requested sections merged in. All side documents
+     * are fetched in one batched read; legacy (embedded) documents need no extra reads.
+     */
+    public Map<String, Map<String, Object>> withSections(List<? extends DocumentSnapshot> documents,
+                                                         Set<Section> sections)
+            throws ExecutionException, InterruptedException {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        List<DocumentReference> sideRefs = new ArrayList<>();
+        for (DocumentSnapshot document : documents) {
+            Map<String, Object> data = new HashMap<>(document.getData());
+            result.put(document.getId(), data);
+            if (isExternal(data)) {
+                for (Section section : sections) {
+                    sideRefs.add(sectionRef(document.getReference(), section));
+                }
+            }
+        }
+        if (sideRefs.isEmpty()) {
+            return result;
+        }
+
+        List<DocumentSnapshot> sideDocs = firestore.getAll(sideRefs.toArray(new DocumentReference[0])).get();
+        for (DocumentSnapshot sideDoc : sideDocs) {
+            if (sideDoc.exists()) {
+                String eventId = sideDoc.getReference().getParent().getParent().getId();
+                result.get(eventId).put(sideDoc.getId(), sideDoc.get(ITEMS_FIELD));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves embedded sections of every legacy event into side documents, a page of events at a time.
+     *
+     * Each event is migrated in its own batch guarded by the update time it was read at, so an
+     * event edited mid-migration is counted as a conflict and left for the next run.
+     * {@code onEvent} receives each legacy event's id as it is done, with null or the conflict.
+     */
+    public MigrationResult migrate(CollectionReference events, int pageSize, BiConsumer<String, String> onEvent)
+            throws ExecutionException, InterruptedException {
+        int scanned = 0;
+        int migrated = 0;
+        int conflicts = 0;
+        QueryDocumentSnapshot last = null;
+
+        while (true) {
+            Query page = events.orderBy(FieldPath.documentId()).limit(pageSize);
+            if (last != null) {
+                page = page.startAfter(last);
+            }
+            List<QueryDocumentSnapshot> documents = page.get().get().getDocuments();
+            if (documents.isEmpty()) {
+                break;
+            }
+
+            Map<String, ApiFuture<List<WriteResult>>> commits = new LinkedHashMap<>();
+            for (QueryDocumentSnapshot document : documents) {
+                scanned++;
+                if (isExternal(document.getData())) {
+                    continue;
+                }
+                WriteBatch batch = firestore.batch();
+                Map<String, Object> sections = new HashMap<>();
+                for (Section section : Section.values()) {
+                    sections.put(section.getField(), document.get(section.getField()));
+                }
+                stage(batch, document.getReference(), sections);
+
+                Map<String, Object> updates = new HashMap<>();
+                for (Section section : Section.values()) {
+                    updates.put(section.getField(), FieldValue.delete());
+                }
+                updates.put(MARKER_FIELD, true);
+                batch.update(document.getReference(), updates, Precondition.updatedAt(document.getUpdateTime()));
+                commits.put(document.getId(), batch.commit());
+            }
+
+            for (Map.Entry<String, ApiFuture<List<WriteResult>>> commit : commits.entrySet()) {
+                try {
+                    commit.getValue().get();
+                    migrated++;
+                    onEvent.accept(commit.getKey(), null);
+                } catch (ExecutionException e) {
+                    conflicts++;
+                    logger.warn("Skipped event during section migration: {}", e.getCause().getMessage());
+                    onEvent.accept(commit.getKey(), e.getCause().getMessage());
+                }
+            }
+            last = documents.get(documents.size() - 1);
+        }
+
+        logger.info("Event section migration: scanned={}, migrated={}, conflicts={}", scanned, migrated, conflicts);
+        return new MigrationResult(scanned, migrated, conflicts);
+    }
+
+    public static Set<Section> all() {
+        return EnumSet.allOf(Section.class);
+    }
+
+    private static DocumentReference sectionRef(DocumentReference eventRef, Section section) {
+        return eventRef.collection(SUBCOLLECTION).document(section.getField());
+    }
+}
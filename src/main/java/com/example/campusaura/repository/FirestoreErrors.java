@@ -0,0 +1,43 @@
+package com.example.campusaura.repository;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.firestore.FirestoreException;
+import io.grpc.Status;
+
+/**
+ * Classifies errors returned by Firestore RPCs.
+ */
+public final class FirestoreErrors {
+
+    private FirestoreErrors() {
+    }
+
+    /**
+     * True if the error (or any cause) carries the given gRPC status code. Firestore surfaces
+     * server rejections either as FirestoreException with a Status or wrapped ApiExceptions.
+     */
+    public static boolean hasCode(Throwable error, Status.Code code) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof FirestoreException fe && fe.getStatus() != null
+                    && fe.getStatus().getCode() == code) {
+                return true;
+            }
+            if (t instanceof ApiException ae && ae.getStatusCode().getCode().name().equals(code.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if the error is a transient backend condition worth retrying (the same write may
+     * succeed later), as opposed to a rejection of the write itself.
+     */
+    public static boolean isTransient(Throwable error) {
+        return hasCode(error, Status.Code.UNAVAILABLE)
+                || hasCode(error, Status.Code.DEADLINE_EXCEEDED)
+                || hasCode(error, Status.Code.ABORTED)
+                || hasCode(error, Status.Code.RESOURCE_EXHAUSTED)
+                || hasCode(error, Status.Code.INTERNAL);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.campusaura.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.Timestamp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes the minimal set of top-level fields to send in an update().
+ *
+ * Values are compared in the form Firestore stores them: POJOs become maps, integral numbers
+ * become Long and floating point numbers Double, so a model object compares equal to the map
+ * that was read back for it.
+ */
+public final class FirestoreFieldDiff {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private FirestoreFieldDiff() {
+    }
+
+    /**
+     * Fields of {@code desired} whose stored form differs from {@code current}. Fields absent
+     * from {@code desired} are left alone.
+     */
+    public static Map<String, Object> diff(Map<String, Object> current, Map<String, Object> desired) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : desired.entrySet()) {
+            Object stored = toStoredForm(current.get(entry.getKey()));
+            if (!Objects.equals(stored, toStoredForm(entry.getValue()))) {
+                changes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changes;
+    }
+
+    static Object toStoredForm(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Timestamp) {
+            return value;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            map.forEach((k, v) -> result.put(String.valueOf(k), toStoredForm(v)));
+            return result;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> result = new ArrayList<>(list.size());
+            list.forEach(v -> result.add(toStoredForm(v)));
+            return result;
+        }
+        // Plain bean (TicketCategory, SellItem, ...): Firestore stores it by its getters
+        return toStoredForm(MAPPER.convertValue(value, Map.class));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.campusaura.repository;
+
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Precondition;
+import com.google.cloud.firestore.WriteBatch;
+import io.grpc.Status;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Mutations of documents that must already exist.
+ *
+ * Where possible the write itself carries the existence requirement (update() implies it) and a
+ * NOT_FOUND rejection is turned into the usual "not found" RuntimeException. Deletes have no
+ * such form in the public SDK (Precondition.exists() is package-private), so they read once and
+ * delete with a precondition on that read's update time.
+ */
+public final class FirestoreMutations {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** Result of {@link #updateAndMerge}: the document as it is after the update. */
+    public record MergedDocument(String id, Map<String, Object> data, DocumentSnapshot before) {}
+
+    private FirestoreMutations() {
+    }
+
+    /** Deletes the document, failing with {@code notFoundMessage} if it does not exist. */
+    public static void deleteExisting(DocumentReference ref, String notFoundMessage)
+            throws ExecutionException, InterruptedException {
+        deleteExisting(ref, notFoundMessage, batch -> { });
+    }
+
+    /**
+     * Deletes the document together with whatever {@code related} stages into the same commit
+     * (e.g. side documents), failing with {@code notFoundMessage} if it does not exist.
+     * Retried if another write slipped in between the read and the delete.
+     */
+    public static void deleteExisting(DocumentReference ref, String notFoundMessage, Consumer<WriteBatch> related)
+            throws ExecutionException, InterruptedException {
+        deleteChecked(ref, before -> {
+            if (!before.exists()) {
+                throw new RuntimeException(notFoundMessage);
+            }
+        }, related);
+    }
+
+    /**
+     * Reads the document, passes it to {@code check}, which throws to refuse the delete (missing,
+     * wrong owner, ...), and deletes it together with whatever {@code related} stages. One read and
+     * one commit: the delete is conditional on the checked read, and if the document changed in
+     * between it is read and checked again.
+     */
+    public static void deleteChecked(DocumentReference ref, Consumer<DocumentSnapshot> check,
+                                     Consumer<WriteBatch> related)
+            throws ExecutionException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            DocumentSnapshot before = ref.get().get();
+            check.accept(before);
+            WriteBatch batch = ref.getFirestore().batch();
+            related.accept(batch);
+            batch.delete(ref, Precondition.updatedAt(before.getUpdateTime()));
+            try {
+                batch.commit().get();
+                return;
+            } catch (ExecutionException e) {
+                if (attempt < MAX_ATTEMPTS && FirestoreErrors.hasCode(e, Status.Code.FAILED_PRECONDITION)) {
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /** Updates the document (update() implies it exists), failing with {@code notFoundMessage}. */
+    public static void updateExisting(DocumentReference ref, Map<String, Object> updates, String notFoundMessage)
+            throws ExecutionException, InterruptedException {
+        try {
+            ref.update(updates).get();
+        } catch (ExecutionException e) {
+            throw translate(e, notFoundMessage);
+        }
+    }
+
+    /**
+     * Updates the document and returns its merged contents without reading it back: the
+     * document is read once and written with a precondition on that read's update time, so
+     * read + updates is exactly what was stored. Retried if another write slipped in between.
+     */
+    public static MergedDocument updateAndMerge(DocumentReference ref, Map<String, Object> updates,
+                                                String notFoundMessage)
+            throws ExecutionException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            DocumentSnapshot before = ref.get().get();
+            if (!before.exists()) {
+                throw new RuntimeException(notFoundMessage);
+            }
+            try {
+                ref.update(updates, Precondition.updatedAt(before.getUpdateTime())).get();
+            } catch (ExecutionException e) {
+                if (attempt < MAX_ATTEMPTS && FirestoreErrors.hasCode(e, Status.Code.FAILED_PRECONDITION)) {
+                    continue;
+                }
+                throw translate(e, notFoundMessage);
+            }
+            Map<String, Object> merged = new HashMap<>(before.getData());
+            merged.putAll(updates);
+            return new MergedDocument(before.getId(), merged, before);
+        }
+    }
+
+    private static ExecutionException translate(ExecutionException e, String notFoundMessage) {
+        if (FirestoreErrors.hasCode(e, Status.Code.NOT_FOUND)) {
+            throw new RuntimeException(notFoundMessage);
+        }
+        return e;
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.campusaura.repository;
 
+import com.example.campusaura.cache.NegativeLookupCache;
 import com.example.campusaura.model.User;
 import com.example.campusaura.repository.UserRepository;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -17,6 +25,11 @@ import java.util.concurrent.ExecutionException;
  *
  * Collection: users
  * Document ID: Firebase UID (1:1 mapping)
+ *
+ * Saves go through a write-behind queue; reads see queued saves before they land.
+ * Code that writes users/{uid} directly calls {@link #awaitPendingSave} or
+ * {@link #discardPendingSave} first, so a queued full-document save cannot land after
+ * (and undo) its write.
  */
 @Repository
 public class FirestoreUserRepository implements UserRepository {
@@ -25,33 +38,98 @@ public class FirestoreUserRepository implements UserRepository {
     private static final String COLLECTION = "users";
 
     private final Firestore firestore;
+    private final DocumentReadCoalescer readCoalescer;
+    private final NegativeLookupCache negativeLookupCache;
+    private final WriteBehindQueue<User> writeQueue;
 
-    public FirestoreUserRepository(Firestore firestore) {
+    public FirestoreUserRepository(Firestore firestore, DocumentReadCoalescer readCoalescer,
+                                   NegativeLookupCache negativeLookupCache,
+                                   @Qualifier("userWriteQueue") WriteBehindQueue<User> writeQueue) {
         this.firestore = firestore;
+        this.readCoalescer = readCoalescer;
+        this.negativeLookupCache = negativeLookupCache;
+        this.writeQueue = writeQueue;
     }
 
     @Override
     public void save(User user) {
+        saveAsync(user).whenComplete((ignored, e) -> {
+            if (e != null) {
+                logger.error("Failed to save user: {}", user.getUid(), e);
+            } else {
+                logger.debug("User saved to Firestore: {}", user.getUid());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(User user) {
+        DocumentReference docRef = firestore.collection(COLLECTION).document(user.getUid());
+        negativeLookupCache.markPresent(COLLECTION, user.getUid());
+
+        // Queue a copy so later changes by the caller don't leak into the pending write
+        CompletableFuture<Void> queued = writeQueue.offer(docRef, user.toBuilder().build());
+        if (queued != null) {
+            return queued;
+        }
+
+        // Queue full: write directly
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        ApiFutures.addCallback(docRef.set(user), new ApiFutureCallback<WriteResult>() {
+            @Override
+            public void onSuccess(WriteResult result) {
+                written.complete(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                written.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return written;
+    }
+
+    @Override
+    public boolean create(User user) {
+        DocumentReference docRef = firestore.collection(COLLECTION).document(user.getUid());
         try {
-            firestore.collection(COLLECTION)
-                    .document(user.getUid())
-                    .set(user);
-
-            logger.debug("User saved to Firestore: {}", user.getUid());
-        } catch (Exception e) {
-            logger.error("Failed to save user: {}", user.getUid(), e);
-            throw new RuntimeException("Failed to save user", e);
+            docRef.create(user).get();
+            logger.debug("User created in Firestore: {}", user.getUid());
+            return true;
+        } catch (ExecutionException e) {
+            if (FirestoreErrors.hasCode(e, Status.Code.ALREADY_EXISTS)) {
+                logger.debug("User already exists in Firestore: {}", user.getUid());
+                return false;
+            }
+            logger.error("Failed to create user: {}", user.getUid(), e);
+            throw new RuntimeException("Failed to create user", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Thread interrupted while creating user: {}", user.getUid(), e);
+            throw new RuntimeException("Failed to create user", e);
+        } finally {
+            negativeLookupCache.markPresent(COLLECTION, user.getUid());
         }
     }
 
     @Override
     public Optional<User> findByUid(String uid) {
+        DocumentReference docRef = firestore.collection(COLLECTION).document(uid);
+        User queued = writeQueue.pending(docRef);
+        if (queued != null) {
+            return Optional.of(queued.toBuilder().build());
+        }
+        if (negativeLookupCache.isKnownMissing(COLLECTION, uid)) {
+            return Optional.empty();
+        }
+        long lookup = negativeLookupCache.beginLookup();
         try {
-            DocumentReference docRef = firestore.collection(COLLECTION).document(uid);
-            var snapshot = docRef.get().get();
+            // Parallel first-page API calls for the same user share one read
+            var snapshot = readCoalescer.get(docRef).get();
 
             if (!snapshot.exists()) {
                 logger.debug("User not found in Firestore: {}", uid);
+                negativeLookupCache.markMissing(COLLECTION, uid, lookup);
                 return Optional.empty();
             }
 
@@ -69,12 +147,28 @@ public class FirestoreUserRepository implements UserRepository {
         }
     }
 
+    @Override
+    public Optional<User> findStoredByUid(String uid) {
+        try {
+            var snapshot = firestore.collection(COLLECTION).document(uid).get().get();
+            return snapshot.exists() ? Optional.ofNullable(snapshot.toObject(User.class)) : Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Thread interrupted while fetching user: {}", uid, e);
+            throw new RuntimeException("Failed to fetch user", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to fetch user: {}", uid, e);
+            throw new RuntimeException("Failed to fetch user", e);
+        }
+    }
+
     @Override
     public boolean existsByUid(String uid) {
+        if (writeQueue.pending(firestore.collection(COLLECTION).document(uid)) != null) {
+            return true;
+        }
         try {
-            boolean exists = firestore.collection(COLLECTION)
-                    .document(uid)
-                    .get()
+            boolean exists = readCoalescer.get(firestore.collection(COLLECTION).document(uid))
                     .get()
                     .exists();
 
@@ -90,4 +184,14 @@ public class FirestoreUserRepository implements UserRepository {
             throw new RuntimeException("Failed to check user existence", e);
         }
     }
+
+    @Override
+    public void awaitPendingSave(String uid) {
+        writeQueue.whenWritten(firestore.collection(COLLECTION).document(uid)).join();
+    }
+
+    @Override
+    public void discardPendingSave(String uid) {
+        writeQueue.discard(firestore.collection(COLLECTION).document(uid)).join();
+    }
 }
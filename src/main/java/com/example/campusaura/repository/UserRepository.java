@@ -3,6 +3,7 @@ package com.example.campusaura.repository;
 import com.example.campusaura.model.User;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Repository interface for User entity operations.
@@ -16,15 +17,45 @@ public interface UserRepository {
      */
     void save(User user);
 
+    /**
+     * Saves a user in the background.
+     * The future completes once the document is written and fails if the write is lost.
+     */
+    CompletableFuture<Void> saveAsync(User user);
+
+    /**
+     * Creates the user document only if none exists yet (fail-if-exists write).
+     * Returns false if a document for the UID already existed.
+     */
+    boolean create(User user);
+
     /**
      * Finds a user by Firebase UID.
      * Returns Optional to avoid null handling.
      */
     Optional<User> findByUid(String uid);
 
+    /**
+     * Reads the stored user directly, bypassing shared in-flight reads and the negative
+     * lookup cache, both of which may predate a write made by another instance.
+     */
+    Optional<User> findStoredByUid(String uid);
+
     /**
      * Checks if a user exists by UID.
      * Useful for quick existence checks without fetching full data.
      */
     boolean existsByUid(String uid);
+
+    /**
+     * Waits until a queued save of this user has landed, so that a direct write to the
+     * document made afterwards is not reverted by it.
+     */
+    void awaitPendingSave(String uid);
+
+    /**
+     * Drops a queued save of this user that has not been sent yet and waits for one already
+     * in flight, so that deleting the document afterwards cannot be undone by it.
+     */
+    void discardPendingSave(String uid);
 }
@@ -0,0 +1,338 @@
+package com.example.campusaura.repository;
+
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer that group-commits document writes in WriteBatches.
+ *
+ * A single flusher thread commits buffered writes in order, as soon as {@code maxBatchSize}
+ * are pending or the oldest has waited {@code maxDelay}. Callers that acknowledge a write to
+ * a client wait on the future {@link #offer} returns, which completes once it is committed.
+ * A buffered write to a path that is already pending replaces it (last write wins) and
+ * shares its completion future. When the buffer is full, {@link #offer} returns null and
+ * the caller should write synchronously. {@link #close} flushes everything still buffered.
+ *
+ * Transient commit failures are retried with capped exponential backoff for up to
+ * {@code retryWindow}. A batch rejected outright (e.g. one invalid document) is retried one
+ * write at a time, so only the offending writes fail.
+ *
+ * @param <T> document data: a field map or a POJO Firestore can map
+ */
+public class WriteBehindQueue<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    /** Firestore rejects batches with more than 500 writes. */
+    private static final int MAX_FIRESTORE_BATCH = 500;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 2000;
+
+    private record PendingWrite<T>(DocumentReference ref, T data, long enqueuedAtNanos,
+                                   CompletableFuture<Void> completion) {}
+
+    private final String name;
+    private final Firestore firestore;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long retryWindowNanos;
+
+    // Guarded by "this". Insertion order is commit order.
+    private final LinkedHashMap<String, PendingWrite<T>> pending = new LinkedHashMap<>();
+    private final LinkedHashMap<String, PendingWrite<T>> inFlight = new LinkedHashMap<>();
+    private boolean closed;
+
+    private final Thread flusher;
+    private final Counter committed;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter coalesced;
+    private final DistributionSummary batchSizes;
+
+    public WriteBehindQueue(String name, Firestore firestore, int capacity, int maxBatchSize,
+                            Duration maxDelay, Duration retryWindow, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.firestore = firestore;
+        this.capacity = capacity;
+        this.maxBatchSize = Math.min(maxBatchSize, MAX_FIRESTORE_BATCH);
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retryWindowNanos = retryWindow.toNanos();
+        this.flusher = new Thread(this::flushLoop, "write-behind-" + name);
+        this.flusher.setDaemon(true);
+
+        Gauge.builder("campusaura.writebehind.pending", this, WriteBehindQueue::size)
+                .tag("queue", name)
+                .register(meterRegistry);
+        committed = writes(meterRegistry, "committed");
+        failed = writes(meterRegistry, "failed");
+        rejected = writes(meterRegistry, "rejected");
+        coalesced = writes(meterRegistry, "coalesced");
+        batchSizes = DistributionSummary.builder("campusaura.writebehind.batch.size")
+                .tag("queue", name)
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        flusher.start();
+    }
+
+    /**
+     * Buffers a full-document write ({@code set}). The returned future completes once the
+     * write (or a later one to the same document that replaced it) is committed, and fails
+     * if it was rejected or still failing at the end of the retry window. Returns null if the buffer is full or closed;
+     * nothing is buffered in that case.
+     */
+    public synchronized CompletableFuture<Void> offer(DocumentReference ref, T data) {
+        String path = ref.getPath();
+        PendingWrite<T> existing = pending.get(path);
+        if (existing != null) {
+            pending.put(path, new PendingWrite<>(ref, data, existing.enqueuedAtNanos(), existing.completion()));
+            coalesced.increment();
+            return existing.completion();
+        }
+        if (closed || pending.size() >= capacity) {
+            rejected.increment();
+            return null;
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        pending.put(path, new PendingWrite<>(ref, data, System.nanoTime(), completion));
+        notifyAll();
+        return completion;
+    }
+
+    /**
+     * Data of buffered or in-flight writes matching the filter, for read-your-writes.
+     * The newest version of each document wins.
+     */
+    public synchronized List<T> pending(Predicate<T> filter) {
+        Map<String, T> latest = new LinkedHashMap<>();
+        inFlight.forEach((path, write) -> latest.put(path, write.data()));
+        pending.forEach((path, write) -> latest.put(path, write.data()));
+        List<T> matches = new ArrayList<>();
+        for (T data : latest.values()) {
+            if (filter.test(data)) {
+                matches.add(data);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Pending data for one document, or null if nothing is buffered for it.
+     */
+    public synchronized T pending(DocumentReference ref) {
+        PendingWrite<T> write = pending.get(ref.getPath());
+        if (write == null) {
+            write = inFlight.get(ref.getPath());
+        }
+        return write != null ? write.data() : null;
+    }
+
+    /**
+     * Future that completes (successfully either way) once the buffered or in-flight write
+     * for this document, if any, has been committed or dropped. A direct write to the
+     * document made after that cannot be overwritten by the queued data.
+     */
+    public synchronized CompletableFuture<Void> whenWritten(DocumentReference ref) {
+        // Batches commit in order, so a buffered write lands after the one in flight
+        PendingWrite<T> write = pending.get(ref.getPath());
+        if (write == null) {
+            write = inFlight.get(ref.getPath());
+        }
+        if (write == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return write.completion().handle((ignored, e) -> null);
+    }
+
+    /**
+     * Drops the buffered write for this document (its future is cancelled) and returns
+     * {@link #whenWritten} for a write already in flight, e.g. before deleting the document.
+     */
+    public synchronized CompletableFuture<Void> discard(DocumentReference ref) {
+        PendingWrite<T> write = pending.remove(ref.getPath());
+        if (write != null) {
+            write.completion().cancel(false);
+        }
+        return whenWritten(ref);
+    }
+
+    public synchronized int size() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * Stops accepting writes and blocks until everything buffered has been committed.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        if (flusher.isAlive()) {
+            flusher.join();
+        } else {
+            // Never started (e.g. in tests): drain on the caller's thread
+            List<PendingWrite<T>> batch;
+            while (!(batch = takeBatch()).isEmpty()) {
+                flush(batch);
+            }
+        }
+        logger.info("Write-behind queue '{}' drained", name);
+    }
+
+    private void flushLoop() {
+        try {
+            while (true) {
+                List<PendingWrite<T>> batch = takeBatch();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Write-behind queue '{}' interrupted with {} writes pending", name, size());
+        }
+    }
+
+    /**
+     * Waits until a batch is due and moves it to in-flight. Returns an empty list only
+     * once the queue is closed and fully drained.
+     */
+    private synchronized List<PendingWrite<T>> takeBatch() throws InterruptedException {
+        while (true) {
+            if (pending.isEmpty()) {
+                if (closed) {
+                    return List.of();
+                }
+                wait();
+                continue;
+            }
+            long waited = System.nanoTime() - pending.values().iterator().next().enqueuedAtNanos();
+            if (closed || pending.size() >= maxBatchSize || waited >= maxDelayNanos) {
+                break;
+            }
+            long remaining = maxDelayNanos - waited;
+            wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+
+        List<PendingWrite<T>> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        Iterator<Map.Entry<String, PendingWrite<T>>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < maxBatchSize) {
+            Map.Entry<String, PendingWrite<T>> entry = it.next();
+            it.remove();
+            inFlight.put(entry.getKey(), entry.getValue());
+            batch.add(entry.getValue());
+        }
+        return batch;
+    }
+
+    /**
+     * Commits a batch and completes its futures. Never throws anything but
+     * InterruptedException, so one bad batch cannot stop the flusher.
+     */
+    private void flush(List<PendingWrite<T>> batch) throws InterruptedException {
+        try {
+            commit(batch);
+        } catch (RuntimeException e) {
+            logger.error("Write-behind queue '{}' failed to commit {} writes", name, batch.size(), e);
+            finish(batch, e);
+        }
+    }
+
+    private void commit(List<PendingWrite<T>> batch) throws InterruptedException {
+        batchSizes.record(batch.size());
+        Throwable failure = commitWithRetry(batch);
+        if (failure == null || batch.size() == 1 || FirestoreErrors.isTransient(failure)) {
+            if (failure != null) {
+                logger.error("Write-behind queue '{}' dropped {} writes", name, batch.size(), failure);
+            }
+            finish(batch, failure);
+            return;
+        }
+
+        // Rejected outright: find the offending writes by committing one at a time
+        logger.warn("Write-behind queue '{}' batch of {} rejected, retrying writes individually: {}",
+                name, batch.size(), failure.getMessage());
+        for (PendingWrite<T> write : batch) {
+            List<PendingWrite<T>> single = List.of(write);
+            Throwable error = commitWithRetry(single);
+            if (error != null) {
+                logger.error("Write-behind queue '{}' dropped write to {}", name, write.ref().getPath(), error);
+            }
+            finish(single, error);
+        }
+    }
+
+    /**
+     * Commits the writes in one WriteBatch, retrying transient failures until the retry
+     * window runs out. Returns the last failure, or null once committed.
+     */
+    private Throwable commitWithRetry(List<PendingWrite<T>> writes) throws InterruptedException {
+        long deadline = System.nanoTime() + retryWindowNanos;
+        for (int attempt = 1; ; attempt++) {
+            WriteBatch writeBatch = firestore.batch();
+            for (PendingWrite<T> write : writes) {
+                writeBatch.set(write.ref(), write.data());
+            }
+            try {
+                writeBatch.commit().get();
+                return null;
+            } catch (ExecutionException e) {
+                long backoffMillis = Math.min(RETRY_BACKOFF_MILLIS << Math.min(attempt - 1, 10),
+                        MAX_RETRY_BACKOFF_MILLIS);
+                if (!FirestoreErrors.isTransient(e.getCause())
+                        || System.nanoTime() + backoffMillis * 1_000_000 > deadline) {
+                    return e.getCause();
+                }
+                logger.warn("Write-behind queue '{}' commit failed (attempt {}), retrying: {}",
+                        name, attempt, e.getCause().getMessage());
+                Thread.sleep(backoffMillis);
+            }
+        }
+    }
+
+    private void finish(List<PendingWrite<T>> writes, Throwable failure) {
+        synchronized (this) {
+            for (PendingWrite<T> write : writes) {
+                inFlight.remove(write.ref().getPath());
+            }
+        }
+        for (PendingWrite<T> write : writes) {
+            if (failure == null) {
+                if (write.completion().complete(null)) {
+                    committed.increment();
+                }
+            } else if (write.completion().completeExceptionally(failure)) {
+                failed.increment();
+            }
+        }
+    }
+
+    private Counter writes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("campusaura.writebehind.writes")
+                .tag("queue", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.campusaura.resilience;
+
+/**
+ * A blocking call to a remote dependency that may throw a checked exception of type E.
+ */
+@FunctionalInterface
+public interface DownstreamCall<T, E extends Exception> {
+    T call() throws E;
+}
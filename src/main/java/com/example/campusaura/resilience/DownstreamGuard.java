@@ -0,0 +1,186 @@
+package com.example.campusaura.resilience;
+
+import com.example.campusaura.observability.ContextPropagation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Isolates calls to one remote dependency (Stripe, Firebase Auth, ...).
+ *
+ * PATTERN:
+ * - Bulkhead: calls run on a dedicated, bounded thread pool; when it and its queue are
+ *   saturated new calls are rejected immediately instead of piling up on Tomcat threads.
+ *   Capacity is tracked with a semaphore released as the call finishes, so a worker that
+ *   has completed but not yet returned to the pool never causes a spurious rejection.
+ * - Timeout: the request thread waits at most {@code timeout}, then the call is cancelled
+ * - Circuit breaker: repeated failures short-circuit further calls until a probe succeeds
+ *
+ * Exceptions thrown by the call itself are rethrown unchanged. Only exceptions matching
+ * {@code failurePredicate} count against the circuit (a rejected card or an expired token
+ * says nothing about the health of the downstream).
+ */
+public class DownstreamGuard implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamGuard.class);
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Predicate<Throwable> failurePredicate;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamGuard(String name, int maxConcurrentCalls, int queueCapacity, Duration timeout,
+                           CircuitBreaker circuitBreaker, Predicate<Throwable> failurePredicate,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.circuitBreaker = circuitBreaker;
+        this.failurePredicate = failurePredicate;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrentCalls, maxConcurrentCalls,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                namedDaemonThreads(name));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.permits = new Semaphore(maxConcurrentCalls + queueCapacity);
+
+        Gauge.builder("campusaura.downstream.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("downstream", name)
+                .register(meterRegistry);
+        Gauge.builder("campusaura.downstream.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("downstream", name)
+                .register(meterRegistry);
+        Gauge.builder("campusaura.downstream.bulkhead.queued", executor, e -> e.getQueue().size())
+                .tag("downstream", name)
+                .register(meterRegistry);
+        // Pool gauges only (executor.queued, executor.active, ...), alongside the other executors
+        new ExecutorServiceMetrics(executor, "downstream-" + name, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Runs the call under bulkhead, timeout and circuit breaker protection.
+     *
+     * @throws DownstreamUnavailableException if the call was short-circuited, rejected or timed out
+     * @throws E whatever the call itself threw
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(DownstreamCall<T, E> call) throws E {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            record("short_circuited", 0);
+            throw new DownstreamUnavailableException(name, DownstreamUnavailableException.Reason.CIRCUIT_OPEN, null);
+        }
+
+        if (!permits.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            record("rejected", 0);
+            throw new DownstreamUnavailableException(name, DownstreamUnavailableException.Reason.BULKHEAD_FULL, null);
+        }
+
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(ContextPropagation.wrap(() -> {
+                try {
+                    return call.call();
+                } finally {
+                    permits.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // Only after close()
+            permits.release();
+            circuitBreaker.onIgnored();
+            throw new DownstreamUnavailableException(name, DownstreamUnavailableException.Reason.BULKHEAD_FULL, e);
+        }
+
+        try {
+            T result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            record("success", System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException e) {
+            cancel(future);
+            circuitBreaker.onFailure();
+            record("timeout", System.nanoTime() - start);
+            logger.warn("Call to {} timed out after {} ms", name, timeout.toMillis());
+            throw new DownstreamUnavailableException(name, DownstreamUnavailableException.Reason.TIMEOUT, e);
+        } catch (InterruptedException e) {
+            cancel(future);
+            circuitBreaker.onIgnored();
+            Thread.currentThread().interrupt();
+            throw new DownstreamUnavailableException(name, DownstreamUnavailableException.Reason.TIMEOUT, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (failurePredicate.test(cause)) {
+                circuitBreaker.onFailure();
+                record("failure", System.nanoTime() - start);
+            } else {
+                circuitBreaker.onIgnored();
+                record("client_error", System.nanoTime() - start);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            // DownstreamCall only declares E, so any other checked cause is of type E
+            throw (E) cause;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Cancels a call; a call that never left the queue releases its permit here since its
+     * finally block will never run.
+     */
+    private void cancel(Future<?> future) {
+        if (executor.remove((Runnable) future)) {
+            permits.release();
+        }
+        future.cancel(true);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void record(String outcome, long durationNanos) {
+        Timer.builder("campusaura.downstream.calls")
+                .tag("downstream", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static ThreadFactory namedDaemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
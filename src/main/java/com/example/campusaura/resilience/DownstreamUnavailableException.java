@@ -0,0 +1,29 @@
+package com.example.campusaura.resilience;
+
+/**
+ * Thrown when a downstream call is not attempted or not completed:
+ * the circuit is open, the bulkhead is full, the call exceeded its timeout, or data
+ * prefetched from the downstream (e.g. signing keys) has not been loaded yet.
+ * Controllers map this to 503 Service Unavailable.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    public enum Reason { CIRCUIT_OPEN, BULKHEAD_FULL, TIMEOUT, NOT_READY }
+
+    private final String downstream;
+    private final Reason reason;
+
+    public DownstreamUnavailableException(String downstream, Reason reason, Throwable cause) {
+        super(downstream + " unavailable (" + reason.name().toLowerCase() + ")", cause);
+        this.downstream = downstream;
+        this.reason = reason;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
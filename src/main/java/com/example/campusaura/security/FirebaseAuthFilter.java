@@ -1,9 +1,13 @@
 package com.example.campusaura.security;
 
 import com.example.campusaura.model.User;
+import com.example.campusaura.resilience.DownstreamUnavailableException;
 import com.example.campusaura.service.UserService;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,18 +29,29 @@ import java.util.List;
  * Firebase Authentication Filter.
  *
  * PATTERN:
- * - Verifies Firebase ID token
- * - Fetches user role from Firestore (single source of truth)
- * - Creates or syncs user in database
+ * - Verifies Firebase ID token (via TokenVerifier, isolated behind a bulkhead)
+ * - Takes the role from the token's custom claim (see RoleClaims); an ADMIN or COORDINATOR
+ *   claim is only trusted if the token was issued after the user's last session revocation
+ * - Without the claim: fetches the role from Firestore (single source of truth),
+ *   creating the user on first login, and publishes the claim for later tokens
  */
 @Component
 public class FirebaseAuthFilter extends OncePerRequestFilter {
 
   private static final Logger logger = LoggerFactory.getLogger(FirebaseAuthFilter.class);
   private final UserService userService;
+  private final TokenVerifier tokenVerifier;
+  private final RoleClaims roleClaims;
+  private final TokenRevocations tokenRevocations;
+  private final ObservationRegistry observationRegistry;
 
-  public FirebaseAuthFilter(UserService userService) {
+  public FirebaseAuthFilter(UserService userService, TokenVerifier tokenVerifier, RoleClaims roleClaims,
+                            TokenRevocations tokenRevocations, ObservationRegistry observationRegistry) {
     this.userService = userService;
+    this.tokenVerifier = tokenVerifier;
+    this.roleClaims = roleClaims;
+    this.tokenRevocations = tokenRevocations;
+    this.observationRegistry = observationRegistry;
   }
 
   @Override
@@ -59,21 +74,36 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
       String token = authHeader.substring(7);
 
       try {
-        // Verify Firebase token
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
+        // Verify Firebase token (traced: the SDK verifier may fetch signing keys inline)
+        VerifiedToken decodedToken = Observation.createNotStarted("campusaura.auth.verify-token", observationRegistry)
+            .lowCardinalityKeyValue("verifier", tokenVerifier.getClass().getSimpleName())
+            .observeChecked(() -> tokenVerifier.verify(token));
         logger.debug("✅ Token verified for UID: {}", decodedToken.getUid());
 
-        // Get or create user in Firestore (single source of truth for roles)
-        User user = userService.getOrCreateUser(
-            decodedToken.getUid(),
-            decodedToken.getEmail(),
-            decodedToken.getName()
-        );
+        // Role claim present: the user exists and no Firestore read is needed
+        String role = RoleClaims.roleOf(decodedToken);
+        if (role != null) {
+          // A demoted or deleted user keeps the old claim until the token expires
+          if (RoleClaims.isPrivileged(role) && tokenRevocations.isRevoked(decodedToken)) {
+            throw new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, "Firebase ID token has been revoked",
+                null, null, AuthErrorCode.REVOKED_ID_TOKEN);
+          }
+          logger.debug("User role from token claim: {}", role);
+        } else {
+          // Get or create user in Firestore (single source of truth for roles)
+          User user = userService.getOrCreateUser(
+              decodedToken.getUid(),
+              decodedToken.getEmail(),
+              decodedToken.getName()
+          );
+
+          // Use role from Firestore (same case as the claim, e.g. "admin" from the admin scripts)
+          String knownRole = RoleClaims.normalize(user.getRole());
+          role = knownRole != null ? knownRole : user.getRole();
+          logger.debug("User role from Firestore: {}", role);
+          roleClaims.backfill(decodedToken.getUid(), role);
+        }
 
-        // Use role from Firestore
-        String role = user.getRole();
-        logger.debug("User role from Firestore: {}", role);
-        
         List<SimpleGrantedAuthority> authorities = Collections.singletonList(
             new SimpleGrantedAuthority("ROLE_" + role)
         );
@@ -95,6 +125,12 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
 
         logger.debug("Authenticated user: {} with role: {}", decodedToken.getUid(), role);
 
+      } catch (DownstreamUnavailableException e) {
+        logger.error("❌ Token verification unavailable: {}", e.getMessage());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Service Unavailable\",\"message\":\"Authentication service temporarily unavailable\"}");
+        return;
       } catch (Exception e) {
         logger.error("❌ Token verification failed: {}", e.getMessage());
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -0,0 +1,50 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.resilience.DownstreamGuard;
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * TokenVerifier backed by the Firebase Admin SDK.
+ * Verification runs inside the Firebase Auth bulkhead, so a slow public-key fetch
+ * cannot tie up request threads. Default verifier (firebase.auth.verifier=sdk).
+ */
+@Component
+@ConditionalOnProperty(name = "firebase.auth.verifier", havingValue = "sdk", matchIfMissing = true)
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    private final DownstreamGuard firebaseAuthGuard;
+
+    public FirebaseTokenVerifier(@Qualifier("firebaseAuthGuard") DownstreamGuard firebaseAuthGuard) {
+        this.firebaseAuthGuard = firebaseAuthGuard;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        FirebaseToken token = firebaseAuthGuard.execute(() -> FirebaseAuth.getInstance().verifyIdToken(idToken));
+        return new VerifiedToken(token.getUid(), token.getEmail(), token.getName(), token.getClaims());
+    }
+
+    /**
+     * Only infrastructure failures count against the circuit; bad tokens are the caller's problem.
+     */
+    public static boolean isDownstreamFailure(Throwable error) {
+        if (error instanceof FirebaseAuthException) {
+            FirebaseAuthException e = (FirebaseAuthException) error;
+            if (e.getAuthErrorCode() == AuthErrorCode.CERTIFICATE_FETCH_FAILED) {
+                return true;
+            }
+            ErrorCode code = e.getErrorCode();
+            return code == ErrorCode.UNAVAILABLE || code == ErrorCode.INTERNAL
+                    || code == ErrorCode.DEADLINE_EXCEEDED || code == ErrorCode.UNKNOWN;
+        }
+        // IllegalArgumentException etc. mean a malformed token
+        return !(error instanceof IllegalArgumentException);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.campusaura.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory copy of Google's ID-token signing keys (JWKS), refreshed in the background.
+ *
+ * The next refresh is scheduled from the response's Cache-Control max-age, a little before
+ * it expires. A failed refresh keeps the current keys and retries with backoff. Lookups
+ * never block: an unknown key id only schedules an early refresh.
+ */
+public class GooglePublicKeys implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GooglePublicKeys.class);
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    private static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(15);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean earlyRefreshScheduled = new AtomicBoolean();
+    private final Duration minRefreshInterval;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshNanos;
+    // Scheduler thread only
+    private int consecutiveFailures;
+    private ScheduledFuture<?> nextRefresh;
+
+    public GooglePublicKeys(URI jwksUri, Duration connectTimeout) {
+        this(jwksUri, connectTimeout, DEFAULT_MIN_REFRESH_INTERVAL);
+    }
+
+    GooglePublicKeys(URI jwksUri, Duration connectTimeout, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "firebase-keys-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the keys once (so the first requests find them) and starts the refresh schedule.
+     */
+    public void start() {
+        scheduler.execute(this::refresh);
+    }
+
+    /**
+     * Key for the given id, or null if unknown.
+     */
+    public PublicKey get(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null && !keys.isEmpty()) {
+            // Keys rotated ahead of our schedule: fetch early, but not more than once per interval
+            long sinceLast = System.nanoTime() - lastRefreshNanos;
+            if (sinceLast >= minRefreshInterval.toNanos() && earlyRefreshScheduled.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    earlyRefreshScheduled.set(false);
+                    refresh();
+                });
+            }
+        }
+        return key;
+    }
+
+    public boolean isLoaded() {
+        return !keys.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs on the scheduler thread only.
+     */
+    private void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(jwksUri).timeout(Duration.ofSeconds(10)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Key server returned HTTP " + response.statusCode());
+            }
+            keys = parse(response.body());
+            consecutiveFailures = 0;
+
+            Duration maxAge = response.headers().firstValue("Cache-Control")
+                    .map(MAX_AGE::matcher)
+                    .filter(Matcher::find)
+                    .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+                    .orElse(DEFAULT_MAX_AGE);
+            // Refresh at 90% of max-age so the cached set never goes stale
+            Duration next = maxAge.multipliedBy(9).dividedBy(10);
+            schedule(next.compareTo(minRefreshInterval) > 0 ? next : minRefreshInterval);
+            logger.info("Loaded {} Firebase signing keys, next refresh in {}s", keys.size(), next.toSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            consecutiveFailures++;
+            Duration retry = RETRY_DELAY.multipliedBy(1L << Math.min(consecutiveFailures - 1, 4));
+            retry = retry.compareTo(MAX_RETRY_DELAY) < 0 ? retry : MAX_RETRY_DELAY;
+            logger.warn("Failed to refresh Firebase signing keys ({} kept), retrying in {}s: {}",
+                    keys.size(), retry.toSeconds(), e.getMessage());
+            schedule(retry);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        if (nextRefresh != null) {
+            // An early refresh replaces the one already scheduled
+            nextRefresh.cancel(false);
+        }
+        if (!scheduler.isShutdown()) {
+            nextRefresh = scheduler.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Map<String, PublicKey> parse(String body) throws IOException, GeneralSecurityException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory rsa = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            parsed.put(jwk.path("kid").asText(), rsa.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        if (parsed.isEmpty()) {
+            throw new IOException("Key server returned no RSA keys");
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.resilience.DownstreamUnavailableException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * TokenVerifier that checks Firebase ID tokens locally (firebase.auth.verifier=offline).
+ *
+ * Signing keys are prefetched and rotated in the background by {@link GooglePublicKeys},
+ * so verification is pure CPU: RS256 signature plus the claims checks Firebase documents
+ * (exp, iat, aud, iss, sub). Like the SDK's verifyIdToken, revocation is not checked here;
+ * FirebaseAuthFilter checks it for ADMIN and COORDINATOR tokens (see TokenRevocations).
+ */
+@Component
+@ConditionalOnProperty(name = "firebase.auth.verifier", havingValue = "offline")
+public class OfflineTokenVerifier implements TokenVerifier, AutoCloseable {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+    private static final long CLOCK_SKEW_SECONDS = 300;
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final GooglePublicKeys publicKeys;
+    private final String projectId;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Signature instances are not thread-safe but are cheap to re-initialize per token
+    private final ThreadLocal<Signature> signatures = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance("SHA256withRSA");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @Autowired
+    public OfflineTokenVerifier(
+            @Value("${firebase.project-id}") String projectId,
+            @Value("${firebase.auth.jwks-url:https://www.googleapis.com/service_accounts/v1/jwk/securetoken@system.gserviceaccount.com}") URI jwksUrl,
+            @Value("${firebase.auth.jwks-connect-timeout:5s}") Duration connectTimeout) {
+        this(new GooglePublicKeys(jwksUrl, connectTimeout), projectId, Clock.systemUTC());
+        publicKeys.start();
+    }
+
+    OfflineTokenVerifier(GooglePublicKeys publicKeys, String projectId, Clock clock) {
+        this.publicKeys = publicKeys;
+        this.projectId = projectId;
+        this.clock = clock;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        String[] parts = idToken != null ? idToken.split("\\.", -1) : new String[0];
+        if (parts.length != 3) {
+            throw invalid("Token is not a JWT");
+        }
+        Map<String, Object> header = decode(parts[0]);
+        Map<String, Object> claims = decode(parts[1]);
+
+        if (!"RS256".equals(header.get("alg"))) {
+            throw invalid("Unexpected signing algorithm: " + header.get("alg"));
+        }
+        if (!publicKeys.isLoaded()) {
+            throw new DownstreamUnavailableException("firebase-auth-keys",
+                    DownstreamUnavailableException.Reason.NOT_READY, null);
+        }
+        PublicKey key = publicKeys.get(String.valueOf(header.get("kid")));
+        if (key == null) {
+            throw invalid("Unknown signing key id");
+        }
+        if (!signatureMatches(key, parts)) {
+            throw invalid("Invalid token signature");
+        }
+        checkClaims(claims);
+
+        return new VerifiedToken((String) claims.get("sub"), (String) claims.get("email"),
+                (String) claims.get("name"), claims);
+    }
+
+    @Override
+    public void close() {
+        publicKeys.close();
+    }
+
+    private boolean signatureMatches(PublicKey key, String[] parts) throws FirebaseAuthException {
+        try {
+            Signature signature = signatures.get();
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            return signature.verify(Base64.getUrlDecoder().decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw invalid("Invalid token signature");
+        }
+    }
+
+    private void checkClaims(Map<String, Object> claims) throws FirebaseAuthException {
+        long now = clock.instant().getEpochSecond();
+        if (!(claims.get("exp") instanceof Number exp) || exp.longValue() + CLOCK_SKEW_SECONDS < now) {
+            throw new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, "Firebase ID token has expired",
+                    null, null, AuthErrorCode.EXPIRED_ID_TOKEN);
+        }
+        if (!(claims.get("iat") instanceof Number iat) || iat.longValue() - CLOCK_SKEW_SECONDS > now) {
+            throw invalid("Token issued in the future");
+        }
+        if (claims.get("auth_time") instanceof Number authTime && authTime.longValue() - CLOCK_SKEW_SECONDS > now) {
+            throw invalid("Token authenticated in the future");
+        }
+        if (!projectId.equals(claims.get("aud"))) {
+            throw invalid("Token has incorrect audience");
+        }
+        if (!(ISSUER_PREFIX + projectId).equals(claims.get("iss"))) {
+            throw invalid("Token has incorrect issuer");
+        }
+        if (!(claims.get("sub") instanceof String sub) || sub.isEmpty() || sub.length() > 128) {
+            throw invalid("Token has invalid subject");
+        }
+    }
+
+    private Map<String, Object> decode(String part) throws FirebaseAuthException {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(part), JSON_OBJECT);
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalid("Malformed token");
+        }
+    }
+
+    private static FirebaseAuthException invalid(String message) {
+        return new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, message, null, null,
+                AuthErrorCode.INVALID_ID_TOKEN);
+    }
+}
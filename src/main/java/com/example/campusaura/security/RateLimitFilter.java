@@ -0,0 +1,100 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.ratelimit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Token-bucket rate limiting, run right after FirebaseAuthFilter so the UID is known.
+ *
+ * Each route costs roughly what it costs in Firestore reads: full collection scans are
+ * expensive, cached or single-document reads are cheap. First matching rule wins.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+  record RouteCost(String method, String pattern, int cost) {}
+
+  private static final List<RouteCost> ROUTE_COSTS = List.of(
+      // Full scans of the events collection
+      new RouteCost("GET", "/api/events/public", 20),
+      new RouteCost("GET", "/api/events/public/latest", 5),
+      new RouteCost("GET", "/api/events/public/*", 1),
+      new RouteCost("GET", "/api/events/landing-page", 5),
+      new RouteCost("GET", "/api/events/latest", 5),
+      // Unauthenticated lookups against users/coordinators (also enumeration targets)
+      new RouteCost(null, "/api/auth/validate-email", 10),
+      new RouteCost(null, "/api/auth/validate-registration", 10),
+      // Feedback reads the event and writes a document
+      new RouteCost("POST", "/api/events/*/feedback", 5),
+      new RouteCost("GET", "/api/events/public/*/feedback", 5)
+  );
+  private static final int DEFAULT_COST = 1;
+
+  private final RateLimiter rateLimiter;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  public RateLimitFilter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+      throws ServletException, IOException {
+
+    if ("OPTIONS".equals(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    RouteCost route = resolve(request.getMethod(), request.getRequestURI());
+    String routeTag = route != null ? route.pattern() : "other";
+    int cost = route != null ? route.cost() : DEFAULT_COST;
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    RateLimiter.Decision decision;
+    if (authentication != null && authentication.getPrincipal() instanceof String uid) {
+      decision = rateLimiter.tryAcquire(RateLimiter.ClientType.USER, uid, cost, routeTag);
+    } else {
+      decision = rateLimiter.tryAcquire(RateLimiter.ClientType.ANONYMOUS, request.getRemoteAddr(), cost, routeTag);
+    }
+
+    response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+    if (!decision.allowed()) {
+      long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+      logger.debug("Rate limited {} {} (retry after {}s)", request.getMethod(), request.getRequestURI(), retryAfterSeconds);
+      response.setStatus(429);
+      response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+      response.setContentType("application/json");
+      response.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry after " + retryAfterSeconds + " seconds\"}");
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  RouteCost resolve(String method, String path) {
+    for (RouteCost route : ROUTE_COSTS) {
+      if ((route.method() == null || route.method().equals(method)) && pathMatcher.match(route.pattern(), path)) {
+        return route;
+      }
+    }
+    return null;
+  }
+}
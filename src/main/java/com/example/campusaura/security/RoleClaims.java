@@ -0,0 +1,187 @@
+package com.example.campusaura.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mirrors each user's role into a Firebase custom claim, so FirebaseAuthFilter can
+ * authorize from the ID token alone instead of reading users/{uid} on every request.
+ *
+ * Firestore stays the source of truth. A changed claim reaches the client with its next
+ * ID token (at most an hour later, or immediately after a forced token refresh).
+ *
+ * Other custom claims of the user (e.g. {@code admin: true} set by scripts/set-admin.js) are
+ * kept: the role is merged into the existing claims. Roles are compared case-insensitively
+ * and always published upper-case, as in {@link Roles}.
+ *
+ * Losing ADMIN or COORDINATOR, or being deleted, must not wait for the old token to expire:
+ * those changes revoke the user's sessions once the claim is updated (see TokenRevocations).
+ */
+@Component
+public class RoleClaims {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleClaims.class);
+
+    public static final String CLAIM = "role";
+    private static final Set<String> KNOWN_ROLES = Set.of(
+            Roles.ADMIN, Roles.STUDENT, Roles.COORDINATOR, Roles.EXTERNAL_USER);
+    private static final Set<String> PRIVILEGED_ROLES = Set.of(Roles.ADMIN, Roles.COORDINATOR);
+
+    // Last role published by this instance per UID: a token issued before the claim was set
+    // keeps arriving without it for up to an hour, and must not trigger a backfill each time
+    private final Cache<String, String> published = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(100_000)
+            .build();
+    private final TokenRevocations revocations;
+    private final Counter updated;
+    private final Counter failed;
+
+    public RoleClaims(TokenRevocations revocations, MeterRegistry meterRegistry) {
+        this.revocations = revocations;
+        updated = Counter.builder("campusaura.auth.role-claims").tag("result", "updated").register(meterRegistry);
+        failed = Counter.builder("campusaura.auth.role-claims").tag("result", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Role carried by the token, or null if absent or not a known role.
+     */
+    public static String roleOf(VerifiedToken token) {
+        Object role = token.getClaims().get(CLAIM);
+        return role instanceof String ? normalize((String) role) : null;
+    }
+
+    /**
+     * Upper-case form of a known role (e.g. "admin" from the admin scripts), or null.
+     */
+    public static String normalize(String role) {
+        if (role == null) {
+            return null;
+        }
+        String upper = role.toUpperCase(Locale.ROOT);
+        return KNOWN_ROLES.contains(upper) ? upper : null;
+    }
+
+    /**
+     * Whether the role grants more than a student account (ADMIN or COORDINATOR).
+     */
+    public static boolean isPrivileged(String role) {
+        return PRIVILEGED_ROLES.contains(normalize(role));
+    }
+
+    /**
+     * Sets the role claim in the background after the role was assigned or changed.
+     * Always written, whatever this instance published before.
+     */
+    public void publish(String uid, String role) {
+        String normalized = normalize(role);
+        if (normalized != null) {
+            write(uid, normalized, false);
+        }
+    }
+
+    /**
+     * Publishes a changed role. If the user lost ADMIN or COORDINATOR, their sessions are
+     * revoked once the new claim is set, so tokens carrying the old role stop working.
+     */
+    public void publishChange(String uid, String previousRole, String newRole) {
+        String normalized = normalize(newRole);
+        boolean demoted = isPrivileged(previousRole) && !normalize(previousRole).equals(normalized);
+        if (normalized != null) {
+            write(uid, normalized, demoted);
+        } else if (demoted) {
+            clear(uid);
+        }
+    }
+
+    /**
+     * Removes the role claim and revokes the user's sessions, e.g. after the user was deleted.
+     */
+    public void clear(String uid) {
+        write(uid, null, true);
+    }
+
+    /**
+     * Sets a missing role claim in the background for a token that arrived without one.
+     * Skipped if this instance already published the same role recently. Failures are
+     * logged; the filter keeps falling back to Firestore until the claim is present.
+     */
+    public void backfill(String uid, String role) {
+        String normalized = normalize(role);
+        if (normalized != null && !normalized.equals(published.getIfPresent(uid))) {
+            write(uid, normalized, false);
+        }
+    }
+
+    /**
+     * Merges the role into the user's claims (removes it if null), then revokes the user's
+     * sessions if asked. Revoking only after the claim is set keeps a token refreshed in between
+     * from picking up the old role with a new issue time.
+     */
+    private void write(String uid, String role, boolean revokeSessions) {
+        if (FirebaseApp.getApps().isEmpty()) {
+            logger.debug("Firebase not initialized, skipping role claim for {}", uid);
+            if (revokeSessions) {
+                revocations.revoke(uid);
+            }
+            return;
+        }
+        if (role != null) {
+            published.put(uid, role);
+        } else {
+            published.invalidate(uid);
+        }
+        FirebaseAuth auth = FirebaseAuth.getInstance();
+        // setCustomUserClaims replaces all claims: merge the role into the current ones
+        ApiFutures.addCallback(
+                ApiFutures.transformAsync(auth.getUserAsync(uid), user -> {
+                    Map<String, Object> claims = new HashMap<>(user.getCustomClaims());
+                    if (role != null) {
+                        claims.put(CLAIM, role);
+                    } else {
+                        claims.remove(CLAIM);
+                    }
+                    return auth.setCustomUserClaimsAsync(uid, claims);
+                }, MoreExecutors.directExecutor()),
+                new ApiFutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                        updated.increment();
+                        logger.debug("Role claim {} set for user {}", role, uid);
+                        if (revokeSessions) {
+                            revocations.revoke(uid);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        if (role != null) {
+                            published.asMap().remove(uid, role);
+                        }
+                        failed.increment();
+                        logger.warn("Failed to set role claim for user {}: {}", uid, t.getMessage());
+                        if (revokeSessions) {
+                            // Still cut off the current tokens; the claim is fixed by the next role change
+                            revocations.revoke(uid);
+                        }
+                    }
+                },
+                MoreExecutors.directExecutor());
+    }
+}
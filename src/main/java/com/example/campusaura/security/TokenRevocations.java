@@ -0,0 +1,124 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.resilience.DownstreamGuard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Revokes a user's sessions and recognises ID tokens issued before the revocation.
+ *
+ * A role claim stays in the user's ID token until it expires (up to an hour), so after a
+ * demotion or deletion the old role would keep authorizing requests. {@link #revoke} revokes the
+ * refresh tokens in Firebase and records the time locally; {@link #isRevoked} compares a token's
+ * issue time with the user's tokensValidAfter, as verifyIdToken(token, true) does, but from a
+ * short-lived cache instead of one Admin SDK call per request. Other instances see a revocation
+ * within {@code auth.revocation.check-interval}.
+ */
+@Component
+public class TokenRevocations {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocations.class);
+
+    /** Reads a user's tokensValidAfter (epoch millis) from Firebase Auth. */
+    @FunctionalInterface
+    interface ValidAfterLookup {
+        long validAfterMillis(String uid) throws FirebaseAuthException;
+    }
+
+    private final ValidAfterLookup lookup;
+    private final Clock clock;
+    private final Cache<String, Long> validAfter;
+
+    @Autowired
+    public TokenRevocations(@Qualifier("firebaseAuthGuard") DownstreamGuard firebaseAuthGuard,
+                            @Value("${auth.revocation.check-interval:1m}") Duration checkInterval) {
+        this(uid -> firebaseAuthGuard.execute(() -> fetchValidAfter(uid)), Clock.systemUTC(), checkInterval);
+    }
+
+    TokenRevocations(ValidAfterLookup lookup, Clock clock, Duration checkInterval) {
+        this.lookup = lookup;
+        this.clock = clock;
+        this.validAfter = Caffeine.newBuilder()
+                .expireAfterWrite(checkInterval)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * Rejects the user's current tokens on this instance right away and revokes their refresh
+     * tokens in Firebase in the background, so no new token carries the old claims.
+     */
+    public void revoke(String uid) {
+        // Whole seconds, like Firebase: a token issued later in the same second is still valid
+        long now = clock.millis() / 1000 * 1000;
+        validAfter.asMap().merge(uid, now, Math::max);
+        if (FirebaseApp.getApps().isEmpty()) {
+            logger.debug("Firebase not initialized, revoking sessions of {} locally only", uid);
+            return;
+        }
+        ApiFutures.addCallback(FirebaseAuth.getInstance().revokeRefreshTokensAsync(uid),
+                new ApiFutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                        logger.info("Revoked sessions of user {}", uid);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        logger.warn("Failed to revoke sessions of user {}: {}", uid, t.getMessage());
+                    }
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Whether the token was issued before the user's sessions were last revoked.
+     *
+     * @throws FirebaseAuthException if tokensValidAfter could not be read
+     * @throws com.example.campusaura.resilience.DownstreamUnavailableException if Firebase Auth is unavailable
+     */
+    public boolean isRevoked(VerifiedToken token) throws FirebaseAuthException {
+        Long cached = validAfter.getIfPresent(token.getUid());
+        long validAfterMillis;
+        if (cached != null) {
+            validAfterMillis = cached;
+        } else {
+            validAfterMillis = lookup.validAfterMillis(token.getUid());
+            validAfterMillis = validAfter.asMap().merge(token.getUid(), validAfterMillis, Math::max);
+        }
+        Object issuedAt = token.getClaims().get("iat");
+        long issuedAtMillis = issuedAt instanceof Number ? ((Number) issuedAt).longValue() * 1000 : 0;
+        return issuedAtMillis < validAfterMillis;
+    }
+
+    private static long fetchValidAfter(String uid) throws FirebaseAuthException {
+        if (FirebaseApp.getApps().isEmpty()) {
+            return 0;
+        }
+        try {
+            return FirebaseAuth.getInstance().getUser(uid).getTokensValidAfterTimestamp();
+        } catch (FirebaseAuthException e) {
+            if (e.getAuthErrorCode() == AuthErrorCode.USER_NOT_FOUND) {
+                // Deleted from Firebase Auth: no token of this user is valid any more
+                return Long.MAX_VALUE;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.campusaura.security;
+
+import com.google.firebase.auth.FirebaseAuthException;
+
+/**
+ * Verifies Firebase ID tokens.
+ * Single entry point used by FirebaseAuthFilter and the controllers that read the token themselves.
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verifies the token signature and claims.
+     *
+     * @param idToken raw JWT from the Authorization header (without "Bearer ")
+     * @return the verified token contents
+     * @throws FirebaseAuthException if the token is invalid, expired or revoked
+     * @throws com.example.campusaura.resilience.DownstreamUnavailableException if verification could not be completed
+     */
+    VerifiedToken verify(String idToken) throws FirebaseAuthException;
+}
@@ -0,0 +1,47 @@
+package com.example.campusaura.security;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The verified contents of a Firebase ID token.
+ * Decoupled from FirebaseToken so verifiers other than the Admin SDK (and test fakes) can produce it.
+ */
+public class VerifiedToken {
+
+    private final String uid;
+    private final String email;
+    private final String name;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(String uid, String email, String name, Map<String, Object> claims) {
+        this.uid = uid;
+        this.email = email;
+        this.name = name;
+        this.claims = claims != null ? Collections.unmodifiableMap(claims) : Collections.emptyMap();
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{" +
+                "uid='" + uid + '\'' +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.cache.NegativeLookupCache;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
+import com.example.campusaura.dto.BulkActionRequestDTO;
+import com.example.campusaura.dto.BulkJobDTO;
+import com.example.campusaura.model.Product;
+import com.example.campusaura.repository.EventSectionStore;
+import com.example.campusaura.repository.FirestoreErrors;
+import com.example.campusaura.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bulk admin moderation (approve events, disable products, verify students) and the event
+ * section migration.
+ *
+ * A job resolves its targets (explicit ids or an equality filter), then pushes one update per
+ * document through a throttled BulkWriter. Jobs run in the background; their progress and
+ * per-item results are kept for an hour and polled via {@link #getJob}.
+ *
+ * Each kind of job runs the same cache and queue hooks as the single-item endpoints: events
+ * evict the public events cache, users wait for queued saves before being updated, and every
+ * written id updates the negative lookup cache.
+ */
+@Service
+public class BulkAdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkAdminService.class);
+
+    private static final Set<String> EVENT_FILTER_FIELDS = Set.of("status", "category", "organizingDepartment", "coordinatorId");
+    private static final Set<String> PRODUCT_FILTER_FIELDS = Set.of("status", "category", "sellerId");
+    private static final Set<String> USER_FILTER_FIELDS = Set.of("role", "verified", "degreeProgram");
+    private static final int MIGRATION_PAGE_SIZE = 100;
+
+    /**
+     * A collection bulk jobs write to. {@code beforeWrite} runs for each id before its update
+     * is queued, {@code afterWrites} once all updates have been flushed.
+     */
+    private record Target(String collection, Set<String> filterFields,
+                          Consumer<String> beforeWrite, Runnable afterWrites) {}
+
+    /** Body of a job, run on the bulk job executor. */
+    @FunctionalInterface
+    private interface JobWork {
+        void run(Job job) throws Exception;
+    }
+
+    private final Firestore firestore;
+    private final ExecutorService bulkJobExecutor;
+    private final BulkWriterOptions bulkWriterOptions;
+    private final MeterRegistry meterRegistry;
+    private final int maxItems;
+    private final NegativeLookupCache negativeLookupCache;
+    private final EventSectionStore eventSectionStore;
+    private final Target events;
+    private final Target products;
+    private final Target users;
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(1000)
+            .build();
+
+    public BulkAdminService(Firestore firestore,
+                            @Qualifier("bulkJobExecutor") ExecutorService bulkJobExecutor,
+                            BulkWriterOptions bulkWriterOptions,
+                            MeterRegistry meterRegistry,
+                            @Value("${bulk.jobs.max-items:5000}") int maxItems,
+                            StaleWhileRevalidateCache publicEventsCache,
+                            NegativeLookupCache negativeLookupCache,
+                            UserRepository userRepository,
+                            EventSectionStore eventSectionStore) {
+        this.firestore = firestore;
+        this.bulkJobExecutor = bulkJobExecutor;
+        this.bulkWriterOptions = bulkWriterOptions;
+        this.meterRegistry = meterRegistry;
+        this.maxItems = maxItems;
+        this.negativeLookupCache = negativeLookupCache;
+        this.eventSectionStore = eventSectionStore;
+        this.events = new Target("events", EVENT_FILTER_FIELDS, id -> { }, publicEventsCache::invalidateAll);
+        this.products = new Target("products", PRODUCT_FILTER_FIELDS, id -> { }, () -> { });
+        // A queued save carries the old "verified": let it land first (as verifyStudent does)
+        this.users = new Target("users", USER_FILTER_FIELDS, userRepository::awaitPendingSave, () -> { });
+    }
+
+    /** Publish events (same write as the single approve endpoint). */
+    public BulkJobDTO approveEvents(BulkActionRequestDTO request) {
+        return submit("approve-events", events, request, () -> {
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("status", "PUBLISHED");
+            updates.put("updatedAt", Instant.now().toString());
+            return updates;
+        });
+    }
+
+    /** Disable products (same write as the single disable endpoint). */
+    public BulkJobDTO disableProducts(BulkActionRequestDTO request) {
+        return submit("disable-products", products, request, () -> {
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("status", Product.ProductStatus.DELETED.toString());
+            updates.put("updatedAt", LocalDateTime.now().toString());
+            return updates;
+        });
+    }
+
+    /** Verify (or un-verify) students (same write as the single verify endpoint). */
+    public BulkJobDTO verifyUsers(BulkActionRequestDTO request) {
+        boolean verified = request.getVerified() == null || request.getVerified();
+        return submit("verify-users", users, request, () -> {
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("verified", verified);
+            updates.put("updatedAt", Timestamp.now());
+            return updates;
+        });
+    }
+
+    /**
+     * Move embedded sections of legacy events into side documents, a page at a time. The job's
+     * total grows as pages are scanned; each legacy event is one item (failed = edit conflict,
+     * left for the next run).
+     */
+    public BulkJobDTO migrateEventSections() {
+        return start("migrate-event-sections", job -> eventSectionStore.migrate(
+                firestore.collection(events.collection()), MIGRATION_PAGE_SIZE, (eventId, error) -> {
+                    // Only the job thread reports events
+                    job.total++;
+                    job.record(eventId, error);
+                    count(job.operation, error == null ? "success" : "failure");
+                }));
+    }
+
+    /**
+     * Current state of a job, or null if unknown or expired.
+     */
+    public BulkJobDTO getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        return job != null ? job.toDTO(true) : null;
+    }
+
+    private BulkJobDTO submit(String operation, Target target, BulkActionRequestDTO request,
+                              Supplier<Map<String, Object>> updates) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Provide either ids or filter");
+        }
+        if (hasFilter && !target.filterFields().containsAll(request.getFilter().keySet())) {
+            throw new IllegalArgumentException("Filter fields must be among " + target.filterFields());
+        }
+        if (hasIds && request.getIds().size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " ids per job, got " + request.getIds().size());
+        }
+        if (hasFilter) {
+            long matches = countMatches(target.collection(), request.getFilter());
+            if (matches > maxItems) {
+                throw new IllegalArgumentException("Filter matches " + matches + " items, at most "
+                        + maxItems + " per job; narrow the filter or pass ids");
+            }
+        }
+
+        return start(operation, job -> run(job, target, request, updates));
+    }
+
+    private BulkJobDTO start(String operation, JobWork work) {
+        Job job = new Job(UUID.randomUUID().toString(), operation);
+        jobs.put(job.id, job);
+        try {
+            bulkJobExecutor.submit(() -> execute(job, work));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            throw new IllegalStateException("Too many bulk jobs running, try again later");
+        }
+        return job.toDTO(false);
+    }
+
+    private void execute(Job job, JobWork work) {
+        try {
+            work.run(job);
+            job.finish(null);
+            logger.info("Bulk job {} ({}) finished: {} succeeded, {} failed",
+                    job.id, job.operation, job.succeeded.get(), job.failed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("Interrupted");
+        } catch (Exception e) {
+            logger.error("Bulk job {} ({}) failed", job.id, job.operation, e);
+            job.finish(e.getMessage());
+        }
+    }
+
+    private void run(Job job, Target target, BulkActionRequestDTO request,
+                     Supplier<Map<String, Object>> updates) throws ExecutionException, InterruptedException {
+        String collection = target.collection();
+        List<String> ids = request.getIds() != null && !request.getIds().isEmpty()
+                ? new ArrayList<>(new LinkedHashSet<>(request.getIds()))
+                : resolveFilter(collection, request.getFilter());
+        job.total = ids.size();
+
+        long lookup = negativeLookupCache.beginLookup();
+        BulkWriter writer = firestore.bulkWriter(bulkWriterOptions);
+        try {
+            for (String id : ids) {
+                target.beforeWrite().accept(id);
+                ApiFuture<WriteResult> write = writer.update(firestore.collection(collection).document(id), updates.get());
+                ApiFutures.addCallback(write, new ApiFutureCallback<>() {
+                    @Override
+                    public void onSuccess(WriteResult result) {
+                        negativeLookupCache.markPresent(collection, id);
+                        job.record(id, null);
+                        count(job.operation, "success");
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        boolean notFound = FirestoreErrors.hasCode(t, Status.Code.NOT_FOUND);
+                        if (notFound) {
+                            negativeLookupCache.markMissing(collection, id, lookup);
+                        }
+                        job.record(id, notFound ? "not found" : t.getMessage());
+                        count(job.operation, "failure");
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+        } finally {
+            // Flushes remaining writes and waits for all of them
+            writer.close();
+            target.afterWrites().run();
+        }
+    }
+
+    /**
+     * Number of documents the filter matches, from a count aggregation (no documents are read).
+     */
+    private long countMatches(String collection, Map<String, Object> filter) {
+        try {
+            return filterQuery(collection, filter).count().get().get().getCount();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not count the items matching the filter, try again later", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting the items matching the filter", e);
+        }
+    }
+
+    private List<String> resolveFilter(String collection, Map<String, Object> filter)
+            throws ExecutionException, InterruptedException {
+        // Ids only: no need to ship document bodies for a write-only job. One past the limit, so
+        // matches added since the count fail the job instead of being silently left out
+        List<QueryDocumentSnapshot> documents = filterQuery(collection, filter).select(FieldPath.documentId())
+                .limit(maxItems + 1)
+                .get()
+                .get()
+                .getDocuments();
+        if (documents.size() > maxItems) {
+            throw new IllegalStateException("Filter now matches more than " + maxItems + " items, nothing was updated");
+        }
+        List<String> ids = new ArrayList<>(documents.size());
+        for (QueryDocumentSnapshot document : documents) {
+            ids.add(document.getId());
+        }
+        return ids;
+    }
+
+    private Query filterQuery(String collection, Map<String, Object> filter) {
+        Query query = firestore.collection(collection);
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            query = query.whereEqualTo(entry.getKey(), entry.getValue());
+        }
+        return query;
+    }
+
+    private void count(String operation, String result) {
+        Counter.builder("campusaura.bulk.items")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Mutable job state shared between the job thread and BulkWriter callbacks.
+     */
+    private static class Job {
+        private final String id;
+        private final String operation;
+        private final String startedAt = Instant.now().toString();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final ConcurrentLinkedQueue<BulkJobDTO.ItemResult> results = new ConcurrentLinkedQueue<>();
+        private volatile int total;
+        private volatile String finishedAt;
+        private volatile String error;
+
+        Job(String id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        void record(String itemId, String itemError) {
+            results.add(new BulkJobDTO.ItemResult(itemId, itemError == null, itemError));
+            (itemError == null ? succeeded : failed).incrementAndGet();
+        }
+
+        void finish(String jobError) {
+            this.error = jobError;
+            this.finishedAt = Instant.now().toString();
+        }
+
+        BulkJobDTO toDTO(boolean withResults) {
+            BulkJobDTO dto = new BulkJobDTO();
+            dto.setJobId(id);
+            dto.setOperation(operation);
+            dto.setStatus(finishedAt == null ? "RUNNING" : error == null ? "COMPLETED" : "FAILED");
+            dto.setTotal(total);
+            dto.setSucceeded(succeeded.get());
+            dto.setFailed(failed.get());
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            if (withResults) {
+                dto.setResults(new ArrayList<>(results));
+            }
+            return dto;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.campusaura.service;
 
+import com.example.campusaura.cache.NegativeLookupCache;
 import com.example.campusaura.dto.CoordinatorRequestDTO;
 import com.example.campusaura.dto.CoordinatorResponseDTO;
 import com.example.campusaura.model.Coordinator;
+import com.example.campusaura.repository.DocumentReadCoalescer;
+import com.example.campusaura.repository.FirestoreMutations;
+import com.example.campusaura.security.RoleClaims;
 import com.example.campusaura.security.Roles;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
@@ -22,12 +26,21 @@ public class CoordinatorService {
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    private DocumentReadCoalescer readCoalescer;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
     @Autowired
     private EventService eventService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RoleClaims roleClaims;
+
     private static final String COLLECTION_NAME = "coordinators";
 
     // Register a new coordinator
@@ -56,6 +69,8 @@ public class CoordinatorService {
                 userData.put("createdAt", com.google.cloud.Timestamp.now());
                 
                 firestore.collection("users").document(firebaseUid).set(userData).get();
+                negativeLookupCache.markPresent("users", firebaseUid);
+                roleClaims.publish(firebaseUid, Roles.COORDINATOR);
             }
         } catch (Exception e) {
             throw new RuntimeException("Failed to create Firebase Auth user: " + e.getMessage(), e);
@@ -111,7 +126,7 @@ public class CoordinatorService {
 
     // Get coordinator by ID
     public CoordinatorResponseDTO getCoordinatorById(String id) throws ExecutionException, InterruptedException {
-        DocumentSnapshot document = firestore.collection(COLLECTION_NAME).document(id).get().get();
+        DocumentSnapshot document = readCoalescer.get(firestore.collection(COLLECTION_NAME).document(id)).get();
         
         if (!document.exists()) {
             throw new RuntimeException("Coordinator not found with id: " + id);
@@ -125,11 +140,6 @@ public class CoordinatorService {
     // Update coordinator
     public CoordinatorResponseDTO updateCoordinator(String id, CoordinatorRequestDTO request) throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Coordinator not found with id: " + id);
-        }
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("firstName", request.getFirstName());
@@ -141,9 +151,10 @@ public class CoordinatorService {
         updates.put("shortIntroduction", request.getShortIntroduction());
         updates.put("updatedAt", LocalDateTime.now().toString());
 
-        docRef.update(updates).get();
+        FirestoreMutations.MergedDocument updated =
+                FirestoreMutations.updateAndMerge(docRef, updates, "Coordinator not found with id: " + id);
 
-        Coordinator coordinator = documentToCoordinator(docRef.get().get());
+        Coordinator coordinator = mapToCoordinator(updated.id(), updated.data());
         int eventCount = eventService.getEventCountByCoordinator(id);
         return coordinatorToDTO(coordinator, eventCount);
     }
@@ -151,19 +162,15 @@ public class CoordinatorService {
     // Update coordinator status (active/inactive)
     public CoordinatorResponseDTO updateCoordinatorStatus(String id, boolean active) throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Coordinator not found with id: " + id);
-        }
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("active", active);
         updates.put("updatedAt", LocalDateTime.now().toString());
 
-        docRef.update(updates).get();
+        FirestoreMutations.MergedDocument updated =
+                FirestoreMutations.updateAndMerge(docRef, updates, "Coordinator not found with id: " + id);
 
-        Coordinator coordinator = documentToCoordinator(docRef.get().get());
+        Coordinator coordinator = mapToCoordinator(updated.id(), updated.data());
         int eventCount = eventService.getEventCountByCoordinator(id);
         return coordinatorToDTO(coordinator, eventCount);
     }
@@ -171,13 +178,7 @@ public class CoordinatorService {
     // Delete coordinator
     public void deleteCoordinator(String id) throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Coordinator not found with id: " + id);
-        }
-
-        docRef.delete().get();
+        FirestoreMutations.deleteExisting(docRef, "Coordinator not found with id: " + id);
     }
 
     // Helper methods
@@ -199,24 +200,29 @@ public class CoordinatorService {
     }
 
     private Coordinator documentToCoordinator(DocumentSnapshot document) {
+        return mapToCoordinator(document.getId(), document.getData());
+    }
+
+    private Coordinator mapToCoordinator(String id, Map<String, Object> data) {
         Coordinator coordinator = new Coordinator();
-        coordinator.setId(document.getId());
-        coordinator.setFirstName(document.getString("firstName"));
-        coordinator.setLastName(document.getString("lastName"));
-        coordinator.setPhoneNumber(document.getString("phoneNumber"));
-        coordinator.setEmail(document.getString("email"));
-        coordinator.setDepartment(document.getString("department"));
-        coordinator.setDegree(document.getString("degree"));
-        coordinator.setShortIntroduction(document.getString("shortIntroduction"));
-        coordinator.setDegreeProgramme(document.getString("degreeProgramme")); // Legacy field
-        coordinator.setActive(document.getBoolean("active") != null ? document.getBoolean("active") : true);
+        coordinator.setId(id);
+        coordinator.setFirstName((String) data.get("firstName"));
+        coordinator.setLastName((String) data.get("lastName"));
+        coordinator.setPhoneNumber((String) data.get("phoneNumber"));
+        coordinator.setEmail((String) data.get("email"));
+        coordinator.setDepartment((String) data.get("department"));
+        coordinator.setDegree((String) data.get("degree"));
+        coordinator.setShortIntroduction((String) data.get("shortIntroduction"));
+        coordinator.setDegreeProgramme((String) data.get("degreeProgramme")); // Legacy field
+        Boolean active = (Boolean) data.get("active");
+        coordinator.setActive(active != null ? active : true);
         
-        String createdAtStr = document.getString("createdAt");
+        String createdAtStr = (String) data.get("createdAt");
         if (createdAtStr != null) {
             coordinator.setCreatedAt(LocalDateTime.parse(createdAtStr));
         }
         
-        String updatedAtStr = document.getString("updatedAt");
+        String updatedAtStr = (String) data.get("updatedAt");
         if (updatedAtStr != null) {
             coordinator.setUpdatedAt(LocalDateTime.parse(updatedAtStr));
         }
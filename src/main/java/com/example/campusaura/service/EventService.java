@@ -1,5 +1,7 @@
 package com.example.campusaura.service;
 
+import com.example.campusaura.cache.NegativeLookupCache;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
 import com.example.campusaura.dto.AdminEventDTO;
 import com.example.campusaura.dto.EventDetailDTO;
 import com.example.campusaura.dto.EventRequestDTO;
@@ -12,8 +14,16 @@ import com.example.campusaura.model.EventScheduleItem;
 import com.example.campusaura.model.PastEventDetail;
 import com.example.campusaura.model.SellItem;
 import com.example.campusaura.model.TicketCategory;
+import com.example.campusaura.repository.DocumentReadCoalescer;
+import com.example.campusaura.repository.EventSectionStore;
+import com.example.campusaura.repository.EventSectionStore.Section;
+import com.example.campusaura.repository.FirestoreErrors;
+import com.example.campusaura.repository.FirestoreFieldDiff;
+import com.example.campusaura.repository.FirestoreMutations;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
+import io.grpc.Status;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -23,13 +33,62 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "campusaura.service")
 public class EventService {
 
     private static final String COLLECTION_NAME = "events";
 
+    /**
+     * Fields read by landing/public list views: LandingPageEventDTO plus the status,
+     * dateTime and createdAt used to filter and sort.
+     */
+    private static final String[] SUMMARY_FIELDS = {
+            "title", "description", "venue", "dateTime", "eventImageUrls",
+            "organizingDepartment", "category", "attendeeCount", "status", "createdAt"
+    };
+
+    /**
+     * Top-level event fields, without the side-document sections, for list views. The
+     * sections are loaded for single events only (detail, edit), so a list never fans out
+     * into side-document reads.
+     */
+    private static final String[] LIST_FIELDS = {
+            "coordinatorId", "title", "venue", "dateTime", "ticketsAvailable", "ticketCategories",
+            "eventImageUrls", "description", "organizingDepartment", "createdAt", "updatedAt",
+            "status", "category", "attendeeCount", "accountDetails"
+    };
+
+    /**
+     * Fields shown in the admin event table (AdminEventDTO).
+     */
+    private static final String[] ADMIN_FIELDS = {
+            "title", "coordinatorId", "venue", "dateTime", "description", "organizingDepartment",
+            "status", "category", "attendeeCount", "createdAt", "updatedAt"
+    };
+
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    private DocumentReadCoalescer readCoalescer;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Autowired
+    private EventSectionStore eventSectionStore;
+
+    @Autowired
+    private StaleWhileRevalidateCache publicEventsCache;
+
+    /** getPublicEvents orders: soonest dateTime first, newest createdAt first, most attendees first. Nulls last. */
+    static final Comparator<Event> UPCOMING_FIRST =
+            Comparator.comparing(Event::getDateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+    static final Comparator<Event> LATEST_CREATED_FIRST =
+            Comparator.comparing(Event::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+    static final Comparator<Event> MOST_POPULAR_FIRST =
+            Comparator.comparingInt((Event e) -> e.getAttendeeCount() != null ? e.getAttendeeCount() : 0).reversed();
+
     /**
      * Create a new event
      */
@@ -63,11 +122,14 @@ public class EventService {
         // Convert to Map for Firestore
         Map<String, Object> eventData = convertEventToMap(event);
 
-        // Save to Firestore
-        ApiFuture<WriteResult> result = firestore.collection(COLLECTION_NAME)
-                .document(eventId)
-                .set(eventData);
-        result.get(); // Wait for completion
+        // Save event and its side documents atomically
+        DocumentReference eventRef = firestore.collection(COLLECTION_NAME).document(eventId);
+        WriteBatch batch = firestore.batch();
+        eventSectionStore.stage(batch, eventRef, eventData);
+        batch.set(eventRef, eventData);
+        batch.commit().get(); // Wait for completion
+        negativeLookupCache.markPresent(COLLECTION_NAME, eventId);
+        publicEventsCache.invalidateAll();
 
         return event;
     }
@@ -87,58 +149,50 @@ public class EventService {
      * Get event by ID (returns Event object)
      */
     public Event getEventById(String eventId) throws ExecutionException, InterruptedException {
-        DocumentSnapshot document = firestore.collection(COLLECTION_NAME)
-                .document(eventId)
-                .get()
+        return getEventById(eventId, EventSectionStore.all());
+    }
+
+    /**
+     * Get event by ID, loading only the given side-document sections
+     */
+    private Event getEventById(String eventId, Set<Section> sections) throws ExecutionException, InterruptedException {
+        if (negativeLookupCache.isKnownMissing(COLLECTION_NAME, eventId)) {
+            return null;
+        }
+
+        long lookup = negativeLookupCache.beginLookup();
+        DocumentSnapshot document = readCoalescer.get(firestore.collection(COLLECTION_NAME).document(eventId))
                 .get();
 
         if (!document.exists()) {
+            negativeLookupCache.markMissing(COLLECTION_NAME, eventId, lookup);
             return null;
         }
 
-        return convertMapToEvent(document.getId(), document.getData());
+        return toEvents(List.of(document), sections).get(0);
     }
 
     /**
-     * Get all events (returns Event objects)
+     * Get all events (returns Event objects, without sections)
      */
     public List<Event> getAllEventsInternal() throws ExecutionException, InterruptedException {
-        List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION_NAME)
-                .get()
-                .get()
-                .getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
-                .collect(Collectors.toList());
+        return toEventSummaries(firestore.collection(COLLECTION_NAME));
     }
 
     /**
-     * Get all events (returns DTOs)
+     * Get all events (returns DTOs, without sections)
      */
     public List<EventResponseDTO> getAllEvents() throws ExecutionException, InterruptedException {
-        List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION_NAME)
-                .get()
-                .get()
-                .getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+        return toEventSummaries(firestore.collection(COLLECTION_NAME)).stream()
                 .map(this::eventToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get events by category
+     * Get events by category (without sections)
      */
     public List<EventResponseDTO> getEventsByCategory(String category) throws ExecutionException, InterruptedException {
-        Query query = firestore.collection(COLLECTION_NAME)
-                .whereEqualTo("category", category);
-
-        List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+        return toEventSummaries(firestore.collection(COLLECTION_NAME).whereEqualTo("category", category)).stream()
                 .map(this::eventToResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -147,68 +201,49 @@ public class EventService {
      * Delete event
      */
     public void deleteEvent(String eventId) throws ExecutionException, InterruptedException {
-        DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(eventId);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Event not found with id: " + eventId);
-        }
-
-        docRef.delete().get();
+        deleteWithSections(firestore.collection(COLLECTION_NAME).document(eventId),
+                "Event not found with id: " + eventId);
     }
 
     /**
-     * Get all events by coordinator ID
+     * Get all events by coordinator ID (without sections)
      */
     public List<Event> getEventsByCoordinator(String coordinatorId) throws ExecutionException, InterruptedException {
-        Query query = firestore.collection(COLLECTION_NAME)
-                .whereEqualTo("coordinatorId", coordinatorId);
-
-        List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
-                .collect(Collectors.toList());
+        return toEventSummaries(firestore.collection(COLLECTION_NAME).whereEqualTo("coordinatorId", coordinatorId));
     }
 
     /**
-     * Get events by status
+     * Get events by status (without sections)
      */
     public List<Event> getEventsByStatus(String status) throws ExecutionException, InterruptedException {
-        Query query = firestore.collection(COLLECTION_NAME)
-                .whereEqualTo("status", status);
-
-        List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
-                .collect(Collectors.toList());
+        return toEventSummaries(firestore.collection(COLLECTION_NAME).whereEqualTo("status", status));
     }
 
     /**
-     * Get events by department
+     * Get events by department (without sections)
      */
     public List<Event> getEventsByDepartment(String department) throws ExecutionException, InterruptedException {
-        Query query = firestore.collection(COLLECTION_NAME)
-                .whereEqualTo("organizingDepartment", department);
-
-        List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
-
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
-                .collect(Collectors.toList());
+        return toEventSummaries(firestore.collection(COLLECTION_NAME).whereEqualTo("organizingDepartment", department));
     }
 
     /**
      * Update event
+     *
+     * Only fields that actually changed are written, with a precondition on the update time
+     * the event was read at, so a concurrent admin/coordinator edit is rejected rather than
+     * silently overwritten.
      */
     public Event updateEvent(String eventId, String coordinatorId, EventRequestDTO eventRequest) 
             throws ExecutionException, InterruptedException {
         // Check if event exists and belongs to coordinator
-        Event existingEvent = getEventById(eventId);
-        if (existingEvent == null) {
+        DocumentReference eventRef = firestore.collection(COLLECTION_NAME).document(eventId);
+        DocumentSnapshot document = eventRef.get().get();
+        if (!document.exists()) {
             throw new IllegalArgumentException("Event not found with ID: " + eventId);
         }
+        Map<String, Object> currentData = eventSectionStore.withSections(List.of(document), EventSectionStore.all())
+                .get(eventId);
+        Event existingEvent = convertMapToEvent(eventId, currentData);
 
         if (!existingEvent.getCoordinatorId().equals(coordinatorId)) {
             throw new SecurityException("You don't have permission to update this event");
@@ -231,45 +266,92 @@ public class EventService {
         if (eventRequest.getCategory() != null) {
             existingEvent.setCategory(eventRequest.getCategory());
         }
-        existingEvent.setUpdatedAt(Instant.now().toString());
 
-        // Convert to Map for Firestore
-        Map<String, Object> eventData = convertEventToMap(existingEvent);
-
-        // Update in Firestore
-        ApiFuture<WriteResult> result = firestore.collection(COLLECTION_NAME)
-                .document(eventId)
-                .set(eventData);
-        result.get(); // Wait for completion
+        // Compute what changed (updatedAt is set only if something else did)
+        Map<String, Object> changes = FirestoreFieldDiff.diff(currentData, convertEventToMap(existingEvent));
+        changes.remove("updatedAt");
+        if (changes.isEmpty()) {
+            return existingEvent;
+        }
+        existingEvent.setUpdatedAt(Instant.now().toString());
+        changes.put("updatedAt", existingEvent.getUpdatedAt());
+
+        WriteBatch batch = firestore.batch();
+        if (EventSectionStore.isExternal(currentData)) {
+            // Changed sections go to their side documents
+            for (Section section : Section.values()) {
+                if (changes.containsKey(section.getField())) {
+                    eventSectionStore.stageSection(batch, eventRef, section, changes.remove(section.getField()));
+                }
+            }
+        }
+        batch.update(eventRef, changes, Precondition.updatedAt(document.getUpdateTime()));
+        try {
+            batch.commit().get(); // Wait for completion
+        } catch (ExecutionException e) {
+            if (FirestoreErrors.hasCode(e, Status.Code.FAILED_PRECONDITION)) {
+                throw new IllegalStateException("Event was modified by someone else, reload and try again");
+            }
+            throw e;
+        }
+        publicEventsCache.invalidateAll();
 
         return existingEvent;
     }
 
     /**
-     * Delete event
+     * Delete event. The ownership check reads the event once and the delete is conditional on
+     * that read, so an event handed to another coordinator in between is not deleted.
      */
     public boolean deleteEvent(String eventId, String coordinatorId) throws ExecutionException, InterruptedException {
-        // Check if event exists and belongs to coordinator
-        Event existingEvent = getEventById(eventId);
-        if (existingEvent == null) {
-            throw new IllegalArgumentException("Event not found with ID: " + eventId);
-        }
+        DocumentReference eventRef = firestore.collection(COLLECTION_NAME).document(eventId);
+        FirestoreMutations.deleteChecked(eventRef,
+                snapshot -> {
+                    if (!snapshot.exists()) {
+                        throw new IllegalArgumentException("Event not found with ID: " + eventId);
+                    }
+                    if (!coordinatorId.equals(snapshot.getString("coordinatorId"))) {
+                        throw new SecurityException("You don't have permission to delete this event");
+                    }
+                },
+                batch -> eventSectionStore.stageDelete(batch, eventRef));
+        publicEventsCache.invalidateAll();
 
-        if (!existingEvent.getCoordinatorId().equals(coordinatorId)) {
-            throw new SecurityException("You don't have permission to delete this event");
-        }
+        return true;
+    }
 
-        // Delete from Firestore
-        ApiFuture<WriteResult> result = firestore.collection(COLLECTION_NAME)
-                .document(eventId)
-                .delete();
-        result.get(); // Wait for completion
+    /**
+     * Delete an event document together with its side documents
+     */
+    private void deleteWithSections(DocumentReference eventRef, String notFoundMessage)
+            throws ExecutionException, InterruptedException {
+        FirestoreMutations.deleteExisting(eventRef, notFoundMessage,
+                batch -> eventSectionStore.stageDelete(batch, eventRef));
+        publicEventsCache.invalidateAll();
+    }
 
-        return true;
+    /**
+     * Decode event documents, loading the given side-document sections in one batched read
+     */
+    private List<Event> toEvents(List<? extends DocumentSnapshot> documents, Set<Section> sections)
+            throws ExecutionException, InterruptedException {
+        return eventSectionStore.withSections(documents, sections).entrySet().stream()
+                .map(entry -> convertMapToEvent(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Run a list query projected to the top-level fields and decode the events without sections
+     */
+    private List<Event> toEventSummaries(Query query) throws ExecutionException, InterruptedException {
+        return query.select(LIST_FIELDS).get().get().getDocuments().stream()
+                .map(document -> convertMapToEvent(document.getId(), document.getData()))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Update event status
+     * Update event status. Returns the whole event, sections included, like the other
+     * single-event responses.
      */
     public Event updateEventStatus(String eventId, String coordinatorId, String status) 
             throws ExecutionException, InterruptedException {
@@ -293,6 +375,7 @@ public class EventService {
                 .document(eventId)
                 .update(updates);
         result.get();
+        publicEventsCache.invalidateAll();
 
         return existingEvent;
     }
@@ -327,14 +410,8 @@ public class EventService {
     /**
      * Convert Firestore Map to Event object
      */
-    private Event convertMapToEvent(String eventId, Map<String, Object> data) {
-        Event event = new Event();
-        event.setEventId(eventId);
-        event.setCoordinatorId((String) data.get("coordinatorId"));
-        event.setTitle((String) data.get("title"));
-        event.setVenue((String) data.get("venue"));
-        event.setDateTime((String) data.get("dateTime"));
-        event.setTicketsAvailable((Boolean) data.get("ticketsAvailable"));
+    Event convertMapToEvent(String eventId, Map<String, Object> data) {
+        Event event = convertMapToEventSummary(eventId, data);
         
         // Convert ticketCategories from List<Map> to List<TicketCategory>
         List<com.example.campusaura.model.TicketCategory> ticketCategories = new ArrayList<>();
@@ -379,8 +456,6 @@ public class EventService {
         }
         event.setPastEventDetails(pastEventDetails);
         
-        event.setEventImageUrls((List) data.get("eventImageUrls"));
-        
         // Convert sellItems from List<Map> to List<SellItem>
         List<SellItem> sellItems = new ArrayList<>();
         Object sellItemsObj = data.get("sellItems");
@@ -402,34 +477,6 @@ public class EventService {
         }
         event.setSellItems(sellItems);
         
-        event.setDescription((String) data.get("description"));
-        event.setOrganizingDepartment((String) data.get("organizingDepartment"));
-        event.setStatus((String) data.get("status"));
-        event.setCategory((String) data.get("category"));
-        
-        // Handle attendeeCount - convert from Long to Integer if needed
-        Object attendeeCount = data.get("attendeeCount");
-        if (attendeeCount instanceof Long) {
-            event.setAttendeeCount(((Long) attendeeCount).intValue());
-        } else if (attendeeCount instanceof Integer) {
-            event.setAttendeeCount((Integer) attendeeCount);
-        } else {
-            event.setAttendeeCount(0);
-        }
-        
-        // Handle timestamps - convert from Firestore Timestamp to String if needed
-        Object createdAt = data.get("createdAt");
-        if (createdAt instanceof com.google.cloud.Timestamp) {
-            event.setCreatedAt(((com.google.cloud.Timestamp) createdAt).toDate().toInstant().toString());
-        } else if (createdAt instanceof String) {
-            event.setCreatedAt((String) createdAt);
-        }
-        
-        Object updatedAt = data.get("updatedAt");
-        if (updatedAt instanceof com.google.cloud.Timestamp) {
-            event.setUpdatedAt(((com.google.cloud.Timestamp) updatedAt).toDate().toInstant().toString());
-        } else if (updatedAt instanceof String) {
-            event.setUpdatedAt((String) updatedAt);
         // Convert schedule from List<Map> to List<EventScheduleItem>
         List<EventScheduleItem> scheduleItems = new ArrayList<>();
         Object scheduleObj = data.get("schedule");
@@ -461,47 +508,85 @@ public class EventService {
             event.setAccountDetails(accountDetails);
         }
         
+        return event;
+    }
+
+    /**
+     * Convert Firestore Map to Event with only its scalar fields (and image URLs).
+     * Used for projected list queries; nested arrays are left unset.
+     */
+    private Event convertMapToEventSummary(String eventId, Map<String, Object> data) {
+        Event event = new Event();
+        event.setEventId(eventId);
+        event.setCoordinatorId((String) data.get("coordinatorId"));
+        event.setTitle((String) data.get("title"));
+        event.setVenue((String) data.get("venue"));
+        event.setDateTime((String) data.get("dateTime"));
+        event.setTicketsAvailable((Boolean) data.get("ticketsAvailable"));
+        event.setEventImageUrls((List) data.get("eventImageUrls"));
+        event.setDescription((String) data.get("description"));
+        event.setOrganizingDepartment((String) data.get("organizingDepartment"));
+        event.setStatus((String) data.get("status"));
+        event.setCategory((String) data.get("category"));
+        
+        // Handle attendeeCount - convert from Long to Integer if needed
+        Object attendeeCount = data.get("attendeeCount");
+        if (attendeeCount instanceof Long) {
+            event.setAttendeeCount(((Long) attendeeCount).intValue());
+        } else if (attendeeCount instanceof Integer) {
+            event.setAttendeeCount((Integer) attendeeCount);
+        } else {
+            event.setAttendeeCount(0);
+        }
+        
+        // Handle timestamps - convert from Firestore Timestamp to String if needed
+        Object createdAt = data.get("createdAt");
+        if (createdAt instanceof com.google.cloud.Timestamp) {
+            event.setCreatedAt(((com.google.cloud.Timestamp) createdAt).toDate().toInstant().toString());
+        } else if (createdAt instanceof String) {
+            event.setCreatedAt((String) createdAt);
+        }
+        
+        Object updatedAt = data.get("updatedAt");
+        if (updatedAt instanceof com.google.cloud.Timestamp) {
+            event.setUpdatedAt(((com.google.cloud.Timestamp) updatedAt).toDate().toInstant().toString());
+        } else if (updatedAt instanceof String) {
+            event.setUpdatedAt((String) updatedAt);
         }
         
         return event;
     }
 
     /**
-     * Get recent events
+     * Get recent events (without sections)
      */
     public List<EventResponseDTO> getRecentEvents(int limit) throws ExecutionException, InterruptedException {
         Query query = firestore.collection(COLLECTION_NAME)
                 .orderBy("createdAt", Query.Direction.DESCENDING)
                 .limit(limit);
-        
-        ApiFuture<QuerySnapshot> future = query.get();
-        List<QueryDocumentSnapshot> documents = future.get().getDocuments();
 
-        return documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+        return toEventSummaries(query).stream()
                 .map(this::eventToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get random ongoing events for landing page carousel
+     * Get all ongoing events the landing page carousel picks from
      */
-    public List<LandingPageEventDTO> getRandomOngoingEvents(int limit) throws ExecutionException, InterruptedException {
+    public List<LandingPageEventDTO> getOngoingEvents() throws ExecutionException, InterruptedException {
         // Query for events with status "PUBLISHED" or "ONGOING"
         Query query = firestore.collection(COLLECTION_NAME)
-                .whereIn("status", Arrays.asList("PUBLISHED", "ONGOING"));
+                .whereIn("status", Arrays.asList("PUBLISHED", "ONGOING"))
+                .select(SUMMARY_FIELDS);
         
         List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
         
         // Convert to Event objects
         List<Event> events = documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+                .map(doc -> convertMapToEventSummary(doc.getId(), doc.getData()))
                 .collect(Collectors.toList());
         
-        // Shuffle and return limited results as DTOs
-        Collections.shuffle(events);
         return events.stream()
-                .limit(limit)
                 .map(this::eventToLandingPageDTO)
                 .collect(Collectors.toList());
     }
@@ -512,13 +597,14 @@ public class EventService {
     public List<LandingPageEventDTO> getLatestEvents(int limit) throws ExecutionException, InterruptedException {
         // Query for events with status "PUBLISHED" or "ONGOING"
         Query query = firestore.collection(COLLECTION_NAME)
-                .whereIn("status", Arrays.asList("PUBLISHED", "ONGOING"));
+                .whereIn("status", Arrays.asList("PUBLISHED", "ONGOING"))
+                .select(SUMMARY_FIELDS);
         
         List<QueryDocumentSnapshot> documents = query.get().get().getDocuments();
         
         // Convert to Event objects and sort by dateTime descending
         List<Event> events = documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+                .map(doc -> convertMapToEventSummary(doc.getId(), doc.getData()))
                 .filter(event -> event.getDateTime() != null) // Filter out events without dateTime
                 .sorted((e1, e2) -> e2.getDateTime().compareTo(e1.getDateTime())) // Sort descending (latest first)
                 .collect(Collectors.toList());
@@ -537,13 +623,14 @@ public class EventService {
     public List<LandingPageEventDTO> getPublicEvents(String category, String sortBy) throws ExecutionException, InterruptedException {
         // Get all events (no status filter for now to include all events)
         List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION_NAME)
+                .select(SUMMARY_FIELDS)
                 .get()
                 .get()
                 .getDocuments();
         
         // Convert to Event objects
         List<Event> events = documents.stream()
-                .map(doc -> convertMapToEvent(doc.getId(), doc.getData()))
+                .map(doc -> convertMapToEventSummary(doc.getId(), doc.getData()))
                 .filter(event -> {
                     // Include events with PUBLISHED, ONGOING status, or events without status (for testing)
                     String status = event.getStatus();
@@ -563,42 +650,12 @@ public class EventService {
         
         // Sort events based on sortBy parameter
         if ("upcoming".equalsIgnoreCase(sortBy)) {
-            // Sort by dateTime ascending (upcoming first), handle nulls
-            events.sort((e1, e2) -> {
-                String date1 = e1.getDateTime();
-                String date2 = e2.getDateTime();
-                if (date1 == null && date2 == null) return 0;
-                if (date1 == null) return 1;
-                if (date2 == null) return -1;
-                return date1.compareTo(date2);
-            });
-        } else if ("latest".equalsIgnoreCase(sortBy)) {
-            // Sort by createdAt descending (latest created first)
-            events.sort((e1, e2) -> {
-                String date1 = e1.getCreatedAt();
-                String date2 = e2.getCreatedAt();
-                if (date1 == null && date2 == null) return 0;
-                if (date1 == null) return 1;
-                if (date2 == null) return -1;
-                return date2.compareTo(date1);
-            });
+            events.sort(UPCOMING_FIRST);
         } else if ("popular".equalsIgnoreCase(sortBy)) {
-            // Sort by attendeeCount descending (most popular first)
-            events.sort((e1, e2) -> {
-                Integer count1 = e1.getAttendeeCount() != null ? e1.getAttendeeCount() : 0;
-                Integer count2 = e2.getAttendeeCount() != null ? e2.getAttendeeCount() : 0;
-                return count2.compareTo(count1);
-            });
+            events.sort(MOST_POPULAR_FIRST);
         } else {
-            // Default: sort by createdAt descending (newest first)
-            events.sort((e1, e2) -> {
-                String date1 = e1.getCreatedAt();
-                String date2 = e2.getCreatedAt();
-                if (date1 == null && date2 == null) return 0;
-                if (date1 == null) return 1;
-                if (date2 == null) return -1;
-                return date2.compareTo(date1);
-            });
+            // "latest" and default: newest first
+            events.sort(LATEST_CREATED_FIRST);
         }
         
         // Convert to DTOs
@@ -610,7 +667,7 @@ public class EventService {
     /**
      * Convert Event to LandingPageEventDTO
      */
-    private LandingPageEventDTO eventToLandingPageDTO(Event event) {
+    LandingPageEventDTO eventToLandingPageDTO(Event event) {
         LandingPageEventDTO dto = new LandingPageEventDTO();
         dto.setEventId(event.getEventId());
         dto.setTitle(event.getTitle());
@@ -627,7 +684,7 @@ public class EventService {
     /**
      * Convert Event to EventResponseDTO
      */
-    private EventResponseDTO eventToResponseDTO(Event event) {
+    EventResponseDTO eventToResponseDTO(Event event) {
         EventResponseDTO dto = new EventResponseDTO();
         dto.setEventId(event.getEventId());
         dto.setTitle(event.getTitle());
@@ -667,6 +724,7 @@ public class EventService {
                 .document(eventId)
                 .update(updates);
         result.get();
+        publicEventsCache.invalidateAll();
 
         return eventToResponseDTO(existingEvent);
     }
@@ -677,8 +735,7 @@ public class EventService {
     public long getPendingEventsCount() throws ExecutionException, InterruptedException {
         Query query = firestore.collection(COLLECTION_NAME)
                 .whereEqualTo("status", "PENDING");
-        ApiFuture<QuerySnapshot> future = query.get();
-        return future.get().getDocuments().size();
+        return query.count().get().get().getCount();
     }
 
     /**
@@ -687,15 +744,15 @@ public class EventService {
     public int getEventCountByCoordinator(String coordinatorId) throws ExecutionException, InterruptedException {
         Query query = firestore.collection(COLLECTION_NAME)
                 .whereEqualTo("coordinatorId", coordinatorId);
-        ApiFuture<QuerySnapshot> future = query.get();
-        return future.get().getDocuments().size();
+        return (int) query.count().get().get().getCount();
     }
 
     /**
      * Get full event details for public event detail page
      */
     public EventDetailDTO getEventDetailById(String eventId) throws ExecutionException, InterruptedException {
-        Event event = getEventById(eventId);
+        // The detail page shows ticket, gallery and sponsor data only
+        Event event = getEventById(eventId, EnumSet.of(Section.PAST_EVENT_DETAILS, Section.SELL_ITEMS));
         if (event == null) {
             throw new RuntimeException("Event not found with id: " + eventId);
         }
@@ -707,13 +764,14 @@ public class EventService {
      */
     public List<AdminEventDTO> getAllEventsForAdmin() throws ExecutionException, InterruptedException {
         List<QueryDocumentSnapshot> documents = firestore.collection(COLLECTION_NAME)
+                .select(ADMIN_FIELDS)
                 .get()
                 .get()
                 .getDocuments();
 
         List<AdminEventDTO> adminEvents = new ArrayList<>();
         for (QueryDocumentSnapshot doc : documents) {
-            Event event = convertMapToEvent(doc.getId(), doc.getData());
+            Event event = convertMapToEventSummary(doc.getId(), doc.getData());
             String coordinatorName = getCoordinatorName(event.getCoordinatorId());
             AdminEventDTO adminEventDTO = eventToAdminEventDTO(event, coordinatorName);
             adminEvents.add(adminEventDTO);
@@ -727,9 +785,7 @@ public class EventService {
      */
     private String getCoordinatorName(String coordinatorId) {
         try {
-            DocumentSnapshot doc = firestore.collection("coordinators")
-                    .document(coordinatorId)
-                    .get()
+            DocumentSnapshot doc = readCoalescer.get(firestore.collection("coordinators").document(coordinatorId))
                     .get();
             
             if (doc.exists()) {
@@ -1,13 +1,18 @@
 package com.example.campusaura.service;
 
 import com.example.campusaura.dto.FeedbackDTO;
-import com.google.api.core.ApiFuture;
+import com.example.campusaura.repository.WriteBehindQueue;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.firestore.*;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -19,8 +24,13 @@ public class FeedbackService {
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    @Qualifier("feedbackWriteQueue")
+    private WriteBehindQueue<Map<String, Object>> feedbackWriteQueue;
+
     /**
-     * Get all feedback for an event, ordered by creation time
+     * Get all feedback for an event, ordered by creation time.
+     * Includes feedback still waiting in the write-behind queue.
      */
     public List<FeedbackDTO> getFeedbackByEventId(String eventId) throws ExecutionException, InterruptedException {
         try {
@@ -29,8 +39,17 @@ public class FeedbackService {
                     .whereEqualTo("eventId", eventId)
                     .get().get().getDocuments();
 
-            return documents.stream()
-                    .map(this::documentToDTO)
+            Map<String, FeedbackDTO> feedback = new LinkedHashMap<>();
+            for (QueryDocumentSnapshot doc : documents) {
+                FeedbackDTO dto = documentToDTO(doc);
+                feedback.put(dto.getFeedbackId(), dto);
+            }
+            for (Map<String, Object> data : feedbackWriteQueue.pending(data -> eventId.equals(data.get("eventId")))) {
+                FeedbackDTO dto = mapToDTO(data);
+                feedback.putIfAbsent(dto.getFeedbackId(), dto);
+            }
+
+            return feedback.values().stream()
                     .sorted((a, b) -> {
                         String dateA = a.getCreatedAt() != null ? a.getCreatedAt() : "";
                         String dateB = b.getCreatedAt() != null ? b.getCreatedAt() : "";
@@ -45,10 +64,11 @@ public class FeedbackService {
     }
 
     /**
-     * Add feedback for an event
+     * Add feedback for an event. The write is group-committed with concurrent feedback; when the
+     * buffer is full it is written directly instead. Either way the returned future completes
+     * once the feedback is committed, without holding the calling thread.
      */
-    public FeedbackDTO addFeedback(String eventId, String userId, String userName, String text) 
-            throws ExecutionException, InterruptedException {
+    public CompletableFuture<FeedbackDTO> addFeedback(String eventId, String userId, String userName, String text) {
         String feedbackId = UUID.randomUUID().toString();
         String timestamp = Instant.now().toString();
 
@@ -60,10 +80,23 @@ public class FeedbackService {
         feedbackData.put("text", text);
         feedbackData.put("createdAt", timestamp);
 
-        ApiFuture<WriteResult> result = firestore.collection(COLLECTION_NAME)
-                .document(feedbackId)
-                .set(feedbackData);
-        result.get();
+        DocumentReference feedbackRef = firestore.collection(COLLECTION_NAME).document(feedbackId);
+        CompletableFuture<Void> written = feedbackWriteQueue.offer(feedbackRef, feedbackData);
+        if (written == null) {
+            written = new CompletableFuture<>();
+            CompletableFuture<Void> direct = written;
+            ApiFutures.addCallback(feedbackRef.set(feedbackData), new ApiFutureCallback<WriteResult>() {
+                @Override
+                public void onSuccess(WriteResult result) {
+                    direct.complete(null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    direct.completeExceptionally(t);
+                }
+            }, MoreExecutors.directExecutor());
+        }
 
         FeedbackDTO dto = new FeedbackDTO();
         dto.setFeedbackId(feedbackId);
@@ -73,11 +106,14 @@ public class FeedbackService {
         dto.setText(text);
         dto.setCreatedAt(timestamp);
 
-        return dto;
+        return written.thenApply(ignored -> dto);
     }
 
     private FeedbackDTO documentToDTO(QueryDocumentSnapshot doc) {
-        Map<String, Object> data = doc.getData();
+        return mapToDTO(doc.getData());
+    }
+
+    private FeedbackDTO mapToDTO(Map<String, Object> data) {
         FeedbackDTO dto = new FeedbackDTO();
         dto.setFeedbackId((String) data.get("feedbackId"));
         dto.setEventId((String) data.get("eventId"));
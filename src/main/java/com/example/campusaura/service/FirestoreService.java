@@ -1,5 +1,6 @@
 package com.example.campusaura.service;
 
+import com.example.campusaura.cache.NegativeLookupCache;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +17,18 @@ public class FirestoreService {
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
     // Create or Update
     public String saveDocument(String collection, String documentId, Map<String, Object> data) 
             throws ExecutionException, InterruptedException {
         ApiFuture<WriteResult> result = firestore.collection(collection)
                 .document(documentId)
                 .set(data);
-        return result.get().getUpdateTime().toString();
+        String updateTime = result.get().getUpdateTime().toString();
+        negativeLookupCache.markPresent(collection, documentId);
+        return updateTime;
     }
 
     // Read
@@ -49,7 +55,9 @@ public class FirestoreService {
         ApiFuture<WriteResult> result = firestore.collection("users")
                 .document(uid)
                 .set(userObject);
-        return result.get().getUpdateTime().toString();
+        String updateTime = result.get().getUpdateTime().toString();
+        negativeLookupCache.markPresent("users", uid);
+        return updateTime;
 }
 
     // Get all documents
@@ -0,0 +1,21 @@
+package com.example.campusaura.service;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.param.PaymentIntentCreateParams;
+
+/**
+ * Abstraction over the payment provider so controllers never call Stripe statics directly.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Creates a PaymentIntent with the provider.
+     * Calls repeated with the same idempotency key return the intent created by the first one,
+     * so a call that timed out on our side can be retried without charging twice.
+     *
+     * @throws StripeException if Stripe rejects the request
+     * @throws com.example.campusaura.resilience.DownstreamUnavailableException if Stripe is unreachable, slow or the circuit is open
+     */
+    PaymentIntent createPaymentIntent(PaymentIntentCreateParams params, String idempotencyKey) throws StripeException;
+}
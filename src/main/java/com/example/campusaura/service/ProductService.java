@@ -2,9 +2,13 @@ package com.example.campusaura.service;
 
 import com.example.campusaura.dto.ProductResponseDTO;
 import com.example.campusaura.model.Product;
+import com.example.campusaura.cache.NegativeLookupCache;
+import com.example.campusaura.repository.DocumentReadCoalescer;
+import com.example.campusaura.repository.FirestoreMutations;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.*;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +21,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "campusaura.service")
 public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
@@ -24,6 +29,12 @@ public class ProductService {
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    private DocumentReadCoalescer readCoalescer;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
     private static final String COLLECTION_NAME = "products";
 
     // Get all products
@@ -45,9 +56,15 @@ public class ProductService {
 
     // Get product by ID
     public ProductResponseDTO getProductById(String id) throws ExecutionException, InterruptedException {
-        DocumentSnapshot document = firestore.collection(COLLECTION_NAME).document(id).get().get();
+        if (negativeLookupCache.isKnownMissing(COLLECTION_NAME, id)) {
+            throw new RuntimeException("Product not found with id: " + id);
+        }
+
+        long lookup = negativeLookupCache.beginLookup();
+        DocumentSnapshot document = readCoalescer.get(firestore.collection(COLLECTION_NAME).document(id)).get();
         
         if (!document.exists()) {
+            negativeLookupCache.markMissing(COLLECTION_NAME, id, lookup);
             throw new RuntimeException("Product not found with id: " + id);
         }
 
@@ -78,63 +95,56 @@ public class ProductService {
     // Delete product (soft delete by updating status)
     public void deleteProduct(String id) throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Product not found with id: " + id);
-        }
-
-        docRef.delete().get();
+        FirestoreMutations.deleteExisting(docRef, "Product not found with id: " + id);
     }
 
     // Soft delete product (marks as deleted without removing)
     public void softDeleteProduct(String id) throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Product not found with id: " + id);
-        }
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("status", Product.ProductStatus.DELETED.toString());
         updates.put("updatedAt", LocalDateTime.now().toString());
 
-        docRef.update(updates).get();
+        FirestoreMutations.updateExisting(docRef, updates, "Product not found with id: " + id);
     }
 
     // Helper methods
     private Product documentToProduct(DocumentSnapshot document) {
+        return mapToProduct(document.getId(), document.getData());
+    }
+
+    private Product mapToProduct(String id, Map<String, Object> data) {
         Product product = new Product();
-        product.setId(document.getId());
-        product.setName(document.getString("name"));
-        product.setDescription(document.getString("description"));
+        product.setId(id);
+        product.setName((String) data.get("name"));
+        product.setDescription((String) data.get("description"));
 
-        Double price = document.getDouble("price");
-        if (price != null) {
-            product.setPrice(price);
+        Object price = data.get("price");
+        if (price instanceof Number) {
+            product.setPrice(((Number) price).doubleValue());
         }
 
-        product.setCategory(document.getString("category"));
-        product.setImageUrl(document.getString("imageUrl"));
-        product.setSellerId(document.getString("sellerId"));
-        product.setSellerName(document.getString("sellerName"));
+        product.setCategory((String) data.get("category"));
+        product.setImageUrl((String) data.get("imageUrl"));
+        product.setSellerId((String) data.get("sellerId"));
+        product.setSellerName((String) data.get("sellerName"));
 
         // Parse status — handle unknown values gracefully
-        String statusStr = document.getString("status");
-        if (statusStr != null) {
+        Object statusStr = data.get("status");
+        if (statusStr instanceof String) {
             try {
-                product.setStatus(Product.ProductStatus.valueOf(statusStr.toUpperCase()));
+                product.setStatus(Product.ProductStatus.valueOf(((String) statusStr).toUpperCase()));
             } catch (IllegalArgumentException e) {
-                logger.warn("Unknown product status '{}' for doc {}, defaulting to PENDING", statusStr, document.getId());
+                logger.warn("Unknown product status '{}' for doc {}, defaulting to PENDING", statusStr, id);
                 product.setStatus(Product.ProductStatus.PENDING);
             }
         }
 
         // Parse createdAt — may be stored as Firestore Timestamp OR ISO string
-        product.setCreatedAt(parseDateTime(document, "createdAt"));
-        product.setUpdatedAt(parseDateTime(document, "updatedAt"));
-        product.setSoldAt(parseDateTime(document, "soldAt"));
+        product.setCreatedAt(parseDateTime(data, id, "createdAt"));
+        product.setUpdatedAt(parseDateTime(data, id, "updatedAt"));
+        product.setSoldAt(parseDateTime(data, id, "soldAt"));
 
         return product;
     }
@@ -143,27 +153,23 @@ public class ProductService {
      * Safely parse a date/time field that may be stored as a Firestore Timestamp
      * OR as an ISO-8601 string. Returns null if the field is absent or unparseable.
      */
-    private LocalDateTime parseDateTime(DocumentSnapshot document, String field) {
-        // Try Firestore Timestamp first (most common when saved via Firebase SDK)
-        try {
-            Timestamp ts = document.getTimestamp(field);
-            if (ts != null) {
-                return ts.toDate().toInstant()
-                        .atZone(ZoneId.systemDefault())
-                        .toLocalDateTime();
-            }
-        } catch (Exception ignored) {
-            // Field exists but is not a Timestamp — fall through to String parsing
+    private LocalDateTime parseDateTime(Map<String, Object> data, String id, String field) {
+        Object value = data.get(field);
+
+        // Firestore Timestamp (most common when saved via Firebase SDK)
+        if (value instanceof Timestamp ts) {
+            return ts.toDate().toInstant()
+                    .atZone(ZoneId.systemDefault())
+                    .toLocalDateTime();
         }
 
-        // Fallback: try as ISO-8601 string
-        try {
-            String str = document.getString(field);
-            if (str != null && !str.isEmpty()) {
+        // Fallback: ISO-8601 string
+        if (value instanceof String str && !str.isEmpty()) {
+            try {
                 return LocalDateTime.parse(str);
+            } catch (Exception e) {
+                logger.warn("Could not parse date field '{}' for doc {}: {}", field, id, e.getMessage());
             }
-        } catch (Exception e) {
-            logger.warn("Could not parse date field '{}' for doc {}: {}", field, document.getId(), e.getMessage());
         }
 
         return null;
@@ -191,20 +197,15 @@ public class ProductService {
     public ProductResponseDTO updateProductStatus(String id, Product.ProductStatus status) 
             throws ExecutionException, InterruptedException {
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(id);
-        DocumentSnapshot document = docRef.get().get();
-
-        if (!document.exists()) {
-            throw new RuntimeException("Product not found with id: " + id);
-        }
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("status", status.toString());
         updates.put("updatedAt", LocalDateTime.now().toString());
 
-        docRef.update(updates).get();
-
-        // Return updated product
-        Product product = documentToProduct(docRef.get().get());
+        // Return updated product (merged locally, no re-read)
+        FirestoreMutations.MergedDocument updated =
+                FirestoreMutations.updateAndMerge(docRef, updates, "Product not found with id: " + id);
+        Product product = mapToProduct(updated.id(), updated.data());
         return productToDTO(product);
     }
 
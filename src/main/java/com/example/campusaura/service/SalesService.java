@@ -4,6 +4,7 @@ import com.example.campusaura.dto.ProductSaleDTO;
 import com.example.campusaura.dto.TicketSaleDTO;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "campusaura.service")
 public class SalesService {
 
     @Autowired
@@ -52,7 +54,7 @@ public class SalesService {
         List<QueryDocumentSnapshot> docs = firestore.collection(TICKET_SALES_COLLECTION)
                 .get().get().getDocuments();
 
-        return docs.stream().map(this::docToTicketSale)
+        return docs.stream().map(doc -> docToTicketSale(doc.getData()))
                 .sorted((a, b) -> {
                     String dateA = a.getPurchasedAt() != null ? a.getPurchasedAt() : "";
                     String dateB = b.getPurchasedAt() != null ? b.getPurchasedAt() : "";
@@ -61,8 +63,7 @@ public class SalesService {
                 .collect(Collectors.toList());
     }
 
-    private TicketSaleDTO docToTicketSale(QueryDocumentSnapshot doc) {
-        Map<String, Object> data = doc.getData();
+    TicketSaleDTO docToTicketSale(Map<String, Object> data) {
         TicketSaleDTO dto = new TicketSaleDTO();
         dto.setSaleId((String) data.get("saleId"));
         dto.setEventId((String) data.get("eventId"));
@@ -128,7 +129,7 @@ public class SalesService {
         List<QueryDocumentSnapshot> docs = firestore.collection(PRODUCT_SALES_COLLECTION)
                 .get().get().getDocuments();
 
-        return docs.stream().map(this::docToProductSale)
+        return docs.stream().map(doc -> docToProductSale(doc.getData()))
                 .sorted((a, b) -> {
                     String dateA = a.getPurchasedAt() != null ? a.getPurchasedAt() : "";
                     String dateB = b.getPurchasedAt() != null ? b.getPurchasedAt() : "";
@@ -138,8 +139,7 @@ public class SalesService {
     }
 
     @SuppressWarnings("unchecked")
-    private ProductSaleDTO docToProductSale(QueryDocumentSnapshot doc) {
-        Map<String, Object> data = doc.getData();
+    ProductSaleDTO docToProductSale(Map<String, Object> data) {
         ProductSaleDTO dto = new ProductSaleDTO();
         dto.setSaleId((String) data.get("saleId"));
         dto.setUserId((String) data.get("userId"));
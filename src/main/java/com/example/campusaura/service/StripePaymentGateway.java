@@ -0,0 +1,64 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.resilience.DownstreamGuard;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stripe implementation of PaymentGateway.
+ * Every call runs inside the Stripe bulkhead with a timeout and circuit breaker, and is
+ * observed (timer and trace span) including the time spent waiting for the bulkhead.
+ * The API key is passed per call rather than set globally at startup, so nothing Stripe
+ * is loaded until the first payment. Each call carries an idempotency key because the guard
+ * abandons slow calls that may already have reached Stripe.
+ */
+@Service
+public class StripePaymentGateway implements PaymentGateway {
+
+    private final DownstreamGuard stripeGuard;
+    private final ObservationRegistry observationRegistry;
+    private final String secretKey;
+
+    public StripePaymentGateway(@Qualifier("stripeGuard") DownstreamGuard stripeGuard,
+                                ObservationRegistry observationRegistry,
+                                @Value("${stripe.secret-key}") String secretKey) {
+        this.stripeGuard = stripeGuard;
+        this.observationRegistry = observationRegistry;
+        this.secretKey = secretKey;
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(PaymentIntentCreateParams params, String idempotencyKey)
+            throws StripeException {
+        RequestOptions options = RequestOptions.builder()
+                .setApiKey(secretKey)
+                .setIdempotencyKey(idempotencyKey)
+                .build();
+        return Observation.createNotStarted("campusaura.stripe.payment-intent.create", observationRegistry)
+                .contextualName("stripe PaymentIntent.create")
+                .observeChecked(() -> stripeGuard.execute(() -> PaymentIntent.create(params, options)));
+    }
+
+    /**
+     * Connection problems and 5xx/429 responses count against the circuit;
+     * card declines and invalid requests do not.
+     */
+    public static boolean isDownstreamFailure(Throwable error) {
+        if (error instanceof ApiConnectionException) {
+            return true;
+        }
+        if (error instanceof StripeException) {
+            Integer status = ((StripeException) error).getStatusCode();
+            return status == null || status >= 500 || status == 429;
+        }
+        return true;
+    }
+}
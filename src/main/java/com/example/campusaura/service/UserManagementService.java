@@ -3,6 +3,9 @@ package com.example.campusaura.service;
 import com.example.campusaura.dto.UserResponseDTO;
 import com.example.campusaura.dto.UserStatsDTO;
 import com.example.campusaura.model.User;
+import com.example.campusaura.repository.FirestoreMutations;
+import com.example.campusaura.repository.UserRepository;
+import com.example.campusaura.security.RoleClaims;
 import com.example.campusaura.security.Roles;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
@@ -25,6 +28,12 @@ public class UserManagementService {
     @Autowired
     private Firestore firestore;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleClaims roleClaims;
+
     private static final String COLLECTION_NAME = "users";
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -83,22 +92,29 @@ public class UserManagementService {
 
         if (uid == null || uid.isBlank()) throw new IllegalArgumentException("uid must not be null or blank");
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(uid);
-        assertExists(docRef, uid);
+        // A queued save carries the old "verified": let it land first
+        userRepository.awaitPendingSave(uid);
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("verified", verified);
         updates.put("updatedAt", Timestamp.now());
-        docRef.update(updates).get();
+        FirestoreMutations.MergedDocument updated =
+                FirestoreMutations.updateAndMerge(docRef, updates, "User not found with uid: " + uid);
 
-        return documentToDTO(docRef.get().get());
+        // The DTO only carries "verified" from the updates
+        UserResponseDTO dto = documentToDTO(updated.before());
+        dto.setVerified(verified);
+        return dto;
     }
 
-    /** Delete user document */
+    /** Delete user document, then drop the role claim and revoke the user's sessions */
     public void deleteUser(String uid) throws ExecutionException, InterruptedException {
         if (uid == null || uid.isBlank()) throw new IllegalArgumentException("uid must not be null or blank");
         DocumentReference docRef = firestore.collection(COLLECTION_NAME).document(uid);
-        assertExists(docRef, uid);
-        docRef.delete().get();
+        // A queued save would recreate the document
+        userRepository.discardPendingSave(uid);
+        FirestoreMutations.deleteExisting(docRef, "User not found with uid: " + uid);
+        roleClaims.clear(uid);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -135,11 +151,4 @@ public class UserManagementService {
         dto.setCreatedAt(user.getCreatedAt());
         return dto;
     }
-
-    private void assertExists(DocumentReference docRef, String uid)
-            throws ExecutionException, InterruptedException {
-        if (!docRef.get().get().exists()) {
-            throw new RuntimeException("User not found with uid: " + uid);
-        }
-    }
 }
@@ -2,6 +2,7 @@ package com.example.campusaura.service;
 
 import com.example.campusaura.model.User;
 import com.example.campusaura.repository.UserRepository;
+import com.example.campusaura.security.RoleClaims;
 import com.example.campusaura.security.Roles;
 import com.example.campusaura.service.UserService;
 import com.example.campusaura.util.EmailValidator;
@@ -10,6 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Implementation of UserService.
  * Handles user creation and synchronization with Firebase Auth.
@@ -21,42 +28,87 @@ public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
+    private final RoleClaims roleClaims;
+
+    // First-login requests for the same UID that are currently creating the user
+    private final Map<String, CompletableFuture<User>> creating = new ConcurrentHashMap<>();
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, RoleClaims roleClaims) {
         this.userRepository = userRepository;
+        this.roleClaims = roleClaims;
     }
 
+    /**
+     * Returns the user, creating it on first login.
+     *
+     * Concurrent first-login requests for the same UID share one creation, and the
+     * document is written with a fail-if-exists create, so exactly one write happens per
+     * new user even across instances. A request that loses the race reads the stored user.
+     */
     @Override
     public User getOrCreateUser(String uid, String email, String name) {
         logger.debug("Getting or creating user: {}", uid);
 
-        return userRepository.findByUid(uid)
-                .orElseGet(() -> {
-                    logger.info("Creating new user in Firestore: {}", uid);
-
-                    // Enforce email domain rule
-                    boolean isUniversityEmail = EmailValidator.isUniversityEmail(email);
-
-                    // University emails → STUDENT, Others → EXTERNAL_USER
-                    String role = isUniversityEmail ? Roles.STUDENT : Roles.EXTERNAL_USER;
+        Optional<User> existing = userRepository.findByUid(uid);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
 
-                    logger.info("Assigning role {} to user {} (university email: {})",
-                            role, uid, isUniversityEmail);
+        CompletableFuture<User> creation = new CompletableFuture<>();
+        CompletableFuture<User> inProgress = creating.putIfAbsent(uid, creation);
+        if (inProgress != null) {
+            logger.debug("Joining in-flight creation of user: {}", uid);
+            try {
+                return inProgress.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
 
-                    User newUser = User.builder()
-                            .uid(uid)
-                            .email(email)
-                            .name(name)
-                            .role(role)          // Role based on email domain
-                            .verified(false)     // not verified by default
-                            .createdAt(Timestamp.now())
-                            .build();
+        try {
+            User user = createUser(uid, email, name);
+            creation.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            creation.completeExceptionally(e);
+            throw e;
+        } finally {
+            creating.remove(uid, creation);
+        }
+    }
 
-                    userRepository.save(newUser);
-                    logger.info("New user created successfully: {} with role: {}", uid, role);
+    private User createUser(String uid, String email, String name) {
+        logger.info("Creating new user in Firestore: {}", uid);
+
+        // Enforce email domain rule
+        boolean isUniversityEmail = EmailValidator.isUniversityEmail(email);
+
+        // University emails → STUDENT, Others → EXTERNAL_USER
+        String role = isUniversityEmail ? Roles.STUDENT : Roles.EXTERNAL_USER;
+
+        logger.info("Assigning role {} to user {} (university email: {})",
+                role, uid, isUniversityEmail);
+
+        User newUser = User.builder()
+                .uid(uid)
+                .email(email)
+                .name(name)
+                .role(role)          // Role based on email domain
+                .verified(false)     // not verified by default
+                .createdAt(Timestamp.now())
+                .build();
+
+        if (!userRepository.create(newUser)) {
+            // Another instance created it first: use the stored document. Read it directly, since
+            // a shared read or a cached miss from before the create would still say it is missing
+            logger.info("User {} was created concurrently, loading it", uid);
+            return userRepository.findStoredByUid(uid)
+                    .orElseThrow(() -> new RuntimeException("User not found: " + uid));
+        }
+        roleClaims.publish(uid, role);
+        logger.info("New user created successfully: {} with role: {}", uid, role);
 
-                    return newUser;
-                });
+        return newUser;
     }
 
     @Override
@@ -85,8 +137,10 @@ public class UserServiceImpl implements UserService {
             );
         }
 
+        String previousRole = user.getRole();
         user.setRole(newRole);
         userRepository.save(user);
+        roleClaims.publishChange(uid, previousRole, newRole);
 
         logger.info("Successfully updated role for user {} to {}", uid, newRole);
     }
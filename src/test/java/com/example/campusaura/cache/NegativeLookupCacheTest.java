@@ -0,0 +1,74 @@
+package com.example.campusaura.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeLookupCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private SimpleMeterRegistry meterRegistry;
+    private NegativeLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new NegativeLookupCache(Duration.ofSeconds(30), 100, 0.01, meterRegistry, ticker);
+    }
+
+    @Test
+    void missingEntryExpiresAfterTtl() {
+        cache.markMissing("events", "e1", cache.beginLookup());
+        assertThat(cache.isKnownMissing("events", "e1")).isTrue();
+        assertThat(cache.isKnownMissing("products", "e1")).isFalse();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertThat(cache.isKnownMissing("events", "e1")).isFalse();
+    }
+
+    @Test
+    void markPresentClearsMissingEntry() {
+        cache.markMissing("users", "u1", cache.beginLookup());
+        cache.markPresent("users", "u1");
+
+        assertThat(cache.isKnownMissing("users", "u1")).isFalse();
+    }
+
+    @Test
+    void lookupThatStartedBeforeSaveDoesNotMarkMissing() {
+        long lookup = cache.beginLookup();
+        cache.markPresent("events", "e1");
+        cache.markMissing("events", "e1", lookup);
+
+        assertThat(cache.isKnownMissing("events", "e1")).isFalse();
+
+        cache.markMissing("events", "e1", cache.beginLookup());
+        assertThat(cache.isKnownMissing("events", "e1")).isTrue();
+    }
+
+    @Test
+    void knownIdsRejectUnknownAndAcceptNewlyCreated() {
+        assertThat(cache.isKnownMissing("events", "unknown")).isFalse();
+
+        cache.replaceKnownIds("events", List.of("e1", "e2"));
+        assertThat(cache.isKnownMissing("events", "e1")).isFalse();
+        assertThat(cache.isKnownMissing("events", "unknown")).isTrue();
+
+        cache.markPresent("events", "e3");
+        assertThat(cache.isKnownMissing("events", "e3")).isFalse();
+
+        cache.clearKnownIds("events");
+        assertThat(cache.isKnownMissing("events", "unknown")).isFalse();
+        assertThat(meterRegistry.get("campusaura.cache.negative.lookups")
+                .tag("result", "bloom_reject").counter().count()).isEqualTo(1.0);
+    }
+}
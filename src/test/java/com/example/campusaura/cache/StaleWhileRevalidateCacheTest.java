@@ -0,0 +1,139 @@
+package com.example.campusaura.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaleWhileRevalidateCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(
+            "test", Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofHours(1),
+            Duration.ofMillis(50), 100, executor, new SimpleMeterRegistry(), nanos::get);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void servesFreshValueWithoutReloading() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("k", () -> "v" + loads.incrementAndGet());
+
+        advance(Duration.ofSeconds(5));
+        CachedResult<String> result = cache.get("k", () -> "v" + loads.incrementAndGet());
+
+        assertThat(result.getValue()).isEqualTo("v1");
+        assertThat(result.isStale()).isFalse();
+        assertThat(result.getAgeSeconds()).isEqualTo(5);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleValueImmediatelyAndRefreshesInBackground() throws Exception {
+        cache.get("k", () -> "old");
+        advance(Duration.ofSeconds(30));
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        CachedResult<String> stale = cache.get("k", () -> {
+            refreshed.countDown();
+            return "new";
+        });
+
+        assertThat(stale.getValue()).isEqualTo("old");
+        assertThat(stale.isStale()).isTrue();
+        assertThat(refreshed.await(1, TimeUnit.SECONDS)).isTrue();
+        awaitQuietly();
+        assertThat(cache.<String>get("k", () -> "unused").getValue()).isEqualTo("new");
+    }
+
+    @Test
+    void servesStaleValueWhenFirestoreFails() throws Exception {
+        cache.get("k", () -> "last-good");
+        advance(Duration.ofMinutes(5));
+
+        CachedResult<String> result = cache.get("k", () -> {
+            throw new ExecutionException(new RuntimeException("UNAVAILABLE"));
+        });
+
+        assertThat(result.getValue()).isEqualTo("last-good");
+        assertThat(result.isStale()).isTrue();
+        assertThat(result.isRevalidationFailed()).isTrue();
+        assertThat(result.getAgeSeconds()).isEqualTo(300);
+    }
+
+    @Test
+    void servesStaleValueWhenRefreshExceedsLatencyBudget() throws Exception {
+        cache.get("k", () -> "last-good");
+        advance(Duration.ofMinutes(5));
+
+        CountDownLatch release = new CountDownLatch(1);
+        CachedResult<String> result = cache.get("k", () -> {
+            release.await();
+            return "slow";
+        });
+        release.countDown();
+
+        assertThat(result.getValue()).isEqualTo("last-good");
+        assertThat(result.isStale()).isTrue();
+    }
+
+    @Test
+    void propagatesDomainErrorsAndEvicts() throws Exception {
+        cache.get("k", () -> "v");
+        advance(Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new RuntimeException("Event not found with id: k");
+        })).hasMessageContaining("not found");
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("k", () -> "v" + loads.incrementAndGet());
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshStartedBeforeInvalidationIsNotStored() throws Exception {
+        cache.get("k", () -> "old");
+        advance(Duration.ofSeconds(30));
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        cache.get("k", () -> {
+            loading.countDown();
+            release.await();
+            return "pre-write";
+        });
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        cache.invalidateAll();
+        release.countDown();
+        awaitQuietly();
+
+        assertThat(cache.<String>get("k", () -> "post-write").getValue()).isEqualTo("post-write");
+    }
+
+    @Test
+    void missPropagatesBackendFailure() {
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new ExecutionException(new RuntimeException("UNAVAILABLE"));
+        })).isInstanceOf(ExecutionException.class);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private void awaitQuietly() throws Exception {
+        executor.submit(() -> { }).get(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.firestore.InMemoryFirestore;
+import com.example.campusaura.observability.FirestoreMetricsInterceptor;
+import com.example.campusaura.observability.FirestoreQueryProfiler;
+import com.google.cloud.firestore.Firestore;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Test configuration that backs the Firestore bean with an {@link InMemoryFirestore},
+ * for load and performance tests that need real query behaviour and realistic latency.
+ * The client is metered and profiled like the production one.
+ */
+@TestConfiguration
+public class InMemoryFirestoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public InMemoryFirestore inMemoryFirestore() {
+        return new InMemoryFirestore();
+    }
+
+    @Bean
+    @Primary
+    public Firestore firestore(InMemoryFirestore inMemoryFirestore,
+                               FirestoreMetricsInterceptor firestoreMetricsInterceptor,
+                               FirestoreQueryProfiler firestoreQueryProfiler) {
+        return inMemoryFirestore.newClient(firestoreMetricsInterceptor, firestoreQueryProfiler);
+    }
+}
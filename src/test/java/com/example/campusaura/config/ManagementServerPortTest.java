@@ -0,0 +1,40 @@
+package com.example.campusaura.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ManagementServerPortTest {
+
+    private final ManagementServerPort managementServerPort = new ManagementServerPort();
+
+    @Test
+    void acceptsOnlyRequestsOnTheManagementServerThatStarted() {
+        managementServerPort.onApplicationEvent(started(null, 8080));
+        assertThat(managementServerPort.accepted(requestOn(8080))).isFalse();
+
+        managementServerPort.onApplicationEvent(started("management", 9090));
+        assertThat(managementServerPort.accepted(requestOn(9090))).isTrue();
+        assertThat(managementServerPort.accepted(requestOn(8080))).isFalse();
+    }
+
+    private static ServletWebServerInitializedEvent started(String namespace, int port) {
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.getPort()).thenReturn(port);
+        ServletWebServerApplicationContext context = mock(ServletWebServerApplicationContext.class);
+        when(context.getServerNamespace()).thenReturn(namespace);
+        return new ServletWebServerInitializedEvent(webServer, context);
+    }
+
+    private static MockHttpServletRequest requestOn(int port) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setLocalPort(port);
+        return request;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.campusaura.config;
+
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
+import com.example.campusaura.controller.PaymentController;
+import com.example.campusaura.repository.WriteBehindQueue;
+import com.example.campusaura.security.FirebaseAuthFilter;
+import com.example.campusaura.security.OfflineTokenVerifier;
+import com.example.campusaura.service.StripePaymentGateway;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupConfigTest {
+
+    @Test
+    void keepsRequestPathAndBackgroundBeansEager() {
+        assertThat(StartupConfig.isEager(PaymentController.class)).isTrue();
+        assertThat(StartupConfig.isEager(FirebaseAuthFilter.class)).isTrue();
+        assertThat(StartupConfig.isEager(OfflineTokenVerifier.class)).isTrue();
+        assertThat(StartupConfig.isEager(WriteBehindQueue.class)).isTrue();
+
+        assertThat(StartupConfig.isEager(StripePaymentGateway.class)).isFalse();
+        assertThat(StartupConfig.isEager(StaleWhileRevalidateCache.class)).isFalse();
+        assertThat(StartupConfig.isEager(null)).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.campusaura.controller;
+
+import com.example.campusaura.dto.BulkActionRequestDTO;
+import com.example.campusaura.service.BulkAdminService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminControllerTest {
+
+    private final BulkAdminService bulkAdminService = mock(BulkAdminService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AdminController controller = new AdminController();
+        ReflectionTestUtils.setField(controller, "bulkAdminService", bulkAdminService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void rejectedBulkRequestsExplainWhy() throws Exception {
+        when(bulkAdminService.approveEvents(any(BulkActionRequestDTO.class)))
+                .thenThrow(new IllegalArgumentException("Filter matches 6000 items, at most 5000 per job"));
+
+        mockMvc.perform(post("/api/admin/events/bulk/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\": {\"status\": \"PENDING\"}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Filter matches 6000 items, at most 5000 per job"));
+    }
+
+    @Test
+    void malformedBulkRequestsGetAnErrorBody() throws Exception {
+        mockMvc.perform(post("/api/admin/events/bulk/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Malformed request body"));
+    }
+}
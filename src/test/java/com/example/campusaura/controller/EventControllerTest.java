@@ -0,0 +1,81 @@
+package com.example.campusaura.controller;
+
+import com.example.campusaura.cache.CachedResult;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
+import com.example.campusaura.dto.LandingPageEventDTO;
+import com.example.campusaura.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EventControllerTest {
+
+    private final EventService eventService = mock(EventService.class);
+    private final StaleWhileRevalidateCache publicEventsCache = mock(StaleWhileRevalidateCache.class);
+    private final Set<String> cacheKeys = new HashSet<>();
+    private final EventController controller = new EventController();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(controller, "eventService", eventService);
+        ReflectionTestUtils.setField(controller, "publicEventsCache", publicEventsCache);
+        when(publicEventsCache.get(anyString(), any())).thenAnswer(invocation -> {
+            cacheKeys.add(invocation.getArgument(0));
+            StaleWhileRevalidateCache.Loader<?> loader = invocation.getArgument(1);
+            return new CachedResult<>(loader.load(), 0, false, false);
+        });
+    }
+
+    @Test
+    void latestLimitsShareOneCacheEntryAndAreCapped() throws Exception {
+        when(eventService.getLatestEvents(20)).thenReturn(events(25));
+
+        ResponseEntity<?> three = controller.getPublicLatestEvents(3);
+        ResponseEntity<?> huge = controller.getPublicLatestEvents(1_000_000);
+        controller.getPublicLatestEvents(-5);
+        controller.getLatestEvents();
+
+        assertThat((List<?>) three.getBody()).hasSize(3);
+        assertThat((List<?>) huge.getBody()).hasSize(20);
+        assertThat(cacheKeys).containsExactly("latest");
+    }
+
+    @Test
+    void publicEventsCacheOnlyKnownSortOrdersAndFilterCategoriesPerRequest() throws Exception {
+        List<LandingPageEventDTO> all = events(4);
+        all.get(0).setCategory("Sports");
+        all.get(1).setCategory("Technology");
+        when(eventService.getPublicEvents(eq("All"), anyString())).thenReturn(all);
+
+        ResponseEntity<?> sports = controller.getPublicEvents("sports", "upcoming");
+        controller.getPublicEvents("anything-" + System.nanoTime(), "upcoming");
+        controller.getPublicEvents("All", "no-such-order");
+
+        assertThat((List<?>) sports.getBody()).singleElement()
+                .satisfies(event -> assertThat(((LandingPageEventDTO) event).getCategory()).isEqualTo("Sports"));
+        assertThat(cacheKeys).containsExactlyInAnyOrder("public:all:upcoming", "public:all:latest");
+        verify(eventService, never()).getPublicEvents(eq("sports"), anyString());
+    }
+
+    private static List<LandingPageEventDTO> events(int count) {
+        List<LandingPageEventDTO> events = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> {
+            LandingPageEventDTO event = new LandingPageEventDTO();
+            event.setEventId("e" + i);
+            events.add(event);
+        });
+        return events;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.campusaura.controller;
+
+import com.example.campusaura.load.FakeTokenVerifier;
+import com.example.campusaura.load.LoadTestConfig;
+import com.example.campusaura.security.Roles;
+import com.google.cloud.firestore.Firestore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posting feedback answers asynchronously; the response must still pass the security chain.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.tracing.sampling.probability=0.0",
+        "tracing.exporter=none"
+})
+@ActiveProfiles("test")
+@Import(LoadTestConfig.class)
+class FeedbackControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Firestore firestore;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void answersCreatedOnceTheFeedbackIsCommittedAndListsIt() throws Exception {
+        firestore.collection("users").document("student-1")
+                .set(Map.of("uid", "student-1", "email", "student-1@campus.test", "name", "Student One",
+                        "role", Roles.STUDENT))
+                .get();
+
+        HttpResponse<String> posted = client.send(HttpRequest.newBuilder(uri("/api/events/e1/feedback"))
+                        .header("Authorization", "Bearer " + FakeTokenVerifier.token("student-1", Roles.STUDENT))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"Great talk\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(posted.statusCode()).as(posted.body()).isEqualTo(201);
+        assertThat(posted.body()).contains("\"text\":\"Great talk\"");
+
+        HttpResponse<String> listed = client.send(HttpRequest.newBuilder(uri("/api/events/public/e1/feedback")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(listed.body()).contains("Great talk");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
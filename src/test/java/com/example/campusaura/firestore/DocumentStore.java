@@ -0,0 +1,455 @@
+package com.example.campusaura.firestore;
+
+import com.google.firestore.v1.Cursor;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.DocumentTransform;
+import com.google.firestore.v1.Precondition;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Value;
+import com.google.firestore.v1.Write;
+import com.google.firestore.v1.WriteResult;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The documents of the in-memory Firestore, with the server-side semantics of commits
+ * (preconditions, field masks, transforms) and structured queries.
+ */
+final class DocumentStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; keyed by full document name
+    private final TreeMap<String, Document> documents = new TreeMap<>();
+    private final AtomicLong lastMicros = new AtomicLong();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    record CommitResult(List<WriteResult> writeResults, Timestamp commitTime) {}
+
+    /**
+     * Strictly increasing server time, so every commit has a distinct update time.
+     */
+    Timestamp now() {
+        long micros = lastMicros.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis() * 1000));
+        return Timestamp.newBuilder().setSeconds(micros / 1_000_000).setNanos((int) (micros % 1_000_000) * 1000).build();
+    }
+
+    Document get(String name) {
+        lock.readLock().lock();
+        try {
+            return documents.get(name);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changeListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Registers a callback run after every commit; returns the action that removes it.
+     */
+    Runnable addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+        return () -> changeListeners.remove(listener);
+    }
+
+    /**
+     * Applies all writes atomically: either every precondition holds and all are applied,
+     * or a StatusRuntimeException is thrown and nothing changes.
+     */
+    CommitResult commit(List<Write> writes) {
+        CommitResult result;
+        lock.writeLock().lock();
+        try {
+            Timestamp commitTime = now();
+            Map<String, Optional<Document>> staged = new HashMap<>();
+            List<WriteResult> results = new ArrayList<>(writes.size());
+            for (Write write : writes) {
+                results.add(apply(write, staged, commitTime));
+            }
+            staged.forEach((name, document) -> {
+                if (document.isPresent()) {
+                    documents.put(name, document.get());
+                } else {
+                    documents.remove(name);
+                }
+            });
+            result = new CommitResult(results, commitTime);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changeListeners.forEach(Runnable::run);
+        return result;
+    }
+
+    List<Document> query(String parent, StructuredQuery query) {
+        List<Document> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (StructuredQuery.CollectionSelector from : query.getFromList()) {
+                String prefix = parent + "/" + (from.getAllDescendants() ? "" : from.getCollectionId() + "/");
+                for (Document document : documents.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                    if (inCollection(document.getName(), prefix, from) && (!query.hasWhere() || matches(document, query.getWhere()))) {
+                        matches.add(document);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<StructuredQuery.Order> order = effectiveOrder(query);
+        matches.removeIf(document -> order.stream().anyMatch(o -> fieldValue(document, o.getField().getFieldPath()) == null));
+        matches.sort(comparator(order));
+        if (query.hasStartAt()) {
+            Cursor start = query.getStartAt();
+            matches.removeIf(document -> {
+                int position = compareToCursor(document, order, start);
+                return start.getBefore() ? position < 0 : position <= 0;
+            });
+        }
+        if (query.hasEndAt()) {
+            Cursor end = query.getEndAt();
+            matches.removeIf(document -> {
+                int position = compareToCursor(document, order, end);
+                return end.getBefore() ? position >= 0 : position > 0;
+            });
+        }
+        int from = Math.min(query.getOffset(), matches.size());
+        int to = query.hasLimit() ? Math.min(matches.size(), from + query.getLimit().getValue()) : matches.size();
+        List<Document> page = matches.subList(from, to);
+        if (!query.hasSelect()) {
+            return new ArrayList<>(page);
+        }
+        List<String> fields = query.getSelect().getFieldsList().stream()
+                .map(StructuredQuery.FieldReference::getFieldPath)
+                .toList();
+        return page.stream().map(document -> project(document, fields)).toList();
+    }
+
+    static Document project(Document document, List<String> fieldPaths) {
+        Map<String, Value> fields = new TreeMap<>();
+        for (String path : fieldPaths) {
+            Value value = FirestoreValues.NAME_FIELD.equals(path) ? null : FirestoreValues.get(document.getFieldsMap(), path);
+            if (value != null) {
+                FirestoreValues.set(fields, path, value);
+            }
+        }
+        return document.toBuilder().clearFields().putAllFields(fields).build();
+    }
+
+    private static boolean inCollection(String name, String prefix, StructuredQuery.CollectionSelector from) {
+        String rest = name.substring(prefix.length());
+        if (!from.getAllDescendants()) {
+            return rest.indexOf('/') < 0;
+        }
+        String[] segments = rest.split("/");
+        return segments.length >= 2 && segments[segments.length - 2].equals(from.getCollectionId());
+    }
+
+    private WriteResult apply(Write write, Map<String, Optional<Document>> staged, Timestamp commitTime) {
+        String name = write.hasDelete() ? write.getDelete()
+                : write.hasUpdate() ? write.getUpdate().getName() : write.getTransform().getDocument();
+        Optional<Document> stagedDocument = staged.get(name);
+        Document existing = stagedDocument != null ? stagedDocument.orElse(null) : documents.get(name);
+
+        if (write.hasCurrentDocument()) {
+            checkPrecondition(write.getCurrentDocument(), existing, name);
+        }
+        if (write.hasDelete()) {
+            staged.put(name, Optional.empty());
+            return WriteResult.newBuilder().setUpdateTime(commitTime).build();
+        }
+
+        Map<String, Value> fields;
+        if (write.hasUpdate() && !write.hasUpdateMask()) {
+            fields = new TreeMap<>(write.getUpdate().getFieldsMap());
+        } else {
+            fields = new TreeMap<>(existing != null ? existing.getFieldsMap() : Map.of());
+            for (String path : write.getUpdateMask().getFieldPathsList()) {
+                Value value = FirestoreValues.get(write.getUpdate().getFieldsMap(), path);
+                if (value != null) {
+                    FirestoreValues.set(fields, path, value);
+                } else {
+                    FirestoreValues.delete(fields, path);
+                }
+            }
+        }
+
+        List<DocumentTransform.FieldTransform> transforms = write.hasTransform()
+                ? write.getTransform().getFieldTransformsList() : write.getUpdateTransformsList();
+        WriteResult.Builder result = WriteResult.newBuilder().setUpdateTime(commitTime);
+        for (DocumentTransform.FieldTransform transform : transforms) {
+            Value value = transform(transform, FirestoreValues.get(fields, transform.getFieldPath()), commitTime);
+            FirestoreValues.set(fields, transform.getFieldPath(), value);
+            result.addTransformResults(value);
+        }
+
+        staged.put(name, Optional.of(Document.newBuilder()
+                .setName(name)
+                .putAllFields(fields)
+                .setCreateTime(existing != null ? existing.getCreateTime() : commitTime)
+                .setUpdateTime(commitTime)
+                .build()));
+        return result.build();
+    }
+
+    private static void checkPrecondition(Precondition precondition, Document existing, String name) {
+        if (precondition.hasExists()) {
+            if (precondition.getExists() && existing == null) {
+                throw Status.NOT_FOUND.withDescription("No document to update: " + name).asRuntimeException();
+            }
+            if (!precondition.getExists() && existing != null) {
+                throw Status.ALREADY_EXISTS.withDescription("Document already exists: " + name).asRuntimeException();
+            }
+        }
+        if (precondition.hasUpdateTime()
+                && (existing == null || !existing.getUpdateTime().equals(precondition.getUpdateTime()))) {
+            throw Status.FAILED_PRECONDITION.withDescription("Document was modified: " + name).asRuntimeException();
+        }
+    }
+
+    private static Value transform(DocumentTransform.FieldTransform transform, Value current, Timestamp commitTime) {
+        switch (transform.getTransformTypeCase()) {
+            case SET_TO_SERVER_VALUE:
+                return Value.newBuilder().setTimestampValue(commitTime).build();
+            case INCREMENT:
+                return numeric(current, transform.getIncrement(), Math::addExact, Double::sum);
+            case MAXIMUM:
+                return numeric(current, transform.getMaximum(), Math::max, Math::max);
+            case MINIMUM:
+                return numeric(current, transform.getMinimum(), Math::min, Math::min);
+            case APPEND_MISSING_ELEMENTS: {
+                List<Value> values = new ArrayList<>(current != null && current.hasArrayValue()
+                        ? current.getArrayValue().getValuesList() : List.of());
+                for (Value element : transform.getAppendMissingElements().getValuesList()) {
+                    if (values.stream().noneMatch(v -> FirestoreValues.equal(v, element))) {
+                        values.add(element);
+                    }
+                }
+                return FirestoreValues.array(values);
+            }
+            case REMOVE_ALL_FROM_ARRAY: {
+                List<Value> values = new ArrayList<>(current != null && current.hasArrayValue()
+                        ? current.getArrayValue().getValuesList() : List.of());
+                values.removeIf(v -> transform.getRemoveAllFromArray().getValuesList().stream()
+                        .anyMatch(removed -> FirestoreValues.equal(v, removed)));
+                return FirestoreValues.array(values);
+            }
+            default:
+                throw Status.UNIMPLEMENTED.withDescription("Transform " + transform.getTransformTypeCase())
+                        .asRuntimeException();
+        }
+    }
+
+    private interface LongOp {
+        long apply(long a, long b);
+    }
+
+    private interface DoubleOp {
+        double apply(double a, double b);
+    }
+
+    private static Value numeric(Value current, Value operand, LongOp longOp, DoubleOp doubleOp) {
+        if (current == null || !FirestoreValues.isNumber(current)) {
+            return operand;
+        }
+        if (current.hasIntegerValue() && operand.hasIntegerValue()) {
+            return Value.newBuilder().setIntegerValue(longOp.apply(current.getIntegerValue(), operand.getIntegerValue())).build();
+        }
+        return Value.newBuilder()
+                .setDoubleValue(doubleOp.apply(FirestoreValues.asDouble(current), FirestoreValues.asDouble(operand)))
+                .build();
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    static boolean matches(Document document, StructuredQuery.Filter filter) {
+        switch (filter.getFilterTypeCase()) {
+            case COMPOSITE_FILTER: {
+                StructuredQuery.CompositeFilter composite = filter.getCompositeFilter();
+                if (composite.getOp() == StructuredQuery.CompositeFilter.Operator.OR) {
+                    return composite.getFiltersList().stream().anyMatch(f -> matches(document, f));
+                }
+                return composite.getFiltersList().stream().allMatch(f -> matches(document, f));
+            }
+            case FIELD_FILTER:
+                return matches(document, filter.getFieldFilter());
+            case UNARY_FILTER: {
+                StructuredQuery.UnaryFilter unary = filter.getUnaryFilter();
+                Value value = fieldValue(document, unary.getField().getFieldPath());
+                if (value == null) {
+                    return false;
+                }
+                switch (unary.getOp()) {
+                    case IS_NULL:
+                        return value.hasNullValue();
+                    case IS_NOT_NULL:
+                        return !value.hasNullValue();
+                    case IS_NAN:
+                        return FirestoreValues.isNaN(value);
+                    case IS_NOT_NAN:
+                        return !FirestoreValues.isNaN(value);
+                    default:
+                        return false;
+                }
+            }
+            default:
+                return true;
+        }
+    }
+
+    private static boolean matches(Document document, StructuredQuery.FieldFilter filter) {
+        Value value = fieldValue(document, filter.getField().getFieldPath());
+        if (value == null) {
+            // Documents without the field never match, not even != and not-in
+            return false;
+        }
+        Value operand = filter.getValue();
+        switch (filter.getOp()) {
+            case EQUAL:
+                return FirestoreValues.equal(value, operand);
+            case NOT_EQUAL:
+                return !value.hasNullValue() && !FirestoreValues.equal(value, operand);
+            case LESS_THAN:
+                return FirestoreValues.sameTypeClass(value, operand) && FirestoreValues.compare(value, operand) < 0;
+            case LESS_THAN_OR_EQUAL:
+                return FirestoreValues.sameTypeClass(value, operand) && FirestoreValues.compare(value, operand) <= 0;
+            case GREATER_THAN:
+                return FirestoreValues.sameTypeClass(value, operand) && FirestoreValues.compare(value, operand) > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return FirestoreValues.sameTypeClass(value, operand) && FirestoreValues.compare(value, operand) >= 0;
+            case ARRAY_CONTAINS:
+                return value.hasArrayValue()
+                        && value.getArrayValue().getValuesList().stream().anyMatch(v -> FirestoreValues.equal(v, operand));
+            case IN:
+                return operand.getArrayValue().getValuesList().stream().anyMatch(v -> FirestoreValues.equal(value, v));
+            case ARRAY_CONTAINS_ANY:
+                return value.hasArrayValue() && value.getArrayValue().getValuesList().stream()
+                        .anyMatch(v -> operand.getArrayValue().getValuesList().stream()
+                                .anyMatch(o -> FirestoreValues.equal(v, o)));
+            case NOT_IN:
+                return !value.hasNullValue() && operand.getArrayValue().getValuesList().stream()
+                        .noneMatch(v -> FirestoreValues.equal(value, v));
+            default:
+                throw Status.UNIMPLEMENTED.withDescription("Operator " + filter.getOp()).asRuntimeException();
+        }
+    }
+
+    static Value fieldValue(Document document, String fieldPath) {
+        if (FirestoreValues.NAME_FIELD.equals(fieldPath)) {
+            return Value.newBuilder().setReferenceValue(document.getName()).build();
+        }
+        return FirestoreValues.get(document.getFieldsMap(), fieldPath);
+    }
+
+    /**
+     * Explicit orderBy, then the first inequality field if not ordered, then __name__
+     * in the direction of the last order (what the server applies).
+     */
+    private static List<StructuredQuery.Order> effectiveOrder(StructuredQuery query) {
+        List<StructuredQuery.Order> order = new ArrayList<>(query.getOrderByList());
+        if (order.isEmpty() && query.hasWhere()) {
+            String inequality = firstInequalityField(query.getWhere());
+            if (inequality != null) {
+                order.add(order(inequality, StructuredQuery.Direction.ASCENDING));
+            }
+        }
+        boolean hasName = order.stream().anyMatch(o -> FirestoreValues.NAME_FIELD.equals(o.getField().getFieldPath()));
+        if (!hasName) {
+            StructuredQuery.Direction direction = order.isEmpty()
+                    ? StructuredQuery.Direction.ASCENDING : order.get(order.size() - 1).getDirection();
+            order.add(order(FirestoreValues.NAME_FIELD, direction));
+        }
+        return order;
+    }
+
+    private static String firstInequalityField(StructuredQuery.Filter filter) {
+        if (filter.hasCompositeFilter()) {
+            for (StructuredQuery.Filter child : filter.getCompositeFilter().getFiltersList()) {
+                String field = firstInequalityField(child);
+                if (field != null) {
+                    return field;
+                }
+            }
+            return null;
+        }
+        if (filter.hasFieldFilter()) {
+            switch (filter.getFieldFilter().getOp()) {
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                case NOT_EQUAL:
+                case NOT_IN:
+                    return filter.getFieldFilter().getField().getFieldPath();
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static StructuredQuery.Order order(String field, StructuredQuery.Direction direction) {
+        return StructuredQuery.Order.newBuilder()
+                .setField(StructuredQuery.FieldReference.newBuilder().setFieldPath(field))
+                .setDirection(direction)
+                .build();
+    }
+
+    private static Comparator<Document> comparator(List<StructuredQuery.Order> order) {
+        return (a, b) -> {
+            for (StructuredQuery.Order o : order) {
+                String path = o.getField().getFieldPath();
+                int result = FirestoreValues.NAME_FIELD.equals(path)
+                        ? FirestoreValues.compareNames(a.getName(), b.getName())
+                        : FirestoreValues.compare(fieldValue(a, path), fieldValue(b, path));
+                if (result != 0) {
+                    return o.getDirection() == StructuredQuery.Direction.DESCENDING ? -result : result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static int compareToCursor(Document document, List<StructuredQuery.Order> order, Cursor cursor) {
+        for (int i = 0; i < cursor.getValuesCount() && i < order.size(); i++) {
+            StructuredQuery.Order o = order.get(i);
+            Value bound = cursor.getValues(i);
+            int result = FirestoreValues.NAME_FIELD.equals(o.getField().getFieldPath())
+                    ? FirestoreValues.compareNames(document.getName(), bound.getReferenceValue())
+                    : FirestoreValues.compare(fieldValue(document, o.getField().getFieldPath()), bound);
+            if (result != 0) {
+                return o.getDirection() == StructuredQuery.Direction.DESCENDING ? -result : result;
+            }
+        }
+        return 0;
+    }
+}
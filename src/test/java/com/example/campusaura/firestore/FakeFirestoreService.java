@@ -0,0 +1,380 @@
+package com.example.campusaura.firestore;
+
+import com.google.firestore.v1.AggregationResult;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteRequest;
+import com.google.firestore.v1.BatchWriteResponse;
+import com.google.firestore.v1.BeginTransactionRequest;
+import com.google.firestore.v1.BeginTransactionResponse;
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.DocumentChange;
+import com.google.firestore.v1.DocumentDelete;
+import com.google.firestore.v1.ListenRequest;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.RollbackRequest;
+import com.google.firestore.v1.RunAggregationQueryRequest;
+import com.google.firestore.v1.RunAggregationQueryResponse;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.StructuredAggregationQuery;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Target;
+import com.google.firestore.v1.TargetChange;
+import com.google.firestore.v1.Value;
+import com.google.firestore.v1.Write;
+import com.google.firestore.v1.WriteResult;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Empty;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.google.rpc.Code;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * google.firestore.v1.Firestore served from a {@link DocumentStore}, with the faults of a
+ * {@link FirestoreFaults} applied at the start of every call.
+ *
+ * Transactions are accepted but not isolated: commits apply immediately, and
+ * reads see the latest data. Listen supports one target per stream, which is what the SDK
+ * opens for each snapshot listener.
+ */
+final class FakeFirestoreService {
+
+    private static final String SERVICE = "google.firestore.v1.Firestore";
+
+    private final DocumentStore store;
+    private final FirestoreFaults faults;
+
+    FakeFirestoreService(DocumentStore store, FirestoreFaults faults) {
+        this.store = store;
+        this.faults = faults;
+    }
+
+    ServerServiceDefinition bindService() {
+        return ServerServiceDefinition.builder(SERVICE)
+                .addMethod(method("BatchGetDocuments", MethodDescriptor.MethodType.SERVER_STREAMING,
+                                BatchGetDocumentsRequest.getDefaultInstance(), BatchGetDocumentsResponse.getDefaultInstance()),
+                        ServerCalls.asyncServerStreamingCall(this::batchGetDocuments))
+                .addMethod(method("RunQuery", MethodDescriptor.MethodType.SERVER_STREAMING,
+                                RunQueryRequest.getDefaultInstance(), RunQueryResponse.getDefaultInstance()),
+                        ServerCalls.asyncServerStreamingCall(this::runQuery))
+                .addMethod(method("RunAggregationQuery", MethodDescriptor.MethodType.SERVER_STREAMING,
+                                RunAggregationQueryRequest.getDefaultInstance(), RunAggregationQueryResponse.getDefaultInstance()),
+                        ServerCalls.asyncServerStreamingCall(this::runAggregationQuery))
+                .addMethod(method("Commit", MethodDescriptor.MethodType.UNARY,
+                                CommitRequest.getDefaultInstance(), CommitResponse.getDefaultInstance()),
+                        ServerCalls.asyncUnaryCall(this::commit))
+                .addMethod(method("BatchWrite", MethodDescriptor.MethodType.UNARY,
+                                BatchWriteRequest.getDefaultInstance(), BatchWriteResponse.getDefaultInstance()),
+                        ServerCalls.asyncUnaryCall(this::batchWrite))
+                .addMethod(method("BeginTransaction", MethodDescriptor.MethodType.UNARY,
+                                BeginTransactionRequest.getDefaultInstance(), BeginTransactionResponse.getDefaultInstance()),
+                        ServerCalls.asyncUnaryCall(this::beginTransaction))
+                .addMethod(method("Rollback", MethodDescriptor.MethodType.UNARY,
+                                RollbackRequest.getDefaultInstance(), Empty.getDefaultInstance()),
+                        ServerCalls.asyncUnaryCall(this::rollback))
+                .addMethod(method("Listen", MethodDescriptor.MethodType.BIDI_STREAMING,
+                                ListenRequest.getDefaultInstance(), ListenResponse.getDefaultInstance()),
+                        ServerCalls.asyncBidiStreamingCall(this::listen))
+                .build();
+    }
+
+    private static <ReqT extends Message, RespT extends Message> MethodDescriptor<ReqT, RespT> method(
+            String name, MethodDescriptor.MethodType type, ReqT request, RespT response) {
+        return MethodDescriptor.<ReqT, RespT>newBuilder()
+                .setType(type)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE, name))
+                .setRequestMarshaller(ProtoUtils.marshaller(request))
+                .setResponseMarshaller(ProtoUtils.marshaller(response))
+                .build();
+    }
+
+    private void batchGetDocuments(BatchGetDocumentsRequest request, StreamObserver<BatchGetDocumentsResponse> out) {
+        serve("BatchGetDocuments", out, () -> {
+            Timestamp readTime = store.now();
+            ByteString transaction = request.hasNewTransaction() ? newTransactionId() : null;
+            for (String name : request.getDocumentsList()) {
+                BatchGetDocumentsResponse.Builder response = BatchGetDocumentsResponse.newBuilder().setReadTime(readTime);
+                Document document = store.get(name);
+                if (document == null) {
+                    response.setMissing(name);
+                } else {
+                    response.setFound(request.hasMask()
+                            ? DocumentStore.project(document, request.getMask().getFieldPathsList()) : document);
+                }
+                if (transaction != null) {
+                    response.setTransaction(transaction);
+                    transaction = null;
+                }
+                out.onNext(response.build());
+            }
+        });
+    }
+
+    private void runQuery(RunQueryRequest request, StreamObserver<RunQueryResponse> out) {
+        serve("RunQuery", out, () -> {
+            Timestamp readTime = store.now();
+            ByteString transaction = request.hasNewTransaction() ? newTransactionId() : null;
+            List<Document> documents = store.query(request.getParent(), request.getStructuredQuery());
+            if (documents.isEmpty()) {
+                // An empty result is still reported, with the read time only
+                RunQueryResponse.Builder response = RunQueryResponse.newBuilder().setReadTime(readTime);
+                if (transaction != null) {
+                    response.setTransaction(transaction);
+                }
+                out.onNext(response.build());
+                return;
+            }
+            for (Document document : documents) {
+                RunQueryResponse.Builder response = RunQueryResponse.newBuilder()
+                        .setDocument(document)
+                        .setReadTime(readTime);
+                if (transaction != null) {
+                    response.setTransaction(transaction);
+                    transaction = null;
+                }
+                out.onNext(response.build());
+            }
+        });
+    }
+
+    private void runAggregationQuery(RunAggregationQueryRequest request, StreamObserver<RunAggregationQueryResponse> out) {
+        serve("RunAggregationQuery", out, () -> {
+            Timestamp readTime = store.now();
+            StructuredAggregationQuery aggregation = request.getStructuredAggregationQuery();
+            int matches = store.query(request.getParent(), aggregation.getStructuredQuery()).size();
+            AggregationResult.Builder result = AggregationResult.newBuilder();
+            for (StructuredAggregationQuery.Aggregation field : aggregation.getAggregationsList()) {
+                if (!field.hasCount()) {
+                    throw Status.UNIMPLEMENTED.withDescription("Aggregation " + field.getOperatorCase())
+                            .asRuntimeException();
+                }
+                long count = field.getCount().hasUpTo() ? Math.min(matches, field.getCount().getUpTo().getValue()) : matches;
+                result.putAggregateFields(field.getAlias(), Value.newBuilder().setIntegerValue(count).build());
+            }
+            RunAggregationQueryResponse.Builder response = RunAggregationQueryResponse.newBuilder()
+                    .setResult(result)
+                    .setReadTime(readTime);
+            if (request.hasNewTransaction()) {
+                response.setTransaction(newTransactionId());
+            }
+            out.onNext(response.build());
+        });
+    }
+
+    private void commit(CommitRequest request, StreamObserver<CommitResponse> out) {
+        serve("Commit", out, () -> {
+            DocumentStore.CommitResult result = store.commit(request.getWritesList());
+            out.onNext(CommitResponse.newBuilder()
+                    .addAllWriteResults(result.writeResults())
+                    .setCommitTime(result.commitTime())
+                    .build());
+        });
+    }
+
+    /**
+     * Writes are applied independently; each gets its own status, like the server.
+     */
+    private void batchWrite(BatchWriteRequest request, StreamObserver<BatchWriteResponse> out) {
+        serve("BatchWrite", out, () -> {
+            BatchWriteResponse.Builder response = BatchWriteResponse.newBuilder();
+            for (Write write : request.getWritesList()) {
+                try {
+                    response.addWriteResults(store.commit(List.of(write)).writeResults().get(0));
+                    response.addStatus(com.google.rpc.Status.newBuilder().setCode(Code.OK_VALUE));
+                } catch (StatusRuntimeException e) {
+                    response.addWriteResults(WriteResult.getDefaultInstance());
+                    response.addStatus(com.google.rpc.Status.newBuilder()
+                            .setCode(e.getStatus().getCode().value())
+                            .setMessage(String.valueOf(e.getStatus().getDescription())));
+                }
+            }
+            out.onNext(response.build());
+        });
+    }
+
+    private void beginTransaction(BeginTransactionRequest request, StreamObserver<BeginTransactionResponse> out) {
+        serve("BeginTransaction", out,
+                () -> out.onNext(BeginTransactionResponse.newBuilder().setTransaction(newTransactionId()).build()));
+    }
+
+    private void rollback(RollbackRequest request, StreamObserver<Empty> out) {
+        serve("Rollback", out, () -> out.onNext(Empty.getDefaultInstance()));
+    }
+
+    private StreamObserver<ListenRequest> listen(StreamObserver<ListenResponse> out) {
+        try {
+            faults.apply("Listen");
+        } catch (StatusRuntimeException e) {
+            out.onError(e);
+            return new ListenStream(null);
+        }
+        return new ListenStream(out);
+    }
+
+    private <T> void serve(String rpc, StreamObserver<T> out, Runnable handler) {
+        try {
+            faults.apply(rpc);
+            handler.run();
+            out.onCompleted();
+        } catch (StatusRuntimeException e) {
+            out.onError(e);
+        }
+    }
+
+    private static ByteString newTransactionId() {
+        UUID id = UUID.randomUUID();
+        return ByteString.copyFrom(ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .flip());
+    }
+
+    /**
+     * Watch stream for one target: the initial snapshot, then the changes after each commit.
+     */
+    private final class ListenStream implements StreamObserver<ListenRequest> {
+
+        private final StreamObserver<ListenResponse> out;
+        // Guarded by "this": documents the client currently holds, by name
+        private final Map<String, Document> sent = new HashMap<>();
+        private Target target;
+        private Runnable unregister;
+        private boolean closed;
+
+        ListenStream(StreamObserver<ListenResponse> out) {
+            this.out = out;
+            this.closed = out == null;
+        }
+
+        @Override
+        public synchronized void onNext(ListenRequest request) {
+            if (closed) {
+                return;
+            }
+            if (request.hasAddTarget()) {
+                target = request.getAddTarget();
+                send(targetChange(TargetChange.TargetChangeType.ADD, target.getTargetId()));
+                refresh(true);
+                unregister = store.addChangeListener(() -> refresh(false));
+            } else if (request.hasRemoveTarget()) {
+                stopWatching();
+                send(targetChange(TargetChange.TargetChangeType.REMOVE, request.getRemoveTarget()));
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            stopWatching();
+            closed = true;
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            stopWatching();
+            if (!closed) {
+                closed = true;
+                out.onCompleted();
+            }
+        }
+
+        private synchronized void refresh(boolean initial) {
+            if (closed || target == null) {
+                return;
+            }
+            int targetId = target.getTargetId();
+            Map<String, Document> current = new LinkedHashMap<>();
+            for (Document document : currentDocuments()) {
+                current.put(document.getName(), document);
+            }
+            List<ListenResponse> changes = new ArrayList<>();
+            current.forEach((name, document) -> {
+                Document previous = sent.get(name);
+                if (previous == null || !previous.getUpdateTime().equals(document.getUpdateTime())) {
+                    changes.add(ListenResponse.newBuilder()
+                            .setDocumentChange(DocumentChange.newBuilder().setDocument(document).addTargetIds(targetId))
+                            .build());
+                }
+            });
+            for (String name : sent.keySet()) {
+                if (!current.containsKey(name)) {
+                    changes.add(ListenResponse.newBuilder()
+                            .setDocumentDelete(DocumentDelete.newBuilder().setDocument(name).addRemovedTargetIds(targetId))
+                            .build());
+                }
+            }
+            if (!initial && changes.isEmpty()) {
+                return;
+            }
+            sent.clear();
+            sent.putAll(current);
+            changes.forEach(this::send);
+            if (initial) {
+                send(targetChange(TargetChange.TargetChangeType.CURRENT, targetId));
+            }
+            // A global NO_CHANGE with a read time is what makes the client raise a snapshot
+            send(ListenResponse.newBuilder()
+                    .setTargetChange(TargetChange.newBuilder()
+                            .setTargetChangeType(TargetChange.TargetChangeType.NO_CHANGE)
+                            .setResumeToken(newTransactionId())
+                            .setReadTime(store.now()))
+                    .build());
+        }
+
+        private List<Document> currentDocuments() {
+            if (target.hasQuery()) {
+                Target.QueryTarget query = target.getQuery();
+                StructuredQuery structuredQuery = query.getStructuredQuery();
+                return store.query(query.getParent(), structuredQuery);
+            }
+            List<Document> documents = new ArrayList<>();
+            for (String name : target.getDocuments().getDocumentsList()) {
+                Document document = store.get(name);
+                if (document != null) {
+                    documents.add(document);
+                }
+            }
+            return documents;
+        }
+
+        private ListenResponse targetChange(TargetChange.TargetChangeType type, int targetId) {
+            return ListenResponse.newBuilder()
+                    .setTargetChange(TargetChange.newBuilder().setTargetChangeType(type).addTargetIds(targetId))
+                    .build();
+        }
+
+        private void send(ListenResponse response) {
+            try {
+                out.onNext(response);
+            } catch (RuntimeException e) {
+                // Client went away (call cancelled)
+                stopWatching();
+                closed = true;
+            }
+        }
+
+        private void stopWatching() {
+            if (unregister != null) {
+                unregister.run();
+                unregister = null;
+            }
+        }
+    }
+}
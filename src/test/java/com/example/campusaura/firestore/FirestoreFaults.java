@@ -0,0 +1,83 @@
+package com.example.campusaura.firestore;
+
+import io.grpc.Status;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and failures injected into the in-memory Firestore, per RPC ("Commit",
+ * "RunQuery", "BatchGetDocuments", "RunAggregationQuery", "BatchWrite", "BeginTransaction",
+ * "Rollback", "Listen") or for all of them with {@link #ALL}. A rule for a specific RPC
+ * takes precedence over the {@link #ALL} rule.
+ */
+public class FirestoreFaults {
+
+    public static final String ALL = "*";
+
+    private record Latency(long minNanos, long maxNanos) {}
+
+    private record Failure(double probability, Status.Code code) {}
+
+    private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Fixed delay before the RPC is served.
+     */
+    public FirestoreFaults latency(String rpc, Duration latency) {
+        return latency(rpc, latency, latency);
+    }
+
+    /**
+     * Delay drawn uniformly between min and max before the RPC is served.
+     */
+    public FirestoreFaults latency(String rpc, Duration min, Duration max) {
+        if (max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("max latency must not be below min latency");
+        }
+        latencies.put(rpc, new Latency(min.toNanos(), max.toNanos()));
+        return this;
+    }
+
+    /**
+     * Fails the given fraction of calls (0 to 1) with the status code, after the latency.
+     */
+    public FirestoreFaults failures(String rpc, double probability, Status.Code code) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("probability must be between 0 and 1");
+        }
+        failures.put(rpc, new Failure(probability, code));
+        return this;
+    }
+
+    public void reset() {
+        latencies.clear();
+        failures.clear();
+    }
+
+    /**
+     * Sleeps for the configured latency, then throws the injected failure if one is drawn.
+     */
+    void apply(String rpc) {
+        Latency latency = latencies.getOrDefault(rpc, latencies.get(ALL));
+        if (latency != null && latency.maxNanos() > 0) {
+            long nanos = latency.minNanos() == latency.maxNanos() ? latency.minNanos()
+                    : ThreadLocalRandom.current().nextLong(latency.minNanos(), latency.maxNanos() + 1);
+            try {
+                Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Status.CANCELLED.withDescription("Interrupted").asRuntimeException();
+            }
+        }
+        Failure failure = failures.getOrDefault(rpc, failures.get(ALL));
+        if (failure != null && ThreadLocalRandom.current().nextDouble() < failure.probability()) {
+            throw Status.fromCode(failure.code())
+                    .withDescription("Injected failure on " + rpc)
+                    .asRuntimeException();
+        }
+    }
+}
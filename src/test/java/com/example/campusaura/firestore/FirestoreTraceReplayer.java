@@ -0,0 +1,191 @@
+package com.example.campusaura.firestore;
+
+import com.example.campusaura.observability.FirestoreAccessRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Replays a Firestore access trace recorded by FirestoreAccessRecorder against a client,
+ * normally one of {@link InMemoryFirestore}, at the original pace or faster.
+ *
+ * Traces carry no document data and no query values, so the replay reproduces the load
+ * rather than the exact requests: {@link #prepare} seeds placeholder documents at the
+ * recorded paths (and as many per queried collection as the largest recorded result),
+ * gets read the same documents, queries read the same collection with the recorded
+ * result count as limit, and writes set placeholder data at the same paths. Listens
+ * are skipped.
+ */
+public class FirestoreTraceReplayer {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Firestore firestore;
+
+    public record Result(Map<String, Integer> operations, int failures, int skipped, Duration elapsed) {}
+
+    public FirestoreTraceReplayer(Firestore firestore) {
+        this.firestore = firestore;
+    }
+
+    /**
+     * Records of a trace file, gzipped if the name ends in .gz.
+     */
+    public static List<FirestoreAccessRecord> read(Path path) throws IOException {
+        List<FirestoreAccessRecord> records = new ArrayList<>();
+        try (InputStream in = path.getFileName().toString().endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(path)) : Files.newInputStream(path);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, FirestoreAccessRecord.class));
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Seeds the documents the trace reads, so gets and queries return as much as they did.
+     */
+    public void prepare(List<FirestoreAccessRecord> records) throws InterruptedException, ExecutionException {
+        Set<String> documents = new LinkedHashSet<>();
+        Map<String, Integer> queried = new HashMap<>();
+        for (FirestoreAccessRecord record : records) {
+            switch (record.operation()) {
+                case "get" -> documents.addAll(record.documents());
+                case "query", "aggregate" -> queried.merge(record.path(), record.results(), Math::max);
+                default -> { }
+            }
+        }
+        List<DocumentReference> refs = new ArrayList<>();
+        documents.forEach(path -> refs.add(firestore.document(path)));
+        queried.forEach((path, count) -> {
+            for (int i = 0; i < count; i++) {
+                refs.add(firestore.collection(path).document("replay-" + i));
+            }
+        });
+        for (int start = 0; start < refs.size(); start += 500) {
+            WriteBatch batch = firestore.batch();
+            for (DocumentReference ref : refs.subList(start, Math.min(start + 500, refs.size()))) {
+                batch.set(ref, Map.of("replayed", true));
+            }
+            batch.commit().get();
+        }
+    }
+
+    /**
+     * Issues every recorded call at its original offset divided by speed, without waiting
+     * for earlier calls, and returns once all have completed.
+     */
+    public Result replay(List<FirestoreAccessRecord> records, double speed) throws InterruptedException {
+        List<FirestoreAccessRecord> ordered = new ArrayList<>(records);
+        ordered.sort(Comparator.comparingLong(FirestoreAccessRecord::timestamp));
+        Map<String, Integer> operations = new ConcurrentHashMap<>();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        List<ApiFuture<?>> calls = new ArrayList<>();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long startNanos = System.nanoTime();
+        try {
+            long origin = ordered.isEmpty() ? 0 : ordered.get(0).timestamp();
+            List<ScheduledFuture<?>> scheduled = new ArrayList<>();
+            for (FirestoreAccessRecord record : ordered) {
+                long delayMicros = (long) ((record.timestamp() - origin) * 1000 / speed);
+                scheduled.add(scheduler.schedule(() -> {
+                    ApiFuture<?> call = issue(record);
+                    if (call == null) {
+                        skipped.incrementAndGet();
+                        return;
+                    }
+                    operations.merge(record.operation(), 1, Integer::sum);
+                    synchronized (calls) {
+                        calls.add(call);
+                    }
+                }, delayMicros, TimeUnit.MICROSECONDS));
+            }
+            for (ScheduledFuture<?> future : scheduled) {
+                future.get();
+            }
+            synchronized (calls) {
+                for (ApiFuture<?> call : calls) {
+                    try {
+                        call.get();
+                    } catch (ExecutionException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay failed", e.getCause());
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return new Result(new TreeMap<>(operations), failures.get(), skipped.get(),
+                Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private ApiFuture<?> issue(FirestoreAccessRecord record) {
+        return switch (record.operation()) {
+            case "get" -> record.documents().size() == 1
+                    ? firestore.document(record.documents().get(0)).get()
+                    : firestore.getAll(record.documents().stream().map(firestore::document).toArray(DocumentReference[]::new));
+            case "query" -> query(record).limit(Math.max(record.results(), 1)).get();
+            case "aggregate" -> query(record).count().get();
+            case "set", "update", "delete", "batch" -> write(record);
+            default -> null;
+        };
+    }
+
+    private Query query(FirestoreAccessRecord record) {
+        if (record.shape() != null && record.shape().contains("GROUP ")) {
+            String path = record.path();
+            return firestore.collectionGroup(path.substring(path.lastIndexOf('/') + 1));
+        }
+        return firestore.collection(record.path());
+    }
+
+    private ApiFuture<?> write(FirestoreAccessRecord record) {
+        WriteBatch batch = firestore.batch();
+        for (String path : record.documents()) {
+            DocumentReference ref = firestore.document(path);
+            if ("delete".equals(record.operation())) {
+                batch.delete(ref);
+            } else {
+                // Merge, so an update of a document the trace never created does not fail
+                batch.set(ref, Map.of("replayed", record.timestamp()), SetOptions.merge());
+            }
+        }
+        return batch.commit();
+    }
+}
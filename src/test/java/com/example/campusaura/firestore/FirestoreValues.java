@@ -0,0 +1,247 @@
+package com.example.campusaura.firestore;
+
+import com.google.firestore.v1.ArrayValue;
+import com.google.firestore.v1.MapValue;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Firestore value ordering and field-path access on proto documents.
+ *
+ * Type order follows Firestore: null < boolean < number < timestamp < string < bytes
+ * < reference < geo point < array < map. Integers and doubles compare as numbers.
+ */
+final class FirestoreValues {
+
+    static final String NAME_FIELD = "__name__";
+
+    private FirestoreValues() {
+    }
+
+    static int compare(Value a, Value b) {
+        int typeOrder = Integer.compare(typeRank(a), typeRank(b));
+        if (typeOrder != 0) {
+            return typeOrder;
+        }
+        switch (a.getValueTypeCase()) {
+            case NULL_VALUE:
+                return 0;
+            case BOOLEAN_VALUE:
+                return Boolean.compare(a.getBooleanValue(), b.getBooleanValue());
+            case INTEGER_VALUE:
+            case DOUBLE_VALUE:
+                if (a.hasIntegerValue() && b.hasIntegerValue()) {
+                    return Long.compare(a.getIntegerValue(), b.getIntegerValue());
+                }
+                return Double.compare(asDouble(a), asDouble(b));
+            case TIMESTAMP_VALUE:
+                return compare(a.getTimestampValue(), b.getTimestampValue());
+            case STRING_VALUE:
+                return a.getStringValue().compareTo(b.getStringValue());
+            case BYTES_VALUE:
+                return a.getBytesValue().asReadOnlyByteBuffer().compareTo(b.getBytesValue().asReadOnlyByteBuffer());
+            case REFERENCE_VALUE:
+                return compareNames(a.getReferenceValue(), b.getReferenceValue());
+            case GEO_POINT_VALUE: {
+                int latitude = Double.compare(a.getGeoPointValue().getLatitude(), b.getGeoPointValue().getLatitude());
+                return latitude != 0 ? latitude
+                        : Double.compare(a.getGeoPointValue().getLongitude(), b.getGeoPointValue().getLongitude());
+            }
+            case ARRAY_VALUE:
+                return compareArrays(a.getArrayValue().getValuesList(), b.getArrayValue().getValuesList());
+            case MAP_VALUE:
+                return compareMaps(a.getMapValue().getFieldsMap(), b.getMapValue().getFieldsMap());
+            default:
+                return 0;
+        }
+    }
+
+    static boolean equal(Value a, Value b) {
+        return compare(a, b) == 0;
+    }
+
+    static int compare(Timestamp a, Timestamp b) {
+        int seconds = Long.compare(a.getSeconds(), b.getSeconds());
+        return seconds != 0 ? seconds : Integer.compare(a.getNanos(), b.getNanos());
+    }
+
+    /**
+     * Document names compare segment by segment, so "a/b" sorts before "a/b/c/d".
+     */
+    static int compareNames(String a, String b) {
+        String[] left = a.split("/");
+        String[] right = b.split("/");
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            int order = left[i].compareTo(right[i]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    static boolean isNumber(Value value) {
+        return value.hasIntegerValue() || value.hasDoubleValue();
+    }
+
+    static double asDouble(Value value) {
+        return value.hasIntegerValue() ? value.getIntegerValue() : value.getDoubleValue();
+    }
+
+    static boolean isNaN(Value value) {
+        return value.hasDoubleValue() && Double.isNaN(value.getDoubleValue());
+    }
+
+    static boolean sameTypeClass(Value a, Value b) {
+        return typeRank(a) == typeRank(b);
+    }
+
+    /**
+     * Splits "a.b.`c.d`" into [a, b, c.d].
+     */
+    static List<String> segments(String fieldPath) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < fieldPath.length(); i++) {
+            char c = fieldPath.charAt(i);
+            if (c == '`') {
+                quoted = !quoted;
+            } else if (c == '\\' && quoted && i + 1 < fieldPath.length()) {
+                current.append(fieldPath.charAt(++i));
+            } else if (c == '.' && !quoted) {
+                segments.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        segments.add(current.toString());
+        return segments;
+    }
+
+    /**
+     * Value at the field path, or null if any segment is missing.
+     */
+    static Value get(Map<String, Value> fields, String fieldPath) {
+        Map<String, Value> current = fields;
+        Value value = null;
+        for (Iterator<String> it = segments(fieldPath).iterator(); it.hasNext(); ) {
+            value = current.get(it.next());
+            if (value == null) {
+                return null;
+            }
+            if (it.hasNext()) {
+                if (!value.hasMapValue()) {
+                    return null;
+                }
+                current = value.getMapValue().getFieldsMap();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Sets the value at the field path, creating intermediate maps.
+     */
+    static void set(Map<String, Value> fields, String fieldPath, Value value) {
+        set(fields, segments(fieldPath), 0, value);
+    }
+
+    static void delete(Map<String, Value> fields, String fieldPath) {
+        delete(fields, segments(fieldPath), 0);
+    }
+
+    private static void set(Map<String, Value> fields, List<String> segments, int index, Value value) {
+        String key = segments.get(index);
+        if (index == segments.size() - 1) {
+            fields.put(key, value);
+            return;
+        }
+        Value child = fields.get(key);
+        Map<String, Value> childFields = new TreeMap<>(
+                child != null && child.hasMapValue() ? child.getMapValue().getFieldsMap() : Map.of());
+        set(childFields, segments, index + 1, value);
+        fields.put(key, Value.newBuilder().setMapValue(MapValue.newBuilder().putAllFields(childFields)).build());
+    }
+
+    private static void delete(Map<String, Value> fields, List<String> segments, int index) {
+        String key = segments.get(index);
+        if (index == segments.size() - 1) {
+            fields.remove(key);
+            return;
+        }
+        Value child = fields.get(key);
+        if (child == null || !child.hasMapValue()) {
+            return;
+        }
+        Map<String, Value> childFields = new TreeMap<>(child.getMapValue().getFieldsMap());
+        delete(childFields, segments, index + 1);
+        fields.put(key, Value.newBuilder().setMapValue(MapValue.newBuilder().putAllFields(childFields)).build());
+    }
+
+    static Value array(List<Value> values) {
+        return Value.newBuilder().setArrayValue(ArrayValue.newBuilder().addAllValues(values)).build();
+    }
+
+    private static int typeRank(Value value) {
+        switch (value.getValueTypeCase()) {
+            case NULL_VALUE:
+                return 0;
+            case BOOLEAN_VALUE:
+                return 1;
+            case INTEGER_VALUE:
+            case DOUBLE_VALUE:
+                return 2;
+            case TIMESTAMP_VALUE:
+                return 3;
+            case STRING_VALUE:
+                return 4;
+            case BYTES_VALUE:
+                return 5;
+            case REFERENCE_VALUE:
+                return 6;
+            case GEO_POINT_VALUE:
+                return 7;
+            case ARRAY_VALUE:
+                return 8;
+            case MAP_VALUE:
+                return 9;
+            default:
+                return 0;
+        }
+    }
+
+    private static int compareArrays(List<Value> a, List<Value> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int order = compare(a.get(i), b.get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    private static int compareMaps(Map<String, Value> a, Map<String, Value> b) {
+        Iterator<Map.Entry<String, Value>> left = new TreeMap<>(a).entrySet().iterator();
+        Iterator<Map.Entry<String, Value>> right = new TreeMap<>(b).entrySet().iterator();
+        while (left.hasNext() && right.hasNext()) {
+            Map.Entry<String, Value> l = left.next();
+            Map.Entry<String, Value> r = right.next();
+            int order = l.getKey().compareTo(r.getKey());
+            if (order == 0) {
+                order = compare(l.getValue(), r.getValue());
+            }
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Boolean.compare(left.hasNext(), right.hasNext());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.campusaura.firestore;
+
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import io.grpc.ClientInterceptor;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory Firestore for load and performance tests.
+ *
+ * The real SDK client talks gRPC to an in-process fake of the Firestore service, so
+ * collections, documents, queries (whereEqualTo, whereIn, orderBy, limit, cursors),
+ * batches, transactions, count aggregations and snapshot listeners all go through the
+ * same code paths, and client interceptors, as in production. Latency and failures are
+ * injected per RPC through {@link #faults()}.
+ *
+ * Not a full emulator: transactions are not isolated and there are no indexes or
+ * security rules. Use the Firestore emulator when those matter.
+ */
+public class InMemoryFirestore implements AutoCloseable {
+
+    public static final String PROJECT_ID = "campusaura-test";
+
+    private final DocumentStore store = new DocumentStore();
+    private final FirestoreFaults faults = new FirestoreFaults();
+    private final String serverName = "in-memory-firestore-" + System.identityHashCode(this);
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-firestore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Server server;
+    private final List<Firestore> clients = new CopyOnWriteArrayList<>();
+
+    public InMemoryFirestore() {
+        try {
+            server = InProcessServerBuilder.forName(serverName)
+                    .executor(serverExecutor)
+                    .addService(new FakeFirestoreService(store, faults).bindService())
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A new SDK client for this database, with the given interceptors on its channel.
+     * Clients are closed with the database.
+     */
+    public Firestore newClient(ClientInterceptor... interceptors) {
+        // The SDK only accepts an InstantiatingGrpcChannelProvider, and ignores it for
+        // NoCredentials (emulator mode): use a static token and swap in the in-process channel.
+        // The swapped-in builder drops whatever the provider configured, interceptors included.
+        InstantiatingGrpcChannelProvider channelProvider = InstantiatingGrpcChannelProvider.newBuilder()
+                .setEndpoint("localhost:8080")
+                .setChannelConfigurator(ignored -> InProcessChannelBuilder.forName(serverName)
+                        .directExecutor()
+                        .intercept(List.of(interceptors)))
+                .build();
+        Firestore firestore = FirestoreOptions.newBuilder()
+                .setProjectId(PROJECT_ID)
+                .setCredentials(GoogleCredentials.create(new AccessToken("in-memory", null)))
+                .setChannelProvider(channelProvider)
+                .build()
+                .getService();
+        clients.add(firestore);
+        return firestore;
+    }
+
+    public FirestoreFaults faults() {
+        return faults;
+    }
+
+    public int documentCount() {
+        return store.size();
+    }
+
+    /**
+     * Deletes every document; listeners see the deletes.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Firestore client : clients) {
+            client.close();
+        }
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        serverExecutor.shutdownNow();
+    }
+}
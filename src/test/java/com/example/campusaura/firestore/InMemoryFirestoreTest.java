@@ -0,0 +1,133 @@
+package com.example.campusaura.firestore;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryFirestoreTest {
+
+    private final InMemoryFirestore database = new InMemoryFirestore();
+    private final Firestore firestore = database.newClient();
+
+    @AfterEach
+    void close() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void writesAndQueriesThroughTheRealClient() throws Exception {
+        WriteBatch batch = firestore.batch();
+        batch.set(firestore.collection("events").document("e1"), Map.of("status", "PUBLISHED", "views", 30, "title", "Fair"));
+        batch.set(firestore.collection("events").document("e2"), Map.of("status", "PUBLISHED", "views", 10, "title", "Gig"));
+        batch.set(firestore.collection("events").document("e3"), Map.of("status", "DRAFT", "views", 20, "title", "Talk"));
+        batch.set(firestore.collection("events").document("e1").collection("sections").document("s1"), Map.of("status", "PUBLISHED"));
+        batch.commit().get();
+
+        firestore.collection("events").document("e2").update("views", FieldValue.increment(50)).get();
+
+        DocumentSnapshot e2 = firestore.collection("events").document("e2").get().get();
+        assertThat(e2.getLong("views")).isEqualTo(60);
+        assertThat(e2.getString("title")).isEqualTo("Gig");
+        assertThat(firestore.collection("events").document("missing").get().get().exists()).isFalse();
+
+        List<QueryDocumentSnapshot> published = firestore.collection("events")
+                .whereEqualTo("status", "PUBLISHED")
+                .orderBy("views", Query.Direction.DESCENDING)
+                .limit(1)
+                .get().get().getDocuments();
+        assertThat(published).extracting(DocumentSnapshot::getId).containsExactly("e2");
+
+        List<QueryDocumentSnapshot> byId = firestore.collection("events")
+                .whereIn("title", List.of("Fair", "Talk"))
+                .orderBy("views")
+                .get().get().getDocuments();
+        assertThat(byId).extracting(DocumentSnapshot::getId).containsExactly("e3", "e1");
+
+        assertThat(firestore.collectionGroup("sections").get().get().size()).isEqualTo(1);
+        assertThat(firestore.collection("events").whereEqualTo("status", "PUBLISHED").count().get().get().getCount())
+                .isEqualTo(2);
+        assertThat(database.documentCount()).isEqualTo(4);
+    }
+
+    @Test
+    void transactionsApplyPreconditionsAndCommitAtomically() throws Exception {
+        firestore.collection("products").document("p1").set(Map.of("stock", 5)).get();
+
+        long stock = firestore.runTransaction(transaction -> {
+            long current = transaction.get(firestore.collection("products").document("p1")).get().getLong("stock");
+            transaction.update(firestore.collection("products").document("p1"), "stock", current - 2);
+            transaction.create(firestore.collection("sales").document("s1"), Map.of("quantity", 2));
+            return current - 2;
+        }).get();
+        assertThat(stock).isEqualTo(3);
+
+        // create() of an existing document fails the whole commit
+        assertThatThrownBy(() -> firestore.batch()
+                .update(firestore.collection("products").document("p1"), "stock", 0)
+                .create(firestore.collection("sales").document("s1"), Map.of("quantity", 1))
+                .commit().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("ALREADY_EXISTS");
+        assertThat(firestore.collection("products").document("p1").get().get().getLong("stock")).isEqualTo(3);
+    }
+
+    @Test
+    void snapshotListenersSeeChanges() throws Exception {
+        BlockingQueue<QuerySnapshot> snapshots = new LinkedBlockingQueue<>();
+        ListenerRegistration registration = firestore.collection("feedback")
+                .whereEqualTo("eventId", "e1")
+                .addSnapshotListener((snapshot, error) -> {
+                    if (snapshot != null) {
+                        snapshots.add(snapshot);
+                    }
+                });
+        try {
+            assertThat(snapshots.poll(5, TimeUnit.SECONDS).size()).isZero();
+
+            firestore.collection("feedback").document("f1").set(Map.of("eventId", "e1")).get();
+            firestore.collection("feedback").document("f2").set(Map.of("eventId", "e2")).get();
+            assertThat(snapshots.poll(5, TimeUnit.SECONDS).size()).isEqualTo(1);
+
+            firestore.collection("feedback").document("f1").delete().get();
+            assertThat(snapshots.poll(5, TimeUnit.SECONDS).size()).isZero();
+        } finally {
+            registration.remove();
+        }
+    }
+
+    @Test
+    void injectsLatencyAndFailuresPerRpc() throws Exception {
+        database.faults().latency("BatchGetDocuments", Duration.ofMillis(100));
+        long start = System.nanoTime();
+        firestore.collection("events").document("e1").get().get();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+
+        database.faults().failures("Commit", 1.0, Status.Code.PERMISSION_DENIED);
+        assertThatThrownBy(() -> firestore.collection("events").document("e1").set(Map.of("title", "x")).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("PERMISSION_DENIED");
+
+        database.faults().reset();
+        firestore.collection("events").document("e1").set(Map.of("title", "x")).get();
+        assertThat(database.documentCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.model.User;
+import com.example.campusaura.security.Roles;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Seeds a campus-sized dataset (users and events shaped like production) and keeps the
+ * ids the traffic profiles pick from.
+ */
+public record CampusData(List<String> eventIds, List<String> studentUids, List<String> adminUids) {
+
+    private static final String[] CATEGORIES = {"Technology", "Career", "Culture", "Sports"};
+    private static final String[] STATUSES = {"PUBLISHED", "PUBLISHED", "PUBLISHED", "ONGOING", "DRAFT", "COMPLETED"};
+    private static final String[] DEPARTMENTS = {"Computing", "Engineering", "Business", "Arts", "Science"};
+    private static final int BATCH_SIZE = 500;
+
+    public static CampusData seed(Firestore firestore, int events, int students, int admins)
+            throws ExecutionException, InterruptedException {
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        List<String> eventIds = new ArrayList<>(events);
+        List<String> studentUids = new ArrayList<>(students);
+        List<String> adminUids = new ArrayList<>(admins);
+
+        Batcher batcher = new Batcher(firestore);
+        for (int i = 0; i < students; i++) {
+            String uid = "student-" + i;
+            batcher.set("users", uid, user(uid, Roles.STUDENT));
+            studentUids.add(uid);
+        }
+        for (int i = 0; i < admins; i++) {
+            String uid = "admin-" + i;
+            batcher.set("users", uid, user(uid, Roles.ADMIN));
+            adminUids.add(uid);
+        }
+        for (int i = 0; i < events; i++) {
+            String id = "event-" + i;
+            batcher.set("events", id, event(i, random, now));
+            eventIds.add(id);
+        }
+        batcher.flush();
+        return new CampusData(List.copyOf(eventIds), List.copyOf(studentUids), List.copyOf(adminUids));
+    }
+
+    public String randomEvent(Random random) {
+        return eventIds.get(random.nextInt(eventIds.size()));
+    }
+
+    public String randomStudent(Random random) {
+        return studentUids.get(random.nextInt(studentUids.size()));
+    }
+
+    public String randomAdmin(Random random) {
+        return adminUids.get(random.nextInt(adminUids.size()));
+    }
+
+    private static User user(String uid, String role) {
+        return User.builder()
+                .uid(uid)
+                .email(uid + "@campus.test")
+                .name("User " + uid)
+                .role(role)
+                .verified(true)
+                .createdAt(Timestamp.now())
+                .updatedAt(Timestamp.now())
+                .build();
+    }
+
+    private static Map<String, Object> event(int i, Random random, Instant now) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("coordinatorId", "coordinator-" + random.nextInt(50));
+        data.put("title", "Event " + i);
+        data.put("description", "Description of event " + i + " with enough text to look like a real one.");
+        data.put("venue", "Hall " + random.nextInt(20));
+        data.put("dateTime", now.plus(random.nextInt(90 * 24), ChronoUnit.HOURS).toString());
+        data.put("createdAt", now.minus(random.nextInt(60 * 24), ChronoUnit.HOURS).toString());
+        data.put("updatedAt", now.toString());
+        data.put("ticketsAvailable", true);
+        data.put("eventImageUrls", List.of("https://img.example/" + i + "/1.jpg", "https://img.example/" + i + "/2.jpg"));
+        data.put("organizingDepartment", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+        data.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        data.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        data.put("attendeeCount", (long) random.nextInt(2000));
+        data.put("ticketCategories", List.of(
+                map("categoryName", "Normal", "price", 1500.0, "availableCount", 200L),
+                map("categoryName", "VIP", "price", 5000.0, "availableCount", 50L)));
+        data.put("schedule", List.of(
+                map("id", "s1", "title", "Opening", "time", "09:00", "duration", "30m"),
+                map("id", "s2", "title", "Keynote", "time", "09:30", "duration", "1h")));
+        return data;
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    /** Commits in batches of at most 500 writes, the Firestore limit. */
+    private static final class Batcher {
+
+        private final Firestore firestore;
+        private WriteBatch batch;
+        private int size;
+
+        Batcher(Firestore firestore) {
+            this.firestore = firestore;
+            this.batch = firestore.batch();
+        }
+
+        void set(String collection, String id, Object data) throws ExecutionException, InterruptedException {
+            batch.set(firestore.collection(collection).document(id), data);
+            if (++size == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws ExecutionException, InterruptedException {
+            if (size > 0) {
+                batch.commit().get();
+                batch = firestore.batch();
+                size = 0;
+            }
+        }
+    }
+}
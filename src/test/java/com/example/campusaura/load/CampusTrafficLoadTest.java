@@ -0,0 +1,97 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.firestore.FirestoreFaults;
+import com.example.campusaura.firestore.InMemoryFirestore;
+import com.google.cloud.firestore.Firestore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a campus traffic profile against the app on a random port and reports
+ * throughput and p50/p99 per route (also written to target/load-report.txt).
+ *
+ * Excluded from the normal build; run with:
+ * mvn -Pload test [-Dload.profile=semester-start -Dload.users=50 -Dload.duration=60s
+ *                  -Dload.firestore-latency-min=5ms -Dload.firestore-latency-max=25ms]
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // One client address generates all the traffic
+        "rate-limit.user.capacity=1000000",
+        "rate-limit.user.refill-per-second=1000000",
+        "rate-limit.anonymous.capacity=1000000",
+        "rate-limit.anonymous.refill-per-second=1000000",
+        "management.tracing.sampling.probability=0.0",
+        "tracing.exporter=none",
+        "logging.level.com.example.campusaura=INFO"
+})
+@ActiveProfiles("test")
+@Import(LoadTestConfig.class)
+class CampusTrafficLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Firestore firestore;
+
+    @Autowired
+    private InMemoryFirestore inMemoryFirestore;
+
+    @Value("${load.profile:semester-start}")
+    private String profile;
+
+    @Value("${load.users:50}")
+    private int users;
+
+    @Value("${load.warm-up:10s}")
+    private Duration warmUp;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    @Value("${load.think-time:200ms}")
+    private Duration thinkTime;
+
+    @Value("${load.events:300}")
+    private int events;
+
+    @Value("${load.students:2000}")
+    private int students;
+
+    @Value("${load.firestore-latency-min:5ms}")
+    private Duration firestoreLatencyMin;
+
+    @Value("${load.firestore-latency-max:25ms}")
+    private Duration firestoreLatencyMax;
+
+    @Value("${load.max-error-rate:0.01}")
+    private double maxErrorRate;
+
+    @Test
+    void campusTraffic() throws Exception {
+        CampusData data = CampusData.seed(firestore, events, students, 5);
+        inMemoryFirestore.faults().latency(FirestoreFaults.ALL, firestoreLatencyMin, firestoreLatencyMax);
+
+        LoadReport report = new LoadGenerator(URI.create("http://localhost:" + port), data,
+                TrafficProfile.named(profile), thinkTime)
+                .run(users, warmUp, duration);
+
+        report.print(System.out);
+        report.writeTo(Path.of("target", "load-report.txt"));
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+}
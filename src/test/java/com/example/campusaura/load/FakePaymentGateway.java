@@ -0,0 +1,38 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.service.PaymentGateway;
+import com.stripe.model.PaymentIntent;
+import com.stripe.param.PaymentIntentCreateParams;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for Stripe that answers after a fixed delay, like the real API round trip.
+ */
+public class FakePaymentGateway implements PaymentGateway {
+
+    private final Duration latency;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FakePaymentGateway(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(PaymentIntentCreateParams params, String idempotencyKey) {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String id = "pi_load_" + sequence.incrementAndGet();
+        PaymentIntent intent = new PaymentIntent();
+        intent.setId(id);
+        intent.setAmount(params.getAmount());
+        intent.setCurrency(params.getCurrency());
+        intent.setClientSecret(id + "_secret");
+        intent.setStatus("requires_payment_method");
+        return intent;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.security.RoleClaims;
+import com.example.campusaura.security.TokenVerifier;
+import com.example.campusaura.security.VerifiedToken;
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+
+import java.util.Map;
+
+/**
+ * Stand-in for Firebase Auth: accepts tokens made by {@link #token}, which carry the uid
+ * and the role claim, so authenticated load costs no signature check or key fetch.
+ */
+public class FakeTokenVerifier implements TokenVerifier {
+
+    private static final String PREFIX = "load.";
+
+    public static String token(String uid, String role) {
+        return PREFIX + uid + "." + role;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        String[] parts = idToken != null && idToken.startsWith(PREFIX)
+                ? idToken.substring(PREFIX.length()).split("\\.") : new String[0];
+        if (parts.length != 2) {
+            throw new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, "Not a load-test token", null, null,
+                    AuthErrorCode.INVALID_ID_TOKEN);
+        }
+        String uid = parts[0];
+        return new VerifiedToken(uid, uid + "@campus.test", "User " + uid, Map.of(RoleClaims.CLAIM, parts[1]));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.campusaura.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-model load generator: each virtual user runs sessions of the traffic profile
+ * back to back, with a think time between sessions. Requests made during the warm-up
+ * are sent but not reported.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final URI baseUri;
+    private final CampusData data;
+    private final TrafficProfile profile;
+    private final Duration thinkTime;
+    private final HttpClient httpClient;
+
+    public LoadGenerator(URI baseUri, CampusData data, TrafficProfile profile, Duration thinkTime) {
+        this.baseUri = baseUri;
+        this.data = data;
+        this.profile = profile;
+        this.thinkTime = thinkTime;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public LoadReport run(int users, Duration warmUp, Duration duration) throws InterruptedException {
+        LoadReport report = new LoadReport(profile.name(), users, duration);
+        long measureFrom = System.nanoTime() + warmUp.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(users, runnable -> {
+            Thread thread = new Thread(runnable, "load-user");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < users; i++) {
+            long seed = i;
+            virtualUsers.execute(() -> runUser(new Random(seed), report, measureFrom, stopAt));
+        }
+        virtualUsers.shutdown();
+        // Sessions in flight at the end finish, but only what completed in the window is reported
+        if (!virtualUsers.awaitTermination(warmUp.plus(duration).toMillis() + 30_000, TimeUnit.MILLISECONDS)) {
+            virtualUsers.shutdownNow();
+        }
+        return report;
+    }
+
+    private void runUser(Random random, LoadReport report, long measureFrom, long stopAt) {
+        while (System.nanoTime() < stopAt && !Thread.currentThread().isInterrupted()) {
+            for (TrafficProfile.Step step : profile.pick(random).scenario().steps(data, random)) {
+                long start = System.nanoTime();
+                boolean error = !send(step);
+                long end = System.nanoTime();
+                if (start >= measureFrom && end <= stopAt) {
+                    report.record(step.route(), end - start, error);
+                }
+            }
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(random.nextLong(thinkTime.toMillis() + 1));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean send(TrafficProfile.Step step) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(step.path()))
+                .timeout(Duration.ofSeconds(30));
+        if (step.token() != null) {
+            request.header("Authorization", "Bearer " + step.token());
+        }
+        if (step.body() != null) {
+            request.header("Content-Type", "application/json")
+                    .method(step.method(), HttpRequest.BodyPublishers.ofString(step.body()));
+        } else {
+            request.method(step.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                logger.debug("{} returned {}", step.route(), response.statusCode());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            logger.debug("{} failed: {}", step.route(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
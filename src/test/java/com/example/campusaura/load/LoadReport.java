@@ -0,0 +1,129 @@
+package com.example.campusaura.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-route latency and errors of a load run: throughput, p50, p99 and max.
+ *
+ * Every latency is kept, so the percentiles are exact (nearest rank) and never exceed the max.
+ */
+public class LoadReport {
+
+    /** Latencies and errors of one route; runs are short enough to keep every sample. */
+    private static final class Route {
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final String profile;
+    private final int users;
+    private final Duration window;
+
+    /**
+     * @param window the measured period; only requests that start and end within it are recorded
+     */
+    public LoadReport(String profile, int users, Duration window) {
+        this.profile = profile;
+        this.users = users;
+        this.window = window;
+    }
+
+    void record(String route, long nanos, boolean error) {
+        routes.computeIfAbsent(route, name -> new Route()).record(nanos, error);
+    }
+
+    public Duration elapsed() {
+        return window;
+    }
+
+    public long requests() {
+        return routes.values().stream().mapToLong(Route::count).sum();
+    }
+
+    public long errors() {
+        return routes.values().stream().mapToLong(Route::errors).sum();
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    public double throughput() {
+        return requests() / seconds();
+    }
+
+    /** Latency at the percentile (e.g. 0.5 or 0.99) for the route, in milliseconds. */
+    public double percentileMillis(String route, double percentile) {
+        Route samples = routes.get(route);
+        return samples == null ? Double.NaN : percentileMillis(samples.sorted(), percentile);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Load profile %s: %d users, %ds, %d requests, %.1f req/s, %.2f%% errors%n",
+                profile, users, elapsed().toSeconds(), requests(), throughput(), errorRate() * 100);
+        out.printf("%-45s %9s %9s %9s %9s %9s %7s%n", "route", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        new TreeMap<>(routes).forEach((name, route) -> {
+            long[] sorted = route.sorted();
+            out.printf("%-45s %9d %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    name, sorted.length, sorted.length / seconds(),
+                    percentileMillis(sorted, 0.5), percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 1.0), route.errors());
+        });
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            print(out);
+        }
+    }
+
+    /** Nearest-rank percentile of sorted latencies; 1.0 is the max. */
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    private double seconds() {
+        return Math.max(elapsed().toNanos(), 1) / 1e9;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.campusaura.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadReportTest {
+
+    @Test
+    void percentilesAreExactAndNeverAboveTheMax() {
+        LoadReport report = new LoadReport("test", 1, Duration.ofSeconds(10));
+        for (int millis = 1; millis <= 100; millis++) {
+            report.record("GET /api/events/public", Duration.ofMillis(millis).toNanos(), millis == 100);
+        }
+
+        assertThat(report.percentileMillis("GET /api/events/public", 0.5)).isEqualTo(50.0);
+        assertThat(report.percentileMillis("GET /api/events/public", 0.99)).isEqualTo(99.0);
+        assertThat(report.percentileMillis("GET /api/events/public", 1.0)).isEqualTo(100.0);
+        assertThat(report.errors()).isEqualTo(1);
+        assertThat(report.percentileMillis("GET /nowhere", 0.5)).isNaN();
+    }
+}
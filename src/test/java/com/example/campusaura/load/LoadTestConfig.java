@@ -0,0 +1,32 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.config.InMemoryFirestoreConfig;
+import com.example.campusaura.security.TokenVerifier;
+import com.example.campusaura.service.PaymentGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Runs the app against the in-memory Firestore, a fake Firebase Auth and a fake Stripe.
+ */
+@TestConfiguration
+@Import(InMemoryFirestoreConfig.class)
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public TokenVerifier fakeTokenVerifier() {
+        return new FakeTokenVerifier();
+    }
+
+    @Bean
+    @Primary
+    public PaymentGateway fakePaymentGateway(@Value("${load.stripe-latency:150ms}") Duration latency) {
+        return new FakePaymentGateway(latency);
+    }
+}
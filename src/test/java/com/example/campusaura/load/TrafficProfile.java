@@ -0,0 +1,119 @@
+package com.example.campusaura.load;
+
+import com.example.campusaura.security.Roles;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A weighted mix of user sessions. Each virtual user repeatedly picks a session by weight
+ * and runs its requests in order.
+ */
+public record TrafficProfile(String name, List<WeightedScenario> scenarios) {
+
+    /** One HTTP request; route is the template the report groups by. */
+    public record Step(String route, String method, String path, String body, String token) {
+
+        static Step get(String route, String path, String token) {
+            return new Step(route, "GET", path, null, token);
+        }
+
+        static Step post(String route, String path, String body, String token) {
+            return new Step(route, "POST", path, body, token);
+        }
+    }
+
+    public interface Scenario {
+        List<Step> steps(CampusData data, Random random);
+    }
+
+    public record WeightedScenario(String name, int weight, Scenario scenario) {}
+
+    /**
+     * First week of semester: mostly anonymous browsing, a burst of ticket sales, admins
+     * keeping the dashboard open.
+     */
+    public static final TrafficProfile SEMESTER_START = new TrafficProfile("semester-start", List.of(
+            new WeightedScenario("landing-page", 45, TrafficProfile::browseLandingPage),
+            new WeightedScenario("event-detail", 30, TrafficProfile::viewEventDetail),
+            new WeightedScenario("post-feedback", 8, TrafficProfile::postFeedback),
+            new WeightedScenario("ticket-checkout", 12, TrafficProfile::checkoutTicket),
+            new WeightedScenario("admin-dashboard", 5, TrafficProfile::pollAdminDashboard)));
+
+    /** Mid-semester: browsing and feedback, few purchases. */
+    public static final TrafficProfile STEADY = new TrafficProfile("steady", List.of(
+            new WeightedScenario("landing-page", 50, TrafficProfile::browseLandingPage),
+            new WeightedScenario("event-detail", 35, TrafficProfile::viewEventDetail),
+            new WeightedScenario("post-feedback", 10, TrafficProfile::postFeedback),
+            new WeightedScenario("ticket-checkout", 3, TrafficProfile::checkoutTicket),
+            new WeightedScenario("admin-dashboard", 2, TrafficProfile::pollAdminDashboard)));
+
+    public static TrafficProfile named(String name) {
+        for (TrafficProfile profile : List.of(SEMESTER_START, STEADY)) {
+            if (profile.name().equals(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown traffic profile: " + name);
+    }
+
+    public WeightedScenario pick(Random random) {
+        int total = scenarios.stream().mapToInt(WeightedScenario::weight).sum();
+        int ticket = random.nextInt(total);
+        for (WeightedScenario scenario : scenarios) {
+            ticket -= scenario.weight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Weights must be positive");
+    }
+
+    private static List<Step> browseLandingPage(CampusData data, Random random) {
+        String category = List.of("All", "Technology", "Career", "Culture", "Sports").get(random.nextInt(5));
+        String sortBy = List.of("upcoming", "latest", "popular").get(random.nextInt(3));
+        return List.of(
+                Step.get("GET /api/events/landing-page", "/api/events/landing-page", null),
+                Step.get("GET /api/events/latest", "/api/events/latest", null),
+                Step.get("GET /api/events/public", "/api/events/public?category=" + category + "&sortBy=" + sortBy, null));
+    }
+
+    private static List<Step> viewEventDetail(CampusData data, Random random) {
+        String eventId = data.randomEvent(random);
+        return List.of(
+                Step.get("GET /api/events/public/{eventId}", "/api/events/public/" + eventId, null),
+                Step.get("GET /api/events/public/{eventId}/feedback", "/api/events/public/" + eventId + "/feedback", null));
+    }
+
+    private static List<Step> postFeedback(CampusData data, Random random) {
+        String eventId = data.randomEvent(random);
+        String token = FakeTokenVerifier.token(data.randomStudent(random), Roles.STUDENT);
+        return List.of(
+                Step.get("GET /api/events/public/{eventId}", "/api/events/public/" + eventId, null),
+                Step.post("POST /api/events/{eventId}/feedback", "/api/events/" + eventId + "/feedback",
+                        "{\"text\":\"Loved it, see you next year\"}", token));
+    }
+
+    private static List<Step> checkoutTicket(CampusData data, Random random) {
+        String eventId = data.randomEvent(random);
+        String token = FakeTokenVerifier.token(data.randomStudent(random), Roles.STUDENT);
+        int tickets = 1 + random.nextInt(3);
+        return List.of(
+                Step.get("GET /api/events/public/{eventId}", "/api/events/public/" + eventId, null),
+                Step.post("POST /api/payments/create-ticket-intent", "/api/payments/create-ticket-intent",
+                        "{\"amount\":" + 1500 * tickets + ",\"eventTitle\":\"Event\",\"eventId\":\"" + eventId
+                                + "\",\"orderId\":\"" + UUID.randomUUID() + "\"}", token),
+                Step.post("POST /api/payments/confirm-ticket", "/api/payments/confirm-ticket",
+                        "{\"eventId\":\"" + eventId + "\",\"eventTitle\":\"Event\",\"ticketCategory\":\"Normal\","
+                                + "\"ticketCount\":" + tickets + ",\"pricePerTicket\":1500,\"totalAmount\":" + 1500 * tickets
+                                + ",\"stripePaymentId\":\"pi_load\"}", token));
+    }
+
+    private static List<Step> pollAdminDashboard(CampusData data, Random random) {
+        String token = FakeTokenVerifier.token(data.randomAdmin(random), Roles.ADMIN);
+        return List.of(
+                Step.get("GET /api/admin/dashboard/stats", "/api/admin/dashboard/stats", token),
+                Step.get("GET /api/admin/events", "/api/admin/events", token));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.campusaura.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextPropagationTest {
+
+    @Test
+    void wrappedExecutorRunsTasksInTheSubmittersObservation() throws Exception {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(context -> true);
+        ExecutorService executor = ContextPropagation.wrap(Executors.newSingleThreadExecutor());
+        try {
+            Observation observation = Observation.start("request", registry);
+            Observation seen;
+            try (Observation.Scope ignored = observation.openScope()) {
+                seen = executor.submit(registry::getCurrentObservation).get(5, TimeUnit.SECONDS);
+            } finally {
+                observation.stop();
+            }
+
+            assertThat(seen).isSameAs(observation);
+            assertThat(executor.submit(registry::getCurrentObservation).get(5, TimeUnit.SECONDS)).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fileExporterWritesOneJsonLinePerSpan(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("traces.jsonl");
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        Span parent = provider.get("test").spanBuilder("POST /api/payments/confirm-ticket").startSpan();
+        provider.get("test").spanBuilder("firestore get events")
+                .setParent(Context.root().with(parent))
+                .setAttribute("firestore.collection", "events")
+                .startSpan()
+                .end();
+        parent.end();
+        provider.shutdown().join(5, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .contains("\"name\":\"firestore get events\"")
+                .contains("\"parentSpanId\":\"" + parent.getSpanContext().getSpanId() + "\"")
+                .contains("\"firestore.collection\":\"events\"");
+        assertThat(lines.get(1)).contains("\"parentSpanId\":null");
+    }
+}
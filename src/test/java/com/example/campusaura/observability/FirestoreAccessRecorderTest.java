@@ -0,0 +1,74 @@
+package com.example.campusaura.observability;
+
+import com.example.campusaura.firestore.FirestoreTraceReplayer;
+import com.example.campusaura.firestore.InMemoryFirestore;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirestoreAccessRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsAnonymizedTraceThatReplaysAgainstTheFake() throws Exception {
+        Path trace = tempDir.resolve("trace.jsonl.gz");
+        List<FirestoreAccessRecord> records;
+        try (InMemoryFirestore database = new InMemoryFirestore()) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            FirestoreAccessRecorder recorder = new FirestoreAccessRecorder(registry, trace, 100,
+                    "salt".getBytes(StandardCharsets.UTF_8));
+            Firestore firestore = database.newClient(recorder);
+            firestore.collection("events").document("spring-fair").set(Map.of("status", "PUBLISHED")).get();
+            firestore.collection("events").document("gig").set(Map.of("status", "DRAFT")).get();
+            firestore.collection("events").document("spring-fair").get().get();
+            firestore.collection("events").whereEqualTo("status", "PUBLISHED").get().get();
+            firestore.collection("events").count().get().get();
+            // The count future completes before its stream is closed, and so before it is recorded
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.get("campusaura.firestore.trace.records").tag("result", "recorded").counter().count() < 5
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            recorder.close();
+            records = FirestoreTraceReplayer.read(trace);
+        }
+
+        assertThat(records).extracting(FirestoreAccessRecord::operation)
+                .containsExactly("set", "set", "get", "query", "aggregate");
+        FirestoreAccessRecord set = records.get(0);
+        FirestoreAccessRecord get = records.get(2);
+        assertThat(set.collection()).isEqualTo("events");
+        assertThat(set.documents()).singleElement().asString()
+                .startsWith("events/")
+                .doesNotContain("spring-fair");
+        assertThat(get.documents()).isEqualTo(set.documents());
+        assertThat(get.results()).isEqualTo(1);
+        assertThat(records.get(3).shape()).isEqualTo("events WHERE status == ?");
+        assertThat(records.get(3).path()).isEqualTo("events");
+        assertThat(records.get(3).results()).isEqualTo(1);
+        // The client cancels the aggregation stream once it has the result
+        assertThat(records).extracting(FirestoreAccessRecord::status).containsExactly("OK", "OK", "OK", "OK", "CANCELLED");
+
+        try (InMemoryFirestore replayDatabase = new InMemoryFirestore()) {
+            FirestoreTraceReplayer replayer = new FirestoreTraceReplayer(replayDatabase.newClient());
+            replayer.prepare(records);
+            FirestoreTraceReplayer.Result result = replayer.replay(records, 10);
+
+            assertThat(result.operations()).containsEntry("set", 2).containsEntry("get", 1)
+                    .containsEntry("query", 1).containsEntry("aggregate", 1);
+            assertThat(result.failures()).isZero();
+            assertThat(replayDatabase.documentCount()).isEqualTo(3);
+        }
+    }
+}
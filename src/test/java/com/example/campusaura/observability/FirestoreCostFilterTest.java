@@ -0,0 +1,61 @@
+package com.example.campusaura.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirestoreCostFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FirestoreCostFilter filter = new FirestoreCostFilter(
+            registry, "/api/admin/events=100, /api/admin/users/stats=10", "");
+
+    @Test
+    void recordsDocumentsPerRouteAndFlagsBudgetOverruns() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/events");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/events");
+            RequestCost.current().addReads(150);
+            RequestCost.current().addWrites(2);
+        });
+
+        assertThat(registry.get("campusaura.firestore.request.reads")
+                .tag("route", "/api/admin/events").tag("method", "GET")
+                .summary().totalAmount()).isEqualTo(150.0);
+        assertThat(registry.get("campusaura.firestore.request.writes")
+                .tag("route", "/api/admin/events").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(registry.get("campusaura.firestore.budget.exceeded")
+                .tag("route", "/api/admin/events").tag("kind", "reads").counter().count()).isEqualTo(1.0);
+        assertThat(RequestCost.current()).isNull();
+        assertThat(registry.get("campusaura.firestore.request.reads")
+                .tag("route", "/api/admin/events").summary().takeSnapshot().histogramCounts())
+                .hasSize(FirestoreCostFilter.DOCUMENT_BUCKETS.length);
+    }
+
+    @Test
+    void withinBudgetAndUnmatchedRoutesAreNotFlagged() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/users/stats"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/users/stats");
+                    RequestCost.current().addReads(10);
+                });
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(),
+                (req, res) -> RequestCost.current().addReads(1000));
+
+        assertThat(registry.find("campusaura.firestore.budget.exceeded").counter()).isNull();
+        assertThat(registry.get("campusaura.firestore.request.reads")
+                .tag("route", FirestoreCostFilter.UNMATCHED_ROUTE).summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void parsesBudgetSpec() {
+        assertThat(FirestoreCostFilter.parseBudgets(" /a=1 ,/b/{id}=20,"))
+                .containsEntry("/a", 1L)
+                .containsEntry("/b/{id}", 20L)
+                .hasSize(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.campusaura.observability;
+
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.DocumentMask;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Write;
+import com.google.protobuf.Message;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirestoreMetricsInterceptorTest {
+
+    private static final String DB = "projects/p/databases/(default)/documents";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FirestoreMetricsInterceptor interceptor = new FirestoreMetricsInterceptor(registry, Tracer.NOOP);
+
+    @Test
+    void countsDocumentsReadPerCollectionOperationAndCaller() throws Exception {
+        RunQueryRequest request = RunQueryRequest.newBuilder()
+                .setParent(DB)
+                .setStructuredQuery(StructuredQuery.newBuilder()
+                        .addFrom(StructuredQuery.CollectionSelector.newBuilder().setCollectionId("events")))
+                .build();
+        RunQueryResponse hit = RunQueryResponse.newBuilder().setDocument(Document.newBuilder().setName(DB + "/events/e1")).build();
+        RunQueryResponse done = RunQueryResponse.newBuilder().build();
+
+        RequestCost cost = new RequestCost();
+        RequestCost.callWith(cost, () -> FirestoreCallSite.callAs("EventService.getPublicEvents",
+                () -> call("RunQuery", request, List.of(hit, hit, done), Status.OK)));
+
+        assertThat(registry.get("campusaura.firestore.documents.read")
+                .tag("collection", "events").tag("operation", "query").tag("caller", "EventService.getPublicEvents")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("campusaura.firestore.operation").tag("status", "OK").timer().count()).isEqualTo(1);
+        assertThat(cost.getReads()).isEqualTo(2);
+    }
+
+    @Test
+    void classifiesWritesAndCountsErrors() throws Exception {
+        CommitRequest request = CommitRequest.newBuilder()
+                .addWrites(Write.newBuilder()
+                        .setUpdate(Document.newBuilder().setName(DB + "/events/e1/sections/sellItems"))
+                        .setUpdateMask(DocumentMask.newBuilder().addFieldPaths("items")))
+                .build();
+
+        FirestoreCallSite.callAs("EventService.updateEvent",
+                () -> call("Commit", request, List.of(), Status.FAILED_PRECONDITION));
+
+        assertThat(registry.get("campusaura.firestore.errors")
+                .tag("collection", "events/sections").tag("operation", "update").tag("status", "FAILED_PRECONDITION")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.find("campusaura.firestore.documents.written").counter()).isNull();
+    }
+
+    @Test
+    void namesCollectionsByTheirPathWithoutDocumentIds() {
+        assertThat(FirestoreMetricsInterceptor.collectionOfDocument(DB + "/users/u1")).isEqualTo("users");
+        assertThat(FirestoreMetricsInterceptor.collectionOfDocument(DB + "/events/e1/sections/schedule"))
+                .isEqualTo("events/sections");
+    }
+
+    /**
+     * Runs one call through the interceptor against a channel that answers with the given responses.
+     */
+    private <Req extends Message, Resp extends Message> Void call(String rpc, Req request, List<Resp> responses,
+                                                                  Status status) {
+        @SuppressWarnings("unchecked")
+        MethodDescriptor<Req, Resp> method = MethodDescriptor.<Req, Resp>newBuilder()
+                .setType(MethodDescriptor.MethodType.UNKNOWN)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName("google.firestore.v1.Firestore", rpc))
+                .setRequestMarshaller(ProtoUtils.marshaller(request))
+                .setResponseMarshaller(ProtoUtils.marshaller((Resp) CommitResponse.getDefaultInstance()))
+                .build();
+        Channel channel = new Channel() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> descriptor, CallOptions options) {
+                return new ClientCall<>() {
+                    private Listener<RespT> listener;
+
+                    @Override
+                    public void start(Listener<RespT> responseListener, Metadata headers) {
+                        listener = responseListener;
+                    }
+
+                    @Override
+                    public void sendMessage(ReqT message) {
+                    }
+
+                    @Override
+                    public void halfClose() {
+                        responses.forEach(response -> listener.onMessage((RespT) response));
+                        listener.onClose(status, new Metadata());
+                    }
+
+                    @Override
+                    public void request(int numMessages) {
+                    }
+
+                    @Override
+                    public void cancel(String message, Throwable cause) {
+                    }
+                };
+            }
+
+            @Override
+            public String authority() {
+                return "firestore.test";
+            }
+        };
+
+        ClientCall<Req, Resp> clientCall = interceptor.interceptCall(method, CallOptions.DEFAULT, channel);
+        clientCall.start(new ClientCall.Listener<>() {}, new Metadata());
+        clientCall.sendMessage(request);
+        clientCall.halfClose();
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.campusaura.observability;
+
+import com.google.firestore.v1.StructuredAggregationQuery;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.Int32Value;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirestoreQueryProfilerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FirestoreQueryProfiler profiler =
+            new FirestoreQueryProfiler(registry, Duration.ofMillis(500), 2, Duration.ofHours(1), 100);
+
+    @Test
+    void masksValuesInTheQueryShape() {
+        StructuredQuery query = StructuredQuery.newBuilder()
+                .addFrom(StructuredQuery.CollectionSelector.newBuilder().setCollectionId("events"))
+                .setWhere(StructuredQuery.Filter.newBuilder().setCompositeFilter(StructuredQuery.CompositeFilter.newBuilder()
+                        .setOp(StructuredQuery.CompositeFilter.Operator.AND)
+                        .addFilters(fieldFilter("status", StructuredQuery.FieldFilter.Operator.EQUAL))
+                        .addFilters(fieldFilter("date", StructuredQuery.FieldFilter.Operator.GREATER_THAN_OR_EQUAL))))
+                .addOrderBy(StructuredQuery.Order.newBuilder()
+                        .setField(field("date"))
+                        .setDirection(StructuredQuery.Direction.DESCENDING))
+                .setLimit(Int32Value.of(20))
+                .setSelect(StructuredQuery.Projection.newBuilder().addFields(field("title")))
+                .build();
+
+        assertThat(FirestoreQueryProfiler.shapeOf("events", query))
+                .isEqualTo("events WHERE status == ? AND date >= ? ORDER BY date DESC LIMIT ? SELECT title");
+        assertThat(FirestoreQueryProfiler.isUnbounded(query)).isFalse();
+
+        StructuredQuery scan = StructuredQuery.newBuilder()
+                .addFrom(StructuredQuery.CollectionSelector.newBuilder().setCollectionId("events"))
+                .build();
+        assertThat(FirestoreQueryProfiler.isUnbounded(scan)).isTrue();
+        assertThat(FirestoreQueryProfiler.shapeOf("events", StructuredAggregationQuery.newBuilder()
+                .setStructuredQuery(scan)
+                .addAggregations(StructuredAggregationQuery.Aggregation.newBuilder()
+                        .setCount(StructuredAggregationQuery.Aggregation.Count.getDefaultInstance()))
+                .build()))
+                .isEqualTo("COUNT OF events");
+    }
+
+    @Test
+    void ranksShapesAndFlagsUnboundedScansOnce() {
+        profiler.record("events", "events", true, "EventService.getPublicEvents", ms(300), 5000);
+        profiler.record("events", "events", true, "EventService.getPublicEvents", ms(100), 5000);
+        profiler.record("users WHERE email == ?", "users", false, "UserServiceImpl.findByEmail", ms(900), 1);
+        profiler.record("products LIMIT ?", "products", false, "ProductService.getAll", ms(50), 10);
+
+        assertThat(profiler.slowest()).extracting(FirestoreQueryProfiler.ShapeStats::shape)
+                .containsExactly("users WHERE email == ?", "events");
+        assertThat(profiler.largest().get(0).shape()).isEqualTo("events");
+        assertThat(profiler.largest().get(0).meanMillis()).isEqualTo(200.0);
+        assertThat(profiler.unboundedScans()).singleElement()
+                .satisfies(stats -> assertThat(stats.count()).isEqualTo(2));
+        assertThat(registry.get("campusaura.firestore.query.unbounded")
+                .tag("caller", "EventService.getPublicEvents").counter().count()).isEqualTo(1.0);
+    }
+
+    private static long ms(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+    private static StructuredQuery.FieldReference field(String path) {
+        return StructuredQuery.FieldReference.newBuilder().setFieldPath(path).build();
+    }
+
+    private static StructuredQuery.Filter fieldFilter(String path, StructuredQuery.FieldFilter.Operator op) {
+        return StructuredQuery.Filter.newBuilder().setFieldFilter(StructuredQuery.FieldFilter.newBuilder()
+                .setField(field(path))
+                .setOp(op)
+                .setValue(Value.newBuilder().setStringValue("x"))).build();
+    }
+}
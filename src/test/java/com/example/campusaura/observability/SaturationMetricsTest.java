@@ -0,0 +1,76 @@
+package com.example.campusaura.observability;
+
+import com.example.campusaura.config.InMemoryFirestoreConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scrapes /actuator/prometheus on the management port with the production metrics settings,
+ * which the test application.properties would otherwise shadow.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "file:src/main/resources/application.properties", properties = {
+        "STRIPE_SECRET_KEY=sk_test_dummy",
+        "management.server.port=0",
+        "management.tracing.sampling.probability=0.0",
+        "tracing.exporter=none"
+})
+@ActiveProfiles("test")
+@Import(InMemoryFirestoreConfig.class)
+class SaturationMetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void exposesThreadGcExecutorAndFirestoreSaturationWithRouteSloBuckets() throws Exception {
+        assertThat(get("/api/events/public").statusCode()).isEqualTo(200);
+
+        String scrape = get(managementPort, "/actuator/prometheus").body();
+
+        assertThat(scrape)
+                .contains("tomcat_threads_busy_threads")
+                .contains("campusaura_tomcat_threads_queued")
+                .contains("executor_queued_tasks{application=\"CampusAura\",name=\"cacheRefreshExecutor\"}")
+                .contains("executor_queued_tasks{application=\"CampusAura\",name=\"bulkJobExecutor\"}")
+                .contains("executor_queued_tasks{application=\"CampusAura\",name=\"downstream-stripe\"}")
+                .contains("jvm_gc_overhead")
+                .contains("jvm_memory_max_bytes")
+                .contains("campusaura_firestore_calls_active{application=\"CampusAura\",kind=\"request\"}")
+                .contains("uri=\"/api/events/public\",le=\"0.25\"}")
+                .containsPattern("campusaura_firestore_operation_seconds_bucket\\{.*le=\"0\\.025\"}");
+    }
+
+    @Test
+    void metricsAreNotServedOnThePublicPort() throws Exception {
+        assertThat(get("/actuator/prometheus").statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return get(port, path);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
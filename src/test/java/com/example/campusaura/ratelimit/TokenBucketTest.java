@@ -0,0 +1,82 @@
+package com.example.campusaura.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void consumesUntilEmptyThenReportsWait() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        assertThat(bucket.tryConsume(6, 0)).isZero();
+        assertThat(bucket.tryConsume(4, 0)).isZero();
+        // Need 3 tokens at 2/s
+        assertThat(bucket.tryConsume(3, 0)).isEqualTo(1_500_000_000L);
+    }
+
+    @Test
+    void refillsOverTimeUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        bucket.tryConsume(10, 0);
+
+        assertThat(bucket.tryConsume(2, SECOND)).isZero();
+        assertThat(bucket.available(100 * SECOND)).isEqualTo(10.0);
+    }
+
+    @Test
+    void rejectsCostAboveCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, 0);
+        assertThatThrownBy(() -> bucket.tryConsume(6, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentConsumersNeverOverdraw() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 1, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 400; i++) {
+            pool.submit(() -> {
+                start.await();
+                if (bucket.tryConsume(1, 0) == 0) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void rateLimiterKeepsSeparateBucketsPerClient() {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(new RateLimiter.Limits(5, 1), new RateLimiter.Limits(5, 1),
+                Duration.ofMinutes(10), 100, new SimpleMeterRegistry(), clock::get);
+
+        assertThat(limiter.tryAcquire(RateLimiter.ClientType.USER, "u1", 5, "r").allowed()).isTrue();
+        RateLimiter.Decision denied = limiter.tryAcquire(RateLimiter.ClientType.USER, "u1", 2, "r");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfter()).isEqualTo(Duration.ofSeconds(2));
+
+        assertThat(limiter.tryAcquire(RateLimiter.ClientType.USER, "u2", 5, "r").allowed()).isTrue();
+        assertThat(limiter.tryAcquire(RateLimiter.ClientType.ANONYMOUS, "u1", 5, "r").allowed()).isTrue();
+    }
+}
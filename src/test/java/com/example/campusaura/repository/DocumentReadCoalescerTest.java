@@ -0,0 +1,86 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class DocumentReadCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DocumentReadCoalescer coalescer = new DocumentReadCoalescer(meterRegistry);
+    private DocumentReference docRef;
+
+    @BeforeEach
+    void setUp() {
+        CollectionReference events = mock(CollectionReference.class);
+        when(events.getId()).thenReturn("events");
+        docRef = mock(DocumentReference.class);
+        when(docRef.getPath()).thenReturn("events/e1");
+        when(docRef.getParent()).thenReturn(events);
+    }
+
+    @Test
+    void concurrentReadsShareOneRpc() throws Exception {
+        SettableApiFuture<DocumentSnapshot> rpc = SettableApiFuture.create();
+        when(docRef.get()).thenReturn(rpc);
+
+        ApiFuture<DocumentSnapshot> first = coalescer.get(docRef);
+        ApiFuture<DocumentSnapshot> second = coalescer.get(docRef);
+        ApiFuture<DocumentSnapshot> third = coalescer.get(docRef);
+
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        rpc.set(snapshot);
+
+        assertThat(first.get()).isSameAs(snapshot);
+        assertThat(second.get()).isSameAs(snapshot);
+        assertThat(third.get()).isSameAs(snapshot);
+        verify(docRef, times(1)).get();
+        assertThat(coalescer.getCoalescingRatio()).isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    void readAfterCompletionIssuesFreshRpc() throws Exception {
+        SettableApiFuture<DocumentSnapshot> firstRpc = SettableApiFuture.create();
+        SettableApiFuture<DocumentSnapshot> secondRpc = SettableApiFuture.create();
+        when(docRef.get()).thenReturn(firstRpc).thenReturn(secondRpc);
+
+        ApiFuture<DocumentSnapshot> first = coalescer.get(docRef);
+        firstRpc.set(mock(DocumentSnapshot.class));
+        first.get();
+
+        ApiFuture<DocumentSnapshot> second = coalescer.get(docRef);
+        DocumentSnapshot fresh = mock(DocumentSnapshot.class);
+        secondRpc.set(fresh);
+
+        assertThat(second.get()).isSameAs(fresh);
+        verify(docRef, times(2)).get();
+    }
+
+    @Test
+    void failuresPropagateToAllWaitersAndAreNotCached() {
+        SettableApiFuture<DocumentSnapshot> failing = SettableApiFuture.create();
+        SettableApiFuture<DocumentSnapshot> retry = SettableApiFuture.create();
+        when(docRef.get()).thenReturn(failing).thenReturn(retry);
+
+        ApiFuture<DocumentSnapshot> first = coalescer.get(docRef);
+        ApiFuture<DocumentSnapshot> second = coalescer.get(docRef);
+        failing.setException(new IllegalStateException("UNAVAILABLE"));
+
+        assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class);
+
+        coalescer.get(docRef);
+        verify(docRef, times(2)).get();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class EventSectionStoreTest {
+
+    private final Firestore firestore = mock(Firestore.class);
+    private final EventSectionStore store = new EventSectionStore(firestore);
+
+    @Test
+    void stageMovesSectionsToSideDocuments() {
+        DocumentReference eventRef = eventRef("e1");
+        WriteBatch batch = mock(WriteBatch.class);
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Hackathon");
+        data.put("sellItems", List.of(Map.of("itemName", "T-shirt")));
+        data.put("pastEventDetails", List.of());
+
+        store.stage(batch, eventRef, data);
+
+        assertThat(data).containsOnlyKeys("title", EventSectionStore.MARKER_FIELD);
+        verify(batch).set(eventRef.collection("sections").document("sellItems"),
+                Map.of("items", List.of(Map.of("itemName", "T-shirt"))));
+        verify(batch, times(3)).set(any(DocumentReference.class), anyMap());
+    }
+
+    @Test
+    void legacyDocumentsAreReadWithoutExtraReads() throws Exception {
+        DocumentSnapshot legacy = snapshot("e1", Map.of("title", "Old", "sellItems", List.of("x")));
+
+        Map<String, Map<String, Object>> result = store.withSections(List.of(legacy), EventSectionStore.all());
+
+        assertThat(result.get("e1")).containsEntry("sellItems", List.of("x"));
+        verify(firestore, never()).getAll(any(DocumentReference[].class));
+    }
+
+    @Test
+    void externalDocumentsLoadOnlyRequestedSections() throws Exception {
+        DocumentSnapshot event = snapshot("e1", Map.of("title", "New", EventSectionStore.MARKER_FIELD, true));
+        DocumentReference sideRef = event.getReference().collection("sections").document("sellItems");
+        DocumentSnapshot side = mock(DocumentSnapshot.class);
+        when(side.exists()).thenReturn(true);
+        when(side.getId()).thenReturn("sellItems");
+        when(side.getReference()).thenReturn(sideRef);
+        when(side.get("items")).thenReturn(List.of("y"));
+        when(firestore.getAll(any(DocumentReference[].class))).thenReturn(ApiFutures.immediateFuture(List.of(side)));
+
+        Map<String, Map<String, Object>> result = store.withSections(List.of(event),
+                EnumSet.of(EventSectionStore.Section.SELL_ITEMS));
+
+        assertThat(result.get("e1")).containsEntry("sellItems", List.of("y")).doesNotContainKey("schedule");
+        verify(firestore).getAll(new DocumentReference[]{sideRef});
+    }
+
+    private static DocumentSnapshot snapshot(String id, Map<String, Object> data) {
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.getId()).thenReturn(id);
+        when(snapshot.getData()).thenReturn(data);
+        DocumentReference ref = eventRef(id);
+        when(snapshot.getReference()).thenReturn(ref);
+        return snapshot;
+    }
+
+    private static DocumentReference eventRef(String id) {
+        DocumentReference eventRef = mock(DocumentReference.class);
+        when(eventRef.getId()).thenReturn(id);
+        CollectionReference sections = mock(CollectionReference.class);
+        when(sections.getParent()).thenReturn(eventRef);
+        when(eventRef.collection("sections")).thenReturn(sections);
+        for (EventSectionStore.Section section : EventSectionStore.Section.values()) {
+            DocumentReference sideRef = mock(DocumentReference.class);
+            when(sideRef.getParent()).thenReturn(sections);
+            when(sections.document(section.getField())).thenReturn(sideRef);
+        }
+        return eventRef;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.campusaura.repository;
+
+import com.example.campusaura.model.TicketCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirestoreFieldDiffTest {
+
+    @Test
+    void beansCompareEqualToTheirStoredMaps() {
+        Map<String, Object> stored = Map.of(
+                "title", "Hackathon",
+                "attendeeCount", 12L,
+                "ticketCategories", List.of(Map.of("categoryName", "VIP", "price", 25.0, "availableCount", 10L)));
+        Map<String, Object> desired = new HashMap<>();
+        desired.put("title", "Hackathon");
+        desired.put("attendeeCount", 12);
+        desired.put("ticketCategories", List.of(new TicketCategory("VIP", 25.0, 10)));
+
+        assertThat(FirestoreFieldDiff.diff(stored, desired)).isEmpty();
+    }
+
+    @Test
+    void returnsOnlyChangedFields() {
+        Map<String, Object> stored = Map.of("title", "Hackathon", "venue", "Hall A");
+        Map<String, Object> desired = new HashMap<>();
+        desired.put("title", "Hackathon");
+        desired.put("venue", "Hall B");
+        desired.put("category", null);
+        desired.put("ticketCategories", List.of(new TicketCategory("VIP", 30.0, 10)));
+
+        assertThat(FirestoreFieldDiff.diff(stored, desired)).containsOnlyKeys("venue", "ticketCategories");
+    }
+}
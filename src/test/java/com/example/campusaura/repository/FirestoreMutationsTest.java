@@ -0,0 +1,127 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.Precondition;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class FirestoreMutationsTest {
+
+    private final DocumentReference ref = mock(DocumentReference.class);
+
+    @Test
+    void deleteOfMissingDocumentReportsNotFound() {
+        DocumentSnapshot missing = mock(DocumentSnapshot.class);
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(missing));
+
+        assertThatThrownBy(() -> FirestoreMutations.deleteExisting(ref, "Product not found with id: p1"))
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasMessage("Product not found with id: p1");
+        verify(ref, never()).getFirestore();
+    }
+
+    @Test
+    void deleteIsSingleWriteConditionedOnTheRead() throws Exception {
+        DocumentSnapshot before = snapshot(Map.of("name", "Mug"));
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(before));
+        Firestore firestore = mock(Firestore.class);
+        WriteBatch batch = mock(WriteBatch.class);
+        when(ref.getFirestore()).thenReturn(firestore);
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+
+        FirestoreMutations.deleteExisting(ref, "missing");
+
+        verify(batch).delete(ref, Precondition.updatedAt(before.getUpdateTime()));
+        verifyNoMoreInteractions(ignoreStubs(batch));
+    }
+
+    @Test
+    void checkedDeleteRechecksTheDocumentThatChangedInBetween() throws Exception {
+        DocumentSnapshot owned = snapshot(Map.of("coordinatorId", "c1"));
+        DocumentSnapshot reassigned = snapshot(Map.of("coordinatorId", "c2"));
+        when(owned.getString("coordinatorId")).thenReturn("c1");
+        when(reassigned.getString("coordinatorId")).thenReturn("c2");
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(owned), ApiFutures.immediateFuture(reassigned));
+        Firestore firestore = mock(Firestore.class);
+        WriteBatch batch = mock(WriteBatch.class);
+        when(ref.getFirestore()).thenReturn(firestore);
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFailedFuture(
+                FirestoreException.forServerRejection(Status.FAILED_PRECONDITION, "stale")));
+
+        assertThatThrownBy(() -> FirestoreMutations.deleteChecked(ref, before -> {
+            if (!"c1".equals(before.getString("coordinatorId"))) {
+                throw new SecurityException("not yours");
+            }
+        }, b -> { }))
+                .isInstanceOf(SecurityException.class);
+        verify(ref, times(2)).get();
+        verify(batch, times(1)).commit();
+    }
+
+    @Test
+    void updateAndMergeReturnsStoredStateWithoutRereading() throws Exception {
+        DocumentSnapshot before = snapshot(Map.of("name", "Mug", "status", "PENDING"));
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(before));
+        when(ref.update(anyMap(), any(Precondition.class)))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+
+        FirestoreMutations.MergedDocument merged =
+                FirestoreMutations.updateAndMerge(ref, Map.of("status", "APPROVED"), "missing");
+
+        assertThat(merged.data()).containsEntry("name", "Mug").containsEntry("status", "APPROVED");
+        verify(ref, times(1)).get();
+    }
+
+    @Test
+    void updateAndMergeRetriesWhenDocumentChangedInBetween() throws Exception {
+        DocumentSnapshot first = snapshot(Map.of("status", "PENDING"));
+        DocumentSnapshot second = snapshot(Map.of("status", "PENDING", "name", "Renamed"));
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(first), ApiFutures.immediateFuture(second));
+        when(ref.update(anyMap(), any(Precondition.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(
+                        FirestoreException.forServerRejection(Status.FAILED_PRECONDITION, "stale")))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+
+        FirestoreMutations.MergedDocument merged =
+                FirestoreMutations.updateAndMerge(ref, Map.of("status", "APPROVED"), "missing");
+
+        assertThat(merged.data()).containsEntry("name", "Renamed").containsEntry("status", "APPROVED");
+    }
+
+    @Test
+    void updateAndMergeOfMissingDocumentReportsNotFound() {
+        DocumentSnapshot missing = mock(DocumentSnapshot.class);
+        when(ref.get()).thenReturn(ApiFutures.immediateFuture(missing));
+
+        assertThatThrownBy(() -> FirestoreMutations.updateAndMerge(ref, Map.of("a", 1), "User not found with uid: u1"))
+                .hasMessage("User not found with uid: u1");
+        verify(ref, never()).update(anyMap(), any(Precondition.class));
+    }
+
+    private static DocumentSnapshot snapshot(Map<String, Object> data) {
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenReturn(true);
+        when(snapshot.getId()).thenReturn("doc1");
+        when(snapshot.getData()).thenReturn(data);
+        when(snapshot.getUpdateTime()).thenReturn(Timestamp.ofTimeSecondsAndNanos(100, 0));
+        return snapshot;
+    }
+}
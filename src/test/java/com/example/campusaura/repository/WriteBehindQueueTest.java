@@ -0,0 +1,177 @@
+package com.example.campusaura.repository;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.WriteBatch;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class WriteBehindQueueTest {
+
+    private final Firestore firestore = mock(Firestore.class);
+    private final WriteBatch batch = mock(WriteBatch.class);
+
+    @Test
+    void groupsBufferedWritesIntoOneBatchAndDrainsOnClose() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 10);
+
+        assertThat(queue.offer(ref("feedback/a"), Map.of("eventId", "e1"))).isNotNull();
+        assertThat(queue.offer(ref("feedback/b"), Map.of("eventId", "e1"))).isNotNull();
+        assertThat(queue.offer(ref("feedback/c"), Map.of("eventId", "e2"))).isNotNull();
+        queue.close();
+
+        verify(firestore, times(1)).batch();
+        verify(batch, times(3)).set(any(DocumentReference.class), any(Object.class));
+        assertThat(queue.size()).isZero();
+        assertThat(queue.offer(ref("feedback/d"), Map.of())).isNull();
+    }
+
+    @Test
+    void rejectsWhenFullAndCoalescesRewritesOfTheSameDocument() {
+        WriteBehindQueue<Map<String, Object>> queue = queue(2, 10);
+
+        assertThat(queue.offer(ref("users/u1"), Map.of("name", "old"))).isNotNull();
+        assertThat(queue.offer(ref("users/u2"), Map.of("name", "other"))).isNotNull();
+        assertThat(queue.offer(ref("users/u1"), Map.of("name", "new"))).isNotNull();
+        assertThat(queue.offer(ref("users/u3"), Map.of("name", "late"))).isNull();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.pending(ref("users/u1"))).containsEntry("name", "new");
+        assertThat(queue.pending(data -> "other".equals(data.get("name")))).hasSize(1);
+    }
+
+    @Test
+    void flusherCommitsWithoutWaitingForShutdown() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 2);
+        queue.start();
+
+        queue.offer(ref("feedback/a"), Map.of());
+        queue.offer(ref("feedback/b"), Map.of());
+
+        verify(batch, timeout(2000)).commit();
+        queue.close();
+    }
+
+    @Test
+    void directWritersCanWaitForOrDiscardQueuedWrites() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 10);
+        DocumentReference u1 = ref("users/u1");
+        DocumentReference u2 = ref("users/u2");
+
+        assertThat(queue.whenWritten(u1)).isDone();
+        CompletableFuture<Void> saved = queue.offer(u1, Map.of("verified", false));
+        CompletableFuture<Void> written = queue.whenWritten(u1);
+        CompletableFuture<Void> dropped = queue.offer(u2, Map.of("name", "gone"));
+        assertThat(queue.discard(u2)).isDone();
+        assertThat(written).isNotDone();
+        queue.close();
+
+        assertThat(written).isDone();
+        assertThat(saved).isCompleted();
+        assertThat(dropped).isCancelled();
+        verify(batch, times(1)).set(any(DocumentReference.class), any(Object.class));
+    }
+
+    @Test
+    void transientFailuresAreRetriedUntilCommitted() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit())
+                .thenReturn(ApiFutures.immediateFailedFuture(rejection(Status.UNAVAILABLE)))
+                .thenReturn(ApiFutures.immediateFailedFuture(rejection(Status.DEADLINE_EXCEEDED)))
+                .thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 10);
+
+        CompletableFuture<Void> write = queue.offer(ref("feedback/a"), Map.of());
+        queue.close();
+
+        assertThat(write).isCompleted().isNotCompletedExceptionally();
+        verify(batch, times(3)).commit();
+    }
+
+    @Test
+    void completionFailsOnceRetryWindowRunsOut() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFailedFuture(rejection(Status.UNAVAILABLE)));
+        WriteBehindQueue<Map<String, Object>> queue = new WriteBehindQueue<>("test", firestore, 10, 10,
+                Duration.ofSeconds(5), Duration.ofMillis(250), new SimpleMeterRegistry());
+
+        CompletableFuture<Void> first = queue.offer(ref("users/u1"), Map.of("name", "a"));
+        CompletableFuture<Void> second = queue.offer(ref("users/u1"), Map.of("name", "b"));
+        queue.close();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isCompletedExceptionally();
+        verify(batch, times(2)).commit();
+    }
+
+    @Test
+    void rejectedBatchIsRetriedOneWriteAtATime() throws Exception {
+        when(firestore.batch()).thenReturn(batch);
+        when(batch.commit())
+                .thenReturn(ApiFutures.immediateFailedFuture(rejection(Status.INVALID_ARGUMENT)))
+                .thenReturn(ApiFutures.immediateFuture(List.of()))
+                .thenReturn(ApiFutures.immediateFailedFuture(rejection(Status.INVALID_ARGUMENT)))
+                .thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 10);
+
+        CompletableFuture<Void> good = queue.offer(ref("feedback/a"), Map.of());
+        CompletableFuture<Void> bad = queue.offer(ref("feedback/b"), Map.of());
+        CompletableFuture<Void> alsoGood = queue.offer(ref("feedback/c"), Map.of());
+        queue.close();
+
+        assertThat(good).isCompleted().isNotCompletedExceptionally();
+        assertThat(bad).isCompletedExceptionally();
+        assertThat(alsoGood).isCompleted().isNotCompletedExceptionally();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void flusherSurvivesUnexpectedExceptions() throws Exception {
+        when(firestore.batch())
+                .thenThrow(new IllegalStateException("client closed"))
+                .thenReturn(batch);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+        WriteBehindQueue<Map<String, Object>> queue = queue(10, 1);
+        queue.start();
+
+        CompletableFuture<Void> first = queue.offer(ref("feedback/a"), Map.of());
+        assertThatThrownBy(() -> first.get(2, TimeUnit.SECONDS)).hasRootCauseMessage("client closed");
+        CompletableFuture<Void> second = queue.offer(ref("feedback/b"), Map.of());
+        second.get(2, TimeUnit.SECONDS);
+        queue.close();
+    }
+
+    private WriteBehindQueue<Map<String, Object>> queue(int capacity, int maxBatchSize) {
+        return new WriteBehindQueue<>("test", firestore, capacity, maxBatchSize,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    private static FirestoreException rejection(Status status) {
+        return FirestoreException.forServerRejection(status, status.getCode().name());
+    }
+
+    private static DocumentReference ref(String path) {
+        DocumentReference ref = mock(DocumentReference.class);
+        when(ref.getPath()).thenReturn(path);
+        return ref;
+    }
+}
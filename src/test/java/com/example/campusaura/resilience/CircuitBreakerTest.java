@@ -0,0 +1,93 @@
+package com.example.campusaura.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        // window 4, min 4 calls, 50% threshold, 10s open, 2 probes
+        return new CircuitBreaker(4, 4, 50, Duration.ofSeconds(10), 2, clock::get);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 3; i++) {
+            assertThat(cb.tryAcquirePermission()).isTrue();
+            cb.onFailure();
+        }
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker cb = breaker();
+        cb.tryAcquirePermission();
+        cb.onSuccess();
+        cb.tryAcquirePermission();
+        cb.onSuccess();
+        cb.tryAcquirePermission();
+        cb.onFailure();
+        cb.tryAcquirePermission();
+        cb.onFailure();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(cb.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void halfOpenProbesCloseTheCircuitOnSuccess() {
+        CircuitBreaker cb = tripped();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        // only two probes are allowed while half-open
+        assertThat(cb.tryAcquirePermission()).isFalse();
+
+        cb.onSuccess();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        cb.onSuccess();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(cb.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        CircuitBreaker cb = tripped();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        cb.onFailure();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(cb.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void ignoredCallsDoNotCount() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 10; i++) {
+            cb.tryAcquirePermission();
+            cb.onIgnored();
+        }
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker tripped() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 4; i++) {
+            cb.tryAcquirePermission();
+            cb.onFailure();
+        }
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return cb;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.campusaura.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives DownstreamGuard with a local fake downstream whose latency and failures are scripted.
+ */
+class DownstreamGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeDownstream downstream = new FakeDownstream();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private DownstreamGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        downstream.release();
+        callers.shutdownNow();
+        if (guard != null) {
+            guard.close();
+        }
+    }
+
+    @Test
+    void returnsResultAndRecordsSuccess() throws Exception {
+        guard = guard(2, 0, Duration.ofSeconds(1));
+
+        assertThat(guard.execute(downstream::respond)).isEqualTo("ok");
+        assertThat(meterRegistry.get("campusaura.downstream.calls").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void timesOutSlowCalls() {
+        guard = guard(2, 0, Duration.ofMillis(50));
+        downstream.hang();
+
+        assertThatThrownBy(() -> guard.execute(downstream::respond))
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .extracting("reason").isEqualTo(DownstreamUnavailableException.Reason.TIMEOUT);
+    }
+
+    @Test
+    void rejectsCallsWhenBulkheadIsFull() throws Exception {
+        guard = guard(1, 0, Duration.ofSeconds(5));
+        downstream.hang();
+
+        // occupy the only slot from another caller thread
+        callers.submit(() -> guard.execute(downstream::respond));
+        assertThat(downstream.awaitInFlight(1)).isTrue();
+
+        assertThatThrownBy(() -> guard.execute(downstream::respond))
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .extracting("reason").isEqualTo(DownstreamUnavailableException.Reason.BULKHEAD_FULL);
+    }
+
+    @Test
+    void backToBackCallsAreNeverRejected() throws Exception {
+        guard = guard(1, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(guard.execute(downstream::respond)).isEqualTo("ok");
+        }
+    }
+
+    @Test
+    void opensCircuitAfterFailuresAndShortCircuits() {
+        guard = guard(2, 0, Duration.ofSeconds(1));
+        downstream.failWith(new IOException("connection reset"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.execute(downstream::respond)).isInstanceOf(IOException.class);
+        }
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int callsBefore = downstream.calls.get();
+        assertThatThrownBy(() -> guard.execute(downstream::respond))
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .extracting("reason").isEqualTo(DownstreamUnavailableException.Reason.CIRCUIT_OPEN);
+        assertThat(downstream.calls.get()).isEqualTo(callsBefore);
+    }
+
+    @Test
+    void clientErrorsPassThroughWithoutTrippingTheCircuit() {
+        guard = guard(2, 0, Duration.ofSeconds(1));
+        downstream.failWith(new IllegalArgumentException("bad input"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> guard.execute(downstream::respond)).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private DownstreamGuard guard(int concurrency, int queue, Duration timeout) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(4, 4, 50, Duration.ofMinutes(1), 1);
+        return new DownstreamGuard("fake", concurrency, queue, timeout, circuitBreaker,
+                error -> !(error instanceof IllegalArgumentException), meterRegistry);
+    }
+
+    /**
+     * Scriptable stand-in for a remote API.
+     */
+    private static class FakeDownstream {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private volatile boolean hang;
+        private volatile Exception failure;
+
+        void hang() {
+            hang = true;
+        }
+
+        void failWith(Exception failure) {
+            this.failure = failure;
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        boolean awaitInFlight(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (inFlight.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return inFlight.get() >= expected;
+        }
+
+        String respond() throws Exception {
+            calls.incrementAndGet();
+            inFlight.incrementAndGet();
+            try {
+                if (hang) {
+                    gate.await();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return "ok";
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.model.User;
+import com.example.campusaura.service.UserService;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FirebaseAuthFilterTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final TokenVerifier tokenVerifier = mock(TokenVerifier.class);
+    private final RoleClaims roleClaims = mock(RoleClaims.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private final TokenRevocations tokenRevocations = new TokenRevocations(uid -> 0L, clock, Duration.ofMinutes(1));
+    private final FirebaseAuthFilter filter = new FirebaseAuthFilter(userService, tokenVerifier, roleClaims,
+            tokenRevocations, ObservationRegistry.NOOP);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void roleClaimAuthorizesWithoutFirestore() throws Exception {
+        when(tokenVerifier.verify("t")).thenReturn(
+                new VerifiedToken("u1", "a@std.uwu.ac.lk", "A", Map.of("role", Roles.COORDINATOR)));
+
+        filter.doFilter(request(), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertThat(authority()).isEqualTo("ROLE_COORDINATOR");
+        verifyNoInteractions(userService, roleClaims);
+    }
+
+    @Test
+    void missingClaimFallsBackToFirestoreAndPublishesIt() throws Exception {
+        when(tokenVerifier.verify("t")).thenReturn(new VerifiedToken("u1", "a@std.uwu.ac.lk", "A", Map.of()));
+        when(userService.getOrCreateUser(anyString(), anyString(), anyString()))
+                .thenReturn(User.builder().uid("u1").role(Roles.STUDENT).build());
+
+        filter.doFilter(request(), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertThat(authority()).isEqualTo("ROLE_STUDENT");
+        verify(roleClaims).backfill("u1", Roles.STUDENT);
+    }
+
+    @Test
+    void demotedUserLosesThePrivilegedRoleOfTheirOldToken() throws Exception {
+        long issuedAt = clock.instant().getEpochSecond();
+        when(tokenVerifier.verify("t")).thenReturn(new VerifiedToken("u1", "a@std.uwu.ac.lk", "A",
+                Map.of("role", Roles.ADMIN, "iat", issuedAt)));
+        filter.doFilter(request(), new MockHttpServletResponse(), mock(FilterChain.class));
+        assertThat(authority()).isEqualTo("ROLE_ADMIN");
+        SecurityContextHolder.clearContext();
+
+        clock.advance(Duration.ofMinutes(5));
+        tokenRevocations.revoke("u1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+        filter.doFilter(request(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(chain);
+
+        // The next sign-in carries the new role claim
+        clock.advance(Duration.ofSeconds(1));
+        when(tokenVerifier.verify("t")).thenReturn(new VerifiedToken("u1", "a@std.uwu.ac.lk", "A",
+                Map.of("role", Roles.STUDENT, "iat", clock.instant().getEpochSecond())));
+        filter.doFilter(request(), new MockHttpServletResponse(), mock(FilterChain.class));
+        assertThat(authority()).isEqualTo("ROLE_STUDENT");
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer t");
+        return request;
+    }
+
+    private static String authority() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getAuthorities().iterator().next().getAuthority();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
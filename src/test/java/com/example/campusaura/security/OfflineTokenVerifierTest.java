@@ -0,0 +1,179 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.resilience.DownstreamUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against a local stand-in for Google's JWKS endpoint.
+ */
+class OfflineTokenVerifierTest {
+
+    private static final String PROJECT = "campusaura-test";
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AtomicReference<Map<String, KeyPair>> served = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private HttpServer server;
+    private GooglePublicKeys keys;
+    private OfflineTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        served.set(Map.of("k1", rsaKeyPair()));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwks(served.get()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=21600, must-revalidate");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks");
+        keys = new GooglePublicKeys(uri, Duration.ofSeconds(2), Duration.ZERO);
+        verifier = new OfflineTokenVerifier(keys, PROJECT, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.close();
+        server.stop(0);
+    }
+
+    @Test
+    void rejectsRequestsUntilKeysAreLoaded() {
+        assertThatThrownBy(() -> verifier.verify(token("k1", claims())))
+                .isInstanceOf(DownstreamUnavailableException.class);
+    }
+
+    @Test
+    void verifiesLocallyWithoutFetchingPerToken() throws Exception {
+        loadKeys();
+
+        for (int i = 0; i < 5; i++) {
+            VerifiedToken token = verifier.verify(token("k1", claims()));
+            assertThat(token.getUid()).isEqualTo("user-1");
+            assertThat(token.getEmail()).isEqualTo("a@std.uwu.ac.lk");
+        }
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsBadClaimsAndSignatures() throws Exception {
+        loadKeys();
+
+        Map<String, Object> expired = claims();
+        expired.put("exp", NOW.minus(Duration.ofHours(1)).getEpochSecond());
+        assertThatThrownBy(() -> verifier.verify(token("k1", expired)))
+                .isInstanceOfSatisfying(FirebaseAuthException.class,
+                        e -> assertThat(e.getAuthErrorCode()).isEqualTo(AuthErrorCode.EXPIRED_ID_TOKEN));
+
+        Map<String, Object> otherProject = claims();
+        otherProject.put("aud", "someone-else");
+        assertThatThrownBy(() -> verifier.verify(token("k1", otherProject)))
+                .isInstanceOf(FirebaseAuthException.class);
+
+        String forged = token("k1", claims(), rsaKeyPair());
+        assertThatThrownBy(() -> verifier.verify(forged)).isInstanceOf(FirebaseAuthException.class);
+    }
+
+    @Test
+    void unknownKeyIdTriggersBackgroundRefreshAfterRotation() throws Exception {
+        loadKeys();
+        KeyPair rotated = rsaKeyPair();
+        served.set(Map.of("k1", served.get().get("k1"), "k2", rotated));
+        String token = token("k2", claims(), rotated);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(FirebaseAuthException.class);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (keys.get("k2") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(verifier.verify(token).getUid()).isEqualTo("user-1");
+    }
+
+    private void loadKeys() throws InterruptedException {
+        keys.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!keys.isLoaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(keys.isLoaded()).isTrue();
+    }
+
+    private static Map<String, Object> claims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("iss", "https://securetoken.google.com/" + PROJECT);
+        claims.put("aud", PROJECT);
+        claims.put("sub", "user-1");
+        claims.put("email", "a@std.uwu.ac.lk");
+        claims.put("iat", NOW.minusSeconds(60).getEpochSecond());
+        claims.put("auth_time", NOW.minusSeconds(60).getEpochSecond());
+        claims.put("exp", NOW.plusSeconds(3540).getEpochSecond());
+        return claims;
+    }
+
+    private String token(String kid, Map<String, Object> claims) throws Exception {
+        return token(kid, claims, served.get().get(kid));
+    }
+
+    private static String token(String kid, Map<String, Object> claims, KeyPair signer) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString(MAPPER.writeValueAsBytes(Map.of("alg", "RS256", "kid", kid, "typ", "JWT")));
+        String payload = encoder.encodeToString(MAPPER.writeValueAsBytes(claims));
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(signer.getPrivate());
+        signature.update((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + payload + "." + encoder.encodeToString(signature.sign());
+    }
+
+    private static String jwks(Map<String, KeyPair> keyPairs) throws IOException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        List<Map<String, String>> keys = keyPairs.entrySet().stream().map(entry -> {
+            RSAPublicKey key = (RSAPublicKey) entry.getValue().getPublic();
+            return Map.of(
+                    "kid", entry.getKey(), "kty", "RSA", "alg", "RS256", "use", "sig",
+                    "n", encoder.encodeToString(key.getModulus().toByteArray()),
+                    "e", encoder.encodeToString(key.getPublicExponent().toByteArray()));
+        }).toList();
+        return MAPPER.writeValueAsString(Map.of("keys", keys));
+    }
+
+    private static KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.campusaura.security;
+
+import com.example.campusaura.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(
+            new RateLimiter.Limits(100, 1), new RateLimiter.Limits(100, 1),
+            Duration.ofMinutes(10), 100, new SimpleMeterRegistry()));
+
+    @Test
+    void publicFeedbackListUsesFeedbackCost() throws Exception {
+        MockHttpServletResponse response = send("GET", "/api/events/public/e1/feedback");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("95");
+    }
+
+    @Test
+    void publicEventDetailIsCheap() throws Exception {
+        MockHttpServletResponse response = send("GET", "/api/events/public/e1");
+
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("99");
+    }
+
+    private MockHttpServletResponse send(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, mock(FilterChain.class));
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.campusaura.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleClaimsTest {
+
+    @Test
+    void roleClaimIsReadCaseInsensitively() {
+        assertThat(RoleClaims.roleOf(token(Map.of("admin", true, "role", "admin")))).isEqualTo(Roles.ADMIN);
+        assertThat(RoleClaims.roleOf(token(Map.of("role", Roles.COORDINATOR)))).isEqualTo(Roles.COORDINATOR);
+        assertThat(RoleClaims.roleOf(token(Map.of("role", "superuser")))).isNull();
+        assertThat(RoleClaims.roleOf(token(Map.of("admin", true)))).isNull();
+    }
+
+    @Test
+    void losingAPrivilegedRoleRevokesTheUsersSessions() throws Exception {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T10:00:00Z"), ZoneOffset.UTC);
+        TokenRevocations revocations = new TokenRevocations(uid -> 0L, clock, Duration.ofMinutes(1));
+        RoleClaims roleClaims = new RoleClaims(revocations, new SimpleMeterRegistry());
+        long issuedBefore = clock.instant().minusSeconds(60).getEpochSecond();
+
+        roleClaims.publishChange("promoted", Roles.STUDENT, Roles.COORDINATOR);
+        roleClaims.publishChange("demoted", Roles.ADMIN, Roles.STUDENT);
+
+        assertThat(revocations.isRevoked(new VerifiedToken("promoted", null, null, Map.of("iat", issuedBefore))))
+                .isFalse();
+        assertThat(revocations.isRevoked(new VerifiedToken("demoted", null, null, Map.of("iat", issuedBefore))))
+                .isTrue();
+    }
+
+    private static VerifiedToken token(Map<String, Object> claims) {
+        return new VerifiedToken("u1", "a@std.uwu.ac.lk", "A", claims);
+    }
+}
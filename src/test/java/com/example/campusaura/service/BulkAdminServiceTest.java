@@ -0,0 +1,167 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.cache.NegativeLookupCache;
+import com.example.campusaura.cache.StaleWhileRevalidateCache;
+import com.example.campusaura.dto.BulkActionRequestDTO;
+import com.example.campusaura.dto.BulkJobDTO;
+import com.example.campusaura.repository.EventSectionStore;
+import com.example.campusaura.repository.UserRepository;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.AggregateQuery;
+import com.google.cloud.firestore.AggregateQuerySnapshot;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BulkAdminServiceTest {
+
+    private final Firestore firestore = mock(Firestore.class);
+    private final BulkWriter writer = mock(BulkWriter.class);
+    private final CollectionReference events = mock(CollectionReference.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StaleWhileRevalidateCache publicEventsCache = mock(StaleWhileRevalidateCache.class);
+    private final NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EventSectionStore eventSectionStore = mock(EventSectionStore.class);
+    private BulkAdminService service;
+
+    @BeforeEach
+    void setUp() {
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(writer);
+        when(firestore.collection("events")).thenReturn(events);
+        when(events.document(anyString())).thenAnswer(invocation -> {
+            DocumentReference ref = mock(DocumentReference.class);
+            when(ref.getId()).thenReturn(invocation.getArgument(0));
+            return ref;
+        });
+        service = new BulkAdminService(firestore, MoreExecutors.newDirectExecutorService(),
+                BulkWriterOptions.builder().build(), registry, 3, publicEventsCache, negativeLookupCache,
+                userRepository, eventSectionStore);
+    }
+
+    @Test
+    void recordsPerItemResultsAndDeduplicatesIds() throws Exception {
+        when(writer.update(argThat((DocumentReference ref) -> ref != null && !"missing".equals(ref.getId())), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        when(writer.update(argThat((DocumentReference ref) -> ref != null && "missing".equals(ref.getId())), anyMap()))
+                .thenReturn(ApiFutures.immediateFailedFuture(
+                        FirestoreException.forServerRejection(Status.NOT_FOUND, "no document")));
+
+        BulkJobDTO started = service.approveEvents(request(List.of("e1", "missing", "e1")));
+        BulkJobDTO job = service.getJob(started.getJobId());
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getTotal()).isEqualTo(2);
+        assertThat(job.getSucceeded()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getResults())
+                .anySatisfy(item -> {
+                    assertThat(item.getId()).isEqualTo("missing");
+                    assertThat(item.getError()).isEqualTo("not found");
+                });
+        verify(writer).close();
+        verify(publicEventsCache).invalidateAll();
+        verify(negativeLookupCache).markPresent("events", "e1");
+        verify(negativeLookupCache).markMissing(eq("events"), eq("missing"), anyLong());
+        assertThat(registry.get("campusaura.bulk.items").tag("result", "failure").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void userUpdatesWaitForQueuedSaves() {
+        CollectionReference users = mock(CollectionReference.class);
+        when(firestore.collection("users")).thenReturn(users);
+        when(users.document(anyString())).thenReturn(mock(DocumentReference.class));
+        when(writer.update(any(DocumentReference.class), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+
+        service.verifyUsers(request(List.of("u1", "u2")));
+
+        InOrder order = inOrder(userRepository, writer);
+        order.verify(userRepository).awaitPendingSave("u1");
+        order.verify(writer).update(any(DocumentReference.class), anyMap());
+        order.verify(userRepository).awaitPendingSave("u2");
+        verify(publicEventsCache, never()).invalidateAll();
+    }
+
+    @Test
+    void rejectsAmbiguousOrOversizedRequests() {
+        BulkActionRequestDTO both = request(List.of("e1"));
+        both.setFilter(Map.of("status", "PENDING"));
+        assertThatThrownBy(() -> service.approveEvents(both)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> service.approveEvents(request(List.of("a", "b", "c", "d"))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        BulkActionRequestDTO badFilter = new BulkActionRequestDTO();
+        badFilter.setFilter(Map.of("title", "x"));
+        assertThatThrownBy(() -> service.approveEvents(badFilter)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(firestore, never()).bulkWriter(any(BulkWriterOptions.class));
+    }
+
+    @Test
+    void rejectsFiltersMatchingMoreThanTheLimit() {
+        Query pending = mock(Query.class);
+        AggregateQuery count = mock(AggregateQuery.class);
+        AggregateQuerySnapshot snapshot = mock(AggregateQuerySnapshot.class);
+        when(events.whereEqualTo("status", "PENDING")).thenReturn(pending);
+        when(pending.count()).thenReturn(count);
+        when(count.get()).thenReturn(ApiFutures.immediateFuture(snapshot));
+        when(snapshot.getCount()).thenReturn(4L);
+
+        BulkActionRequestDTO request = new BulkActionRequestDTO();
+        request.setFilter(Map.of("status", "PENDING"));
+
+        assertThatThrownBy(() -> service.approveEvents(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("matches 4 items, at most 3");
+        verify(firestore, never()).bulkWriter(any(BulkWriterOptions.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sectionMigrationRunsAsAJobAndReportsEachEvent() throws Exception {
+        when(eventSectionStore.migrate(eq(events), anyInt(), any(BiConsumer.class))).thenAnswer(invocation -> {
+            BiConsumer<String, String> onEvent = invocation.getArgument(2);
+            onEvent.accept("e1", null);
+            onEvent.accept("e2", "FAILED_PRECONDITION");
+            return new EventSectionStore.MigrationResult(5, 1, 1);
+        });
+
+        BulkJobDTO job = service.getJob(service.migrateEventSections().getJobId());
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getTotal()).isEqualTo(2);
+        assertThat(job.getSucceeded()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getResults())
+                .anySatisfy(item -> assertThat(item.getId()).isEqualTo("e2"));
+    }
+
+    private static BulkActionRequestDTO request(List<String> ids) {
+        BulkActionRequestDTO request = new BulkActionRequestDTO();
+        request.setIds(ids);
+        return request;
+    }
+}
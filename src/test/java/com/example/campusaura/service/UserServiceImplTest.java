@@ -0,0 +1,95 @@
+package com.example.campusaura.service;
+
+import com.example.campusaura.model.User;
+import com.example.campusaura.repository.UserRepository;
+import com.example.campusaura.security.RoleClaims;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final RoleClaims roleClaims = mock(RoleClaims.class);
+    private final UserServiceImpl service = new UserServiceImpl(repository, roleClaims);
+
+    @Test
+    void concurrentFirstLoginsCreateTheUserOnce() throws Exception {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<User> stored = new AtomicReference<>();
+        when(repository.findByUid("u1")).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(repository.create(any(User.class))).thenAnswer(invocation -> {
+            creating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            stored.set(invocation.getArgument(0));
+            return true;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            results.add(pool.submit(() -> service.getOrCreateUser("u1", "a@std.uwu.ac.lk", "A")));
+            assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> service.getOrCreateUser("u1", "a@std.uwu.ac.lk", "A")));
+            }
+            // Let the joiners reach the in-flight creation before it completes
+            verify(repository, timeout(5000).times(4)).findByUid("u1");
+            release.countDown();
+
+            for (Future<User> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(stored.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(repository, times(1)).create(any(User.class));
+        verify(repository, never()).save(any(User.class));
+        verify(roleClaims, times(1)).publish("u1", "STUDENT");
+    }
+
+    @Test
+    void losingTheCreateRaceToAnotherInstanceReturnsTheStoredUser() throws Exception {
+        // Two instances, each with its own in-flight creations, share the stored documents.
+        // Lookups keep answering "missing" (a shared read or a cached miss from before the
+        // create), so only a direct read sees the winner's document.
+        UserServiceImpl otherInstance = new UserServiceImpl(repository, roleClaims);
+        AtomicReference<User> stored = new AtomicReference<>();
+        CountDownLatch bothLookedUp = new CountDownLatch(2);
+        when(repository.findByUid("u2")).thenAnswer(invocation -> {
+            bothLookedUp.countDown();
+            bothLookedUp.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(repository.create(any(User.class)))
+                .thenAnswer(invocation -> stored.compareAndSet(null, invocation.getArgument(0)));
+        when(repository.findStoredByUid("u2")).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> first = pool.submit(() -> service.getOrCreateUser("u2", "b@std.uwu.ac.lk", "B"));
+            Future<User> second = pool.submit(() -> otherInstance.getOrCreateUser("u2", "b@std.uwu.ac.lk", "B"));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(stored.get());
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(stored.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(repository, times(2)).create(any(User.class));
+        verify(repository, times(1)).findStoredByUid("u2");
+        verify(roleClaims, times(1)).publish("u2", "STUDENT");
+    }
+}